@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.adventure;
+
+import java.util.List;
+import java.util.Locale;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.KeybindComponent;
+import net.kyori.adventure.text.ScoreComponent;
+import net.kyori.adventure.text.SelectorComponent;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that contains utility methods to flatten chat components into plain text.
+ * <p>
+ * the chat messages are mostly one text component without children, its content is returned as is. the other trees,
+ * such as the messages that are decorated by the other chat plugins, are appended into one builder in order, the
+ * translatable components append their translations of the {@link GlobalTranslator} for the given locale, the keys and
+ * the arguments of the components that have no translation, the keybind, score and selector components append their
+ * keybinds, values and patterns.
+ */
+public final class PlainText {
+
+  /**
+   * ctor.
+   */
+  private PlainText() {
+  }
+
+  /**
+   * flattens the given component into plain text.
+   *
+   * @param component the component to flatten.
+   * @param locale the locale to translate the translatable components.
+   *
+   * @return the plain text of the component.
+   */
+  @NotNull
+  public static CharSequence flatten(@NotNull final Component component, @NotNull final Locale locale) {
+    if (component instanceof TextComponent && component.children().isEmpty()) {
+      return ((TextComponent) component).content();
+    }
+    final StringBuilder builder = new StringBuilder(32);
+    PlainText.append(builder, component, locale);
+    return builder;
+  }
+
+  /**
+   * appends the given component and its children to the given builder.
+   *
+   * @param builder the builder to append.
+   * @param component the component to append.
+   * @param locale the locale to translate the translatable components.
+   */
+  private static void append(@NotNull final StringBuilder builder, @NotNull final Component component,
+                             @NotNull final Locale locale) {
+    if (component instanceof TextComponent) {
+      builder.append(((TextComponent) component).content());
+    } else if (component instanceof TranslatableComponent) {
+      final Component rendered = GlobalTranslator.render(component, locale);
+      if (!(rendered instanceof TranslatableComponent)) {
+        PlainText.append(builder, rendered, locale);
+        return;
+      }
+      final TranslatableComponent translatable = (TranslatableComponent) rendered;
+      builder.append(translatable.key());
+      PlainText.appendAll(builder, translatable.args(), locale);
+      PlainText.appendAll(builder, translatable.children(), locale);
+      return;
+    } else if (component instanceof KeybindComponent) {
+      builder.append(((KeybindComponent) component).keybind());
+    } else if (component instanceof ScoreComponent) {
+      final String value = ((ScoreComponent) component).value();
+      if (value != null) {
+        builder.append(value);
+      }
+    } else if (component instanceof SelectorComponent) {
+      builder.append(((SelectorComponent) component).pattern());
+    }
+    PlainText.appendAll(builder, component.children(), locale);
+  }
+
+  /**
+   * appends the given components to the given builder.
+   *
+   * @param builder the builder to append.
+   * @param components the components to append.
+   * @param locale the locale to translate the translatable components.
+   */
+  private static void appendAll(@NotNull final StringBuilder builder, @NotNull final List<Component> components,
+                                @NotNull final Locale locale) {
+    // indexed loop, the lists of the components are random access and an iterator per node is not needed.
+    for (int index = 0; index < components.size(); index++) {
+      PlainText.append(builder, components.get(index), locale);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.adventure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks the plain text of {@link PlainText}.
+ */
+final class PlainTextTest {
+
+  @Test
+  void appendsTheTreeInOrder() {
+    final Component component = Component.text("a")
+      .append(Component.text("b").append(Component.text("c")))
+      .append(Component.keybind("key.jump"));
+    assertEquals("abckey.jump", PlainText.flatten(component, Locale.US).toString());
+  }
+
+  @Test
+  void returnsTheContentOfOneText() {
+    assertEquals("hello", PlainText.flatten(Component.text("hello"), Locale.US).toString());
+  }
+
+  @Test
+  void translatesTheRegisteredKeys() {
+    final TranslationRegistry registry = TranslationRegistry.create(Key.key("input", "test"));
+    registry.register("input.test.greeting", Locale.US, new MessageFormat("Hello {0}!", Locale.US));
+    GlobalTranslator.get().addSource(registry);
+    try {
+      final Component component = Component.translatable("input.test.greeting", Component.text("Steve"));
+      assertEquals("Hello Steve!", PlainText.flatten(component, Locale.US).toString());
+    } finally {
+      GlobalTranslator.get().removeSource(registry);
+    }
+  }
+
+  @Test
+  void untranslatedKeysKeepTheKeyAndArguments() {
+    final Component component = Component.translatable("input.test.missing", Component.text("x"))
+      .append(Component.text("y"));
+    assertEquals("input.test.missingxy", PlainText.flatten(component, Locale.US).toString());
+  }
+}
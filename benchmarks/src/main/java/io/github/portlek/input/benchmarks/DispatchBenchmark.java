@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.benchmarks;
+
+import io.github.portlek.input.PromptTemplate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * benchmarks the chat path with the given count of prompted players.
+ * <p>
+ * {@link #hitRatio} of the messages come from the prompted players, their inputs reject the messages and keep waiting,
+ * so the sessions stay alive. the other messages come from the players that have no input and return on the
+ * dispatcher's fast path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+  /**
+   * the count of the messages in the pattern.
+   */
+  private static final int PATTERN = 4096;
+
+  /**
+   * the ratio of the messages that come from the prompted players.
+   */
+  @Param({"1.0", "0.5", "0.0"})
+  public double hitRatio;
+
+  /**
+   * the count of the prompted players.
+   */
+  @Param({"1", "1000", "10000"})
+  public int sessions;
+
+  /**
+   * the players in the order that they send the messages.
+   */
+  private StubPlayer[] pattern;
+
+  /**
+   * the platform.
+   */
+  private StubPlatform platform;
+
+  /**
+   * sends the next message of the pattern from one chat thread.
+   *
+   * @param cursor the cursor of the thread.
+   */
+  @Benchmark
+  @Threads(1)
+  public void chatOneThread(final Cursor cursor) {
+    this.chat(cursor);
+  }
+
+  /**
+   * sends the next message of the pattern from four chat threads.
+   *
+   * @param cursor the cursor of the thread.
+   */
+  @Benchmark
+  @Threads(4)
+  public void chatFourThreads(final Cursor cursor) {
+    this.chat(cursor);
+  }
+
+  /**
+   * sends the next message of the pattern from sixteen chat threads.
+   *
+   * @param cursor the cursor of the thread.
+   */
+  @Benchmark
+  @Threads(16)
+  public void chatSixteenThreads(final Cursor cursor) {
+    this.chat(cursor);
+  }
+
+  /**
+   * starts the inputs of the prompted players and creates the pattern.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.platform = new StubPlatform();
+    final PromptTemplate<String, StubPlayer> template = PromptTemplate.<String, StubPlayer>builder()
+      .isValidInput((player, message) -> false)
+      .invalidInputMessage((String) null)
+      .sendValueMessage((String) null)
+      .template();
+    final StubPlayer[] prompted = new StubPlayer[this.sessions];
+    for (int index = 0; index < prompted.length; index++) {
+      prompted[index] = new StubPlayer();
+      template.create(this.platform, prompted[index]).start();
+    }
+    final StubPlayer[] idle = new StubPlayer[1024];
+    for (int index = 0; index < idle.length; index++) {
+      idle[index] = new StubPlayer();
+    }
+    final Random random = new Random(0L);
+    this.pattern = new StubPlayer[DispatchBenchmark.PATTERN];
+    for (int index = 0; index < this.pattern.length; index++) {
+      this.pattern[index] = random.nextDouble() < this.hitRatio
+        ? prompted[random.nextInt(prompted.length)]
+        : idle[random.nextInt(idle.length)];
+    }
+  }
+
+  /**
+   * removes the inputs.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    this.platform.getDispatcher().clear();
+  }
+
+  /**
+   * sends the next message of the pattern.
+   *
+   * @param cursor the cursor of the thread.
+   */
+  private void chat(final Cursor cursor) {
+    this.platform.chat(this.pattern[cursor.next++ & DispatchBenchmark.PATTERN - 1], "message");
+  }
+
+  /**
+   * a class that represents the position of a chat thread in the pattern.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    /**
+     * the next index.
+     */
+    private int next;
+
+    /**
+     * starts the thread from a random position.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+      this.next = (int) (Math.random() * DispatchBenchmark.PATTERN);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.benchmarks;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.PromptTemplate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * benchmarks the whole life of an input, from {@link ChatInput#start()} to its end, next to the given count of
+ * other active inputs.
+ * <p>
+ * the inputs expire, so each run also schedules and cancels an expire task on the dispatcher's timer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LifecycleBenchmark {
+
+  /**
+   * the count of the other active inputs.
+   */
+  @Param({"1", "1000", "10000"})
+  public int sessions;
+
+  /**
+   * the platform.
+   */
+  private StubPlatform platform;
+
+  /**
+   * the template.
+   */
+  private PromptTemplate<Integer, StubPlayer> template;
+
+  /**
+   * starts the other active inputs.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.platform = new StubPlatform();
+    this.template = PromptTemplate.<Integer, StubPlayer>builder()
+      .isValidInput((player, message) -> true)
+      .setValue((player, message) -> message.length())
+      .expire(1200L)
+      .invalidInputMessage((String) null)
+      .sendValueMessage((String) null)
+      .template();
+    for (int index = 0; index < this.sessions; index++) {
+      this.template.create(this.platform, new StubPlayer()).start();
+    }
+  }
+
+  /**
+   * starts an input and ends it with {@link EndReason#CUSTOM}.
+   *
+   * @param player the player of the thread.
+   *
+   * @return the ended input.
+   */
+  @Benchmark
+  public ChatInput<Integer, StubPlayer> startEnd(final ThreadPlayer player) {
+    final ChatInput<Integer, StubPlayer> input = this.template.create(this.platform, player.player);
+    input.start();
+    input.end(player.player, EndReason.CUSTOM);
+    return input;
+  }
+
+  /**
+   * starts an input and finishes it with a valid message.
+   *
+   * @param player the player of the thread.
+   *
+   * @return the finished input.
+   */
+  @Benchmark
+  public ChatInput<Integer, StubPlayer> startFinish(final ThreadPlayer player) {
+    final ChatInput<Integer, StubPlayer> input = this.template.create(this.platform, player.player);
+    input.start();
+    this.platform.chat(player.player, "answer");
+    return input;
+  }
+
+  /**
+   * starts an input and ends it with the player's quit.
+   *
+   * @param player the player of the thread.
+   *
+   * @return the ended input.
+   */
+  @Benchmark
+  public ChatInput<Integer, StubPlayer> startQuit(final ThreadPlayer player) {
+    final ChatInput<Integer, StubPlayer> input = this.template.create(this.platform, player.player);
+    input.start();
+    this.platform.quit(player.player);
+    return input;
+  }
+
+  /**
+   * removes the inputs.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    this.platform.getDispatcher().clear();
+  }
+
+  /**
+   * a class that represents the player of a thread.
+   */
+  @State(Scope.Thread)
+  public static class ThreadPlayer {
+
+    /**
+     * the player.
+     */
+    private final StubPlayer player = new StubPlayer();
+  }
+}
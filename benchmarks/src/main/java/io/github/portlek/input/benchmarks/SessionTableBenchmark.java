@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.benchmarks;
+
+import io.github.portlek.input.SessionTable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * compares the lookups of {@link SessionTable} with the lookups of {@link ConcurrentHashMap}.
+ * <p>
+ * the lookup keys are copies of the stored keys, as the unique ids of the chat events are not the stored instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionTableBenchmark {
+
+  /**
+   * the count of the keys in the pattern.
+   */
+  private static final int PATTERN = 4096;
+
+  /**
+   * the count of the stored keys.
+   */
+  @Param({"1", "1000", "10000", "100000"})
+  public int size;
+
+  /**
+   * the map.
+   */
+  private Map<UUID, Object> map;
+
+  /**
+   * the position in the pattern.
+   */
+  private int next;
+
+  /**
+   * the keys to look up.
+   */
+  private UUID[] pattern;
+
+  /**
+   * the table.
+   */
+  private SessionTable<Object> table;
+
+  /**
+   * looks up the next key in the map.
+   *
+   * @return the value of the key.
+   */
+  @Benchmark
+  public Object concurrentHashMap() {
+    return this.map.get(this.pattern[this.next++ & SessionTableBenchmark.PATTERN - 1]);
+  }
+
+  /**
+   * looks up the next key in the table.
+   *
+   * @return the value of the key.
+   */
+  @Benchmark
+  public Object sessionTable() {
+    return this.table.get(this.pattern[this.next++ & SessionTableBenchmark.PATTERN - 1]);
+  }
+
+  /**
+   * stores the keys and creates the pattern.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.map = new ConcurrentHashMap<>();
+    this.table = new SessionTable<>();
+    final UUID[] keys = new UUID[this.size];
+    for (int index = 0; index < keys.length; index++) {
+      keys[index] = UUID.randomUUID();
+      this.map.put(keys[index], keys[index]);
+      this.table.put(keys[index], keys[index]);
+    }
+    this.pattern = new UUID[SessionTableBenchmark.PATTERN];
+    for (int index = 0; index < this.pattern.length; index++) {
+      final UUID key = keys[index % keys.length];
+      this.pattern[index] = new UUID(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.benchmarks;
+
+import io.github.portlek.input.ChatDispatcher;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatTask;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an in-memory {@link ChatPlatform} that routes the events the way the server platforms do.
+ */
+public final class StubPlatform implements ChatPlatform<StubPlayer> {
+
+  /**
+   * the dispatcher.
+   */
+  @NotNull
+  @Getter
+  private final ChatDispatcher<StubPlayer> dispatcher = new ChatDispatcher<>();
+
+  /**
+   * sends the given message as the given player.
+   *
+   * @param player the player to send.
+   * @param message the message to send.
+   */
+  public void chat(@NotNull final StubPlayer player, @NotNull final String message) {
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onChat(player.chat(message));
+    }
+  }
+
+  @NotNull
+  @Override
+  public ChatTask createRunTaskLater(@NotNull final Runnable runnable, final long time) {
+    throw new UnsupportedOperationException("the inputs are scheduled on the dispatcher's timer!");
+  }
+
+  /**
+   * quits the given player.
+   *
+   * @param player the player to quit.
+   */
+  public void quit(@NotNull final StubPlayer player) {
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onQuit(player.quit());
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.benchmarks;
+
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.event.ChatEvent;
+import io.github.portlek.input.event.QuitEvent;
+import java.util.UUID;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an in-memory player that is its own {@link ChatSender}.
+ */
+public final class StubPlayer implements ChatSender<StubPlayer> {
+
+  /**
+   * the unique id.
+   */
+  @NotNull
+  @Getter
+  private final UUID uniqueId = UUID.randomUUID();
+
+  /**
+   * creates a chat event of the player.
+   *
+   * @param message the message to create.
+   *
+   * @return a newly created chat event.
+   */
+  @NotNull
+  public ChatEvent<StubPlayer> chat(@NotNull final String message) {
+    return new ChatEvent<StubPlayer>() {
+      @Override
+      public void cancel() {
+      }
+
+      @NotNull
+      @Override
+      public String getMessage() {
+        return message;
+      }
+
+      @NotNull
+      @Override
+      public ChatSender<StubPlayer> getSender() {
+        return StubPlayer.this;
+      }
+    };
+  }
+
+  @NotNull
+  @Override
+  public StubPlayer getWrapped() {
+    return this;
+  }
+
+  /**
+   * creates a quit event of the player.
+   *
+   * @return a newly created quit event.
+   */
+  @NotNull
+  public QuitEvent<StubPlayer> quit() {
+    return () -> this;
+  }
+
+  @Override
+  public void sendMessage(@NotNull final String message) {
+  }
+}
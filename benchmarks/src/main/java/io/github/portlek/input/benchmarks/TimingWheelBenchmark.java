@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.benchmarks;
+
+import io.github.portlek.input.ChatTimeout;
+import io.github.portlek.input.TimingWheel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * benchmarks the expire tasks on a {@link TimingWheel} that has the given count of pending tasks.
+ * <p>
+ * the pending tasks schedule a new task when they run, so the count stays the same while the wheel ticks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+  /**
+   * the count of the pending tasks.
+   */
+  @Param({"1", "1000", "10000"})
+  public int timeouts;
+
+  /**
+   * the random.
+   */
+  private Random random;
+
+  /**
+   * the task that schedules a new task when it runs.
+   */
+  private Runnable task;
+
+  /**
+   * the timer.
+   */
+  private TimingWheel timer;
+
+  /**
+   * schedules a task and cancels it.
+   *
+   * @return the cancelled task.
+   */
+  @Benchmark
+  public ChatTimeout scheduleCancel() {
+    final ChatTimeout timeout = this.timer.schedule(this.task, 1200L);
+    timeout.cancel();
+    return timeout;
+  }
+
+  /**
+   * schedules the pending tasks.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.timer = new TimingWheel();
+    this.random = new Random(0L);
+    this.task = () -> this.timer.schedule(this.task, 1L + this.random.nextInt(6000));
+    for (int index = 0; index < this.timeouts; index++) {
+      this.timer.schedule(this.task, 1L + this.random.nextInt(6000));
+    }
+  }
+
+  /**
+   * ticks the timer once.
+   *
+   * @return the tick of the timer.
+   */
+  @Benchmark
+  public long tick() {
+    this.timer.tick();
+    return this.timer.getTick();
+  }
+}
@@ -25,11 +25,17 @@
 
 package io.github.portlek.input.bukkit;
 
+import io.github.portlek.input.ChatMessage;
 import io.github.portlek.input.ChatSender;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
@@ -56,4 +62,23 @@ final class BkktChatSender implements ChatSender<Player> {
   public void sendMessage(@NotNull final String message) {
     this.wrapped.sendMessage(message);
   }
+
+  /**
+   * sends the given lines with one chat packet, the lines are separated by new lines in one component.
+   * <p>
+   * each line is converted on its own, so the legacy colors and formats of a line do not carry over to the next one.
+   *
+   * @param lines the lines to send.
+   */
+  @Override
+  public void sendMessages(@NotNull final List<ChatMessage> lines) {
+    final List<BaseComponent> components = new ArrayList<>();
+    for (int index = 0; index < lines.size(); index++) {
+      if (index > 0) {
+        components.add(new TextComponent("\n"));
+      }
+      Collections.addAll(components, TextComponent.fromLegacyText(lines.get(index).getText()));
+    }
+    this.wrapped.spigot().sendMessage(components.toArray(new BaseComponent[0]));
+  }
 }
@@ -0,0 +1,521 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import io.github.portlek.input.event.ChatEvent;
+import io.github.portlek.input.event.QuitEvent;
+import io.github.portlek.input.metrics.InputMetrics;
+import io.github.portlek.input.metrics.NoopInputMetrics;
+import io.github.portlek.input.persistence.SessionDirectory;
+import io.github.portlek.input.persistence.SessionJournal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that routes chat and quit events to the active chat inputs.
+ * <p>
+ * platforms create one dispatcher and register their listeners once, the dispatcher looks up the input of the
+ * sender by its unique id in a {@link SessionTable}, so the cost of an event does not grow with the count of the
+ * active inputs and does not allocate.
+ * <p>
+ * each sender has at most one active input that owns the sender's messages, the other started inputs of the sender
+ * wait in the sender's queue ordered by their priority, see {@link PreemptionPolicy}.
+ * <p>
+ * the dispatcher also owns the {@link TimingWheel} of the inputs' expire tasks, platforms call {@link #tick()} from
+ * one repeating task instead of scheduling a task per input. the same tick drains {@link #tickExecutor}, which runs
+ * the callbacks of the inputs that use {@link ExecutionPolicy#TICK} and flushes {@link #messageBuffer},
+ * {@link #journal} and {@link #directory}.
+ *
+ * @param <P> type of the sender.
+ */
+@RequiredArgsConstructor
+public final class ChatDispatcher<P> {
+
+  /**
+   * the logger.
+   */
+  private static final Logger LOGGER = Logger.getLogger(ChatDispatcher.class.getName());
+
+  /**
+   * the inputs.
+   */
+  @NotNull
+  private final SessionTable<ChatInput<?, P>> inputs = new SessionTable<>();
+
+  /**
+   * the queues of the inputs that wait for the active inputs, guarded by itself.
+   */
+  @NotNull
+  private final SessionTable<List<ChatInput<?, P>>> queues = new SessionTable<>();
+
+  /**
+   * the tick executor.
+   */
+  @NotNull
+  @Getter
+  private final TickExecutor tickExecutor = new TickExecutor();
+
+  /**
+   * the count of the ticks that are requested and not run yet, a thread is ticking the dispatcher while it is not
+   * {@code 0}.
+   */
+  @NotNull
+  private final AtomicInteger ticking = new AtomicInteger();
+
+  /**
+   * the timer.
+   */
+  @NotNull
+  @Getter
+  private final TimingWheel timer;
+
+  /**
+   * the servers that the senders move to, by the unique ids of the senders.
+   */
+  @NotNull
+  private final Map<UUID, String> transfers = new ConcurrentHashMap<>();
+
+  /**
+   * the directory that hands the active inputs of the quitting senders off to their next servers, {@code null} for
+   * ending the inputs with {@link EndReason#PLAYER_DISCONNECTS}.
+   */
+  @Nullable
+  @Getter
+  @Setter
+  private volatile SessionDirectory<P> directory;
+
+  /**
+   * the journal that stores the active inputs, {@code null} for not storing the inputs.
+   */
+  @Nullable
+  @Getter
+  @Setter
+  private volatile SessionJournal<P> journal;
+
+  /**
+   * the buffer that merges the feedback lines of the inputs per sender and tick, {@code null} for sending the lines at
+   * once.
+   */
+  @Nullable
+  @Getter
+  @Setter
+  private volatile MessageBuffer<P> messageBuffer;
+
+  /**
+   * the metrics that the inputs report to.
+   */
+  @NotNull
+  @Getter
+  @Setter
+  private volatile InputMetrics metrics = NoopInputMetrics.INSTANCE;
+
+  /**
+   * the execution policy of the inputs that do not set one.
+   */
+  @NotNull
+  @Getter
+  @Setter
+  private volatile ExecutionPolicy executionPolicy = ExecutionPolicy.CALLER;
+
+  /**
+   * ctor.
+   */
+  public ChatDispatcher() {
+    this(new TimingWheel());
+  }
+
+  /**
+   * removes all the active and the queued inputs without ending them.
+   */
+  public void clear() {
+    synchronized (this.queues) {
+      this.inputs.clear();
+      this.queues.clear();
+    }
+    this.transfers.clear();
+  }
+
+  /**
+   * obtains the active input of the given unique id.
+   *
+   * @param uniqueId the unique id to get.
+   *
+   * @return the active input of the sender.
+   */
+  @Nullable
+  public ChatInput<?, P> get(@NotNull final UUID uniqueId) {
+    return this.inputs.get(uniqueId);
+  }
+
+  /**
+   * obtains the executor of the given policy.
+   *
+   * @param policy the policy to get, {@code null} for {@link #executionPolicy}.
+   *
+   * @return the executor of the policy.
+   */
+  @NotNull
+  public Executor getExecutor(@Nullable final ExecutionPolicy policy) {
+    final ExecutionPolicy resolved = policy == null ? this.executionPolicy : policy;
+    switch (resolved) {
+      case TICK:
+        return this.tickExecutor;
+      case VIRTUAL_THREAD:
+        return VirtualThreads.get();
+      default:
+        return Runnable::run;
+    }
+  }
+
+  /**
+   * obtains the executor of the given policy for the given sender.
+   *
+   * @param policy the policy to get, {@code null} for {@link #executionPolicy}.
+   * @param platform the platform that runs {@link ExecutionPolicy#SENDER}.
+   * @param sender the sender to get.
+   *
+   * @return the executor of the policy.
+   */
+  @NotNull
+  public Executor getExecutor(@Nullable final ExecutionPolicy policy, @NotNull final ChatPlatform<P> platform,
+                              @NotNull final ChatSender<P> sender) {
+    final ExecutionPolicy resolved = policy == null ? this.executionPolicy : policy;
+    if (resolved == ExecutionPolicy.SENDER) {
+      return runnable -> platform.execute(sender, runnable);
+    }
+    return this.getExecutor(resolved);
+  }
+
+  /**
+   * obtains a snapshot of the inputs that wait for the active input of the given unique id.
+   *
+   * @param uniqueId the unique id to get.
+   *
+   * @return the queued inputs of the sender in the order that they will run.
+   */
+  @NotNull
+  public List<ChatInput<?, P>> getQueue(@NotNull final UUID uniqueId) {
+    synchronized (this.queues) {
+      final List<ChatInput<?, P>> queue = this.queues.get(uniqueId);
+      return queue == null ? Collections.emptyList() : new ArrayList<>(queue);
+    }
+  }
+
+  /**
+   * checks if the given unique id has an active input.
+   *
+   * @param uniqueId the unique id to check.
+   *
+   * @return {@code true} if the sender has an active input.
+   */
+  public boolean isPrompted(@NotNull final UUID uniqueId) {
+    return this.inputs.containsKey(uniqueId);
+  }
+
+  /**
+   * moves the given queued input to the given position in its sender's queue.
+   *
+   * @param input the input to move.
+   * @param index the position to move, {@code 0} runs the input next.
+   *
+   * @return {@code true} if the input is in the queue.
+   */
+  public boolean move(@NotNull final ChatInput<?, P> input, final int index) {
+    synchronized (this.queues) {
+      final List<ChatInput<?, P>> queue = this.queues.get(input.getSender().getUniqueId());
+      if (queue == null || !queue.remove(input)) {
+        return false;
+      }
+      queue.add(Math.max(0, Math.min(index, queue.size())), input);
+      return true;
+    }
+  }
+
+  /**
+   * routes the chat event to the active input of the sender.
+   *
+   * @param event the event to route.
+   */
+  public void onChat(@NotNull final ChatEvent<P> event) {
+    final ChatInput<?, P> input = this.inputs.get(event.getSender().getUniqueId());
+    if (input != null) {
+      input.onChat(event);
+    }
+  }
+
+  /**
+   * routes the quit event to the queued and the active inputs of the sender.
+   * <p>
+   * the active input ends with {@link EndReason#TRANSFERRED} instead if the sender is marked by
+   * {@link #transfer(UUID, String)} and {@link #directory} hands the input off.
+   *
+   * @param event the event to route.
+   */
+  public void onQuit(@NotNull final QuitEvent<P> event) {
+    final UUID uniqueId = event.getSender().getUniqueId();
+    final String server = this.transfers.remove(uniqueId);
+    final List<ChatInput<?, P>> queue;
+    synchronized (this.queues) {
+      queue = this.queues.get(uniqueId);
+      if (queue != null) {
+        this.queues.remove(uniqueId, queue);
+      }
+    }
+    if (queue != null) {
+      queue.forEach(queued -> queued.onQuit(event));
+    }
+    final ChatInput<?, P> input = this.inputs.get(uniqueId);
+    if (input == null) {
+      return;
+    }
+    final SessionDirectory<P> directory = this.directory;
+    if (server != null && directory != null && directory.handOff(input, server)) {
+      input.end(event.getSender().getWrapped(), EndReason.TRANSFERRED);
+    } else {
+      input.onQuit(event);
+    }
+  }
+
+  /**
+   * registers the given input.
+   * <p>
+   * the input becomes the active input of its sender if the sender has no active input, otherwise
+   * {@link ChatInput.Builder#preemption} of the input decides. the replaced active input ends with
+   * {@link EndReason#CUSTOM}.
+   *
+   * @param input the input to register.
+   *
+   * @return {@link InputState#AWAITING} if the input is the active input, {@link InputState#QUEUED} if it waits in the
+   *   sender's queue, {@link InputState#ENDED} if it is rejected.
+   */
+  @NotNull
+  public InputState register(@NotNull final ChatInput<?, P> input) {
+    final ChatSender<P> sender = input.getSender();
+    final UUID uniqueId = sender.getUniqueId();
+    final ChatInput<?, P> replaced;
+    synchronized (this.queues) {
+      final ChatInput<?, P> active = this.inputs.get(uniqueId);
+      if (active == null || active == input) {
+        this.inputs.put(uniqueId, input);
+        final SessionJournal<P> journal = this.journal;
+        if (journal != null) {
+          journal.onActive(input);
+        }
+        return InputState.AWAITING;
+      }
+      final PromptTemplate<?, P> template = input.getTemplate();
+      switch (template.getPreemption()) {
+        case REJECT:
+          return InputState.ENDED;
+        case REPLACE:
+          if (template.getPriority() >= active.getTemplate().getPriority()) {
+            this.inputs.put(uniqueId, input);
+            final SessionJournal<P> journal = this.journal;
+            if (journal != null) {
+              journal.onActive(input);
+            }
+            replaced = active;
+            break;
+          }
+          this.enqueue(uniqueId, input);
+          return InputState.QUEUED;
+        default:
+          this.enqueue(uniqueId, input);
+          return InputState.QUEUED;
+      }
+    }
+    replaced.end(sender.getWrapped(), EndReason.CUSTOM);
+    return InputState.AWAITING;
+  }
+
+  /**
+   * obtains the count of the active inputs.
+   *
+   * @return the count of the active inputs.
+   */
+  public int size() {
+    return this.inputs.size();
+  }
+
+  /**
+   * runs the dispatcher's per tick work.
+   * <p>
+   * platforms should call this once per tick from a single repeating task. the repeating tasks of the async schedulers
+   * may overlap when a tick runs late, so the ticks run one at a time: if an other thread is still ticking, the tick
+   * is counted and that thread runs it after its current tick, so no tick is lost.
+   */
+  public void tick() {
+    if (this.ticking.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      try {
+        this.runTick();
+      } catch (final RuntimeException e) {
+        ChatDispatcher.LOGGER.log(Level.SEVERE, "a tick threw an exception", e);
+      }
+    } while (this.ticking.decrementAndGet() != 0);
+  }
+
+  /**
+   * marks the given sender as moving to the given server of the network.
+   * <p>
+   * when the sender quits next, {@link #directory} hands its active input off to the server instead of ending it with
+   * {@link EndReason#PLAYER_DISCONNECTS}. plugins call this right before they send the sender to the server, the
+   * senders that quit without a mark disconnect as usual. the mark lasts until the next quit only, {@link #onQuit}
+   * removes it and the platforms remove it with {@code null} when a sender that has no input quits.
+   *
+   * @param uniqueId the unique id of the sender.
+   * @param server the name of the server, {@code null} to remove the mark.
+   */
+  public void transfer(@NotNull final UUID uniqueId, @Nullable final String server) {
+    if (server == null) {
+      this.transfers.remove(uniqueId);
+    } else {
+      this.transfers.put(uniqueId, server);
+    }
+  }
+
+  /**
+   * unregisters the given input.
+   * <p>
+   * if the input was the active input of its sender, the first input of the sender's queue becomes the active input.
+   *
+   * @param input the input to unregister.
+   *
+   * @return {@code true} if the input was the active input.
+   */
+  public boolean unregister(@NotNull final ChatInput<?, P> input) {
+    final UUID uniqueId = input.getSender().getUniqueId();
+    final ChatInput<?, P> next;
+    synchronized (this.queues) {
+      final List<ChatInput<?, P>> queue = this.queues.get(uniqueId);
+      if (!this.inputs.remove(uniqueId, input)) {
+        if (queue != null && queue.remove(input) && queue.isEmpty()) {
+          this.queues.remove(uniqueId, queue);
+        }
+        return false;
+      }
+      final SessionJournal<P> journal = this.journal;
+      if (journal != null) {
+        journal.onEnd(input);
+      }
+      if (queue == null) {
+        return true;
+      }
+      next = queue.remove(0);
+      if (queue.isEmpty()) {
+        this.queues.remove(uniqueId, queue);
+      }
+      this.inputs.put(uniqueId, next);
+      if (journal != null) {
+        journal.onActive(next);
+      }
+    }
+    next.activate();
+    return true;
+  }
+
+  /**
+   * marks the given active input as changed in {@link #journal}.
+   *
+   * @param input the input to mark.
+   */
+  void changed(@NotNull final ChatInput<?, P> input) {
+    final SessionJournal<P> journal = this.journal;
+    if (journal != null) {
+      journal.onChange(input);
+    }
+  }
+
+  /**
+   * sends the given feedback line of an input to the given sender through {@link #messageBuffer}.
+   *
+   * @param sender the sender to send.
+   * @param line the line to send.
+   */
+  void send(@NotNull final ChatSender<P> sender, @NotNull final ChatMessage line) {
+    final MessageBuffer<P> messageBuffer = this.messageBuffer;
+    if (messageBuffer == null) {
+      sender.sendMessage(line);
+    } else {
+      messageBuffer.send(sender, line);
+    }
+  }
+
+  /**
+   * adds the given input to its sender's queue after the inputs that have the same or a higher priority.
+   *
+   * @param uniqueId the unique id of the sender.
+   * @param input the input to add.
+   */
+  private void enqueue(@NotNull final UUID uniqueId, @NotNull final ChatInput<?, P> input) {
+    List<ChatInput<?, P>> queue = this.queues.get(uniqueId);
+    if (queue == null) {
+      queue = new ArrayList<>(2);
+      this.queues.put(uniqueId, queue);
+    }
+    final int priority = input.getTemplate().getPriority();
+    int index = queue.size();
+    while (index > 0 && queue.get(index - 1).getTemplate().getPriority() < priority) {
+      index--;
+    }
+    queue.add(index, input);
+  }
+
+  /**
+   * runs one tick of the timer, drains {@link #tickExecutor} and flushes {@link #messageBuffer}, {@link #journal} and
+   * {@link #directory}.
+   */
+  private void runTick() {
+    this.timer.tick();
+    this.tickExecutor.drain();
+    final MessageBuffer<P> messageBuffer = this.messageBuffer;
+    if (messageBuffer != null) {
+      messageBuffer.flush();
+    }
+    final SessionJournal<P> journal = this.journal;
+    if (journal != null) {
+      journal.flush();
+    }
+    final SessionDirectory<P> directory = this.directory;
+    if (directory != null) {
+      directory.flush();
+    }
+  }
+}
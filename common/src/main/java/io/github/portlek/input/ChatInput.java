@@ -26,12 +26,22 @@ package io.github.portlek.input;
 
 import io.github.portlek.input.event.ChatEvent;
 import io.github.portlek.input.event.QuitEvent;
+import io.github.portlek.input.metrics.CallbackType;
+import io.github.portlek.input.normalizer.CancelMatcher;
+import io.github.portlek.input.normalizer.InputNormalizer;
+import io.github.portlek.input.parser.InputParser;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -49,14 +59,35 @@ import org.jetbrains.annotations.Nullable;
  * @param <T> the input type.
  * @param <P> the input sender type.
  */
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 public final class ChatInput<T, P> {
 
   /**
-   * the builder.
+   * the buffered updater.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<ChatInput, Queue> BUFFERED =
+    AtomicReferenceFieldUpdater.newUpdater(ChatInput.class, Queue.class, "buffered");
+
+  /**
+   * the flood updater.
+   */
+  private static final AtomicReferenceFieldUpdater<ChatInput, FloodGuard> FLOOD =
+    AtomicReferenceFieldUpdater.newUpdater(ChatInput.class, FloodGuard.class, "flood");
+
+  /**
+   * the state updater.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<ChatInput, InputState> STATE =
+    AtomicReferenceFieldUpdater.newUpdater(ChatInput.class, InputState.class, "state");
+
+  /**
+   * the template.
    */
   @NotNull
-  private final ChatInput.Builder<T, P> builder;
+  @Getter
+  private final PromptTemplate<T, P> template;
 
   /**
    * the platform.
@@ -65,15 +96,77 @@ public final class ChatInput<T, P> {
   private final ChatPlatform<P> platform;
 
   /**
-   * the started.
+   * the sender.
+   */
+  @NotNull
+  @Getter
+  private final ChatSender<P> sender;
+
+  /**
+   * the listener.
+   */
+  @Nullable
+  @Getter
+  private final InputListener<T, P> listener;
+
+  /**
+   * the count of the invalid inputs since the input started.
+   */
+  @Getter
+  private volatile int attempts;
+
+  /**
+   * the messages that are sent while an other message is validated, created when the first message is buffered.
    */
-  private final AtomicBoolean started = new AtomicBoolean(false);
+  @Nullable
+  private volatile Queue<String> buffered;
+
+  /**
+   * the tick of the timer that the input expires at.
+   */
+  private volatile long expireAt;
 
   /**
    * the expire task.
    */
   @Nullable
-  private ChatTask expireTask;
+  private volatile ChatTimeout expireTask;
+
+  /**
+   * the state of the flood guard, created when the flood guard checks the first message.
+   */
+  @Nullable
+  private volatile FloodGuard flood;
+
+  /**
+   * the future of the running asynchronous validation step.
+   */
+  @Nullable
+  private volatile CompletableFuture<?> pending;
+
+  /**
+   * the {@link System#nanoTime()} that the input started at.
+   */
+  private long startedAt;
+
+  /**
+   * the state.
+   */
+  @NotNull
+  @Getter
+  private volatile InputState state = InputState.NEW;
+
+  /**
+   * the value that the input finished with.
+   */
+  @Nullable
+  @Getter
+  private volatile T value;
+
+  /**
+   * the warning that the expire task waits for, {@code 0} if the expire task waits for the expiration.
+   */
+  private long warning;
 
   /**
    * creates a new builder instance.
@@ -93,19 +186,28 @@ public final class ChatInput<T, P> {
 
   /**
    * stops the chat input sequence.
+   * <p>
+   * does nothing if the input is not running, so the run after consumers run once per start.
    *
    * @param sender the sender to end.
    * @param reason the reason to end.
    */
   public void end(@NotNull final P sender, @NotNull final EndReason reason) {
-    this.started.set(false);
-    this.platform.unregisterListeners();
-    Optional.ofNullable(this.expireTask).ifPresent(ChatTask::cancel);
-    this.builder.getRunAfter().forEach((r, j) -> {
-      if (r == reason) {
-        j.forEach(c -> c.accept(sender));
-      }
-    });
+    if (this.tryEnd()) {
+      this.finish(sender, reason, null);
+    }
+  }
+
+  /**
+   * obtains the ticks left to expire.
+   *
+   * @return the ticks left to expire, {@code -1} if the input does not expire or is not active.
+   */
+  public long getRemaining() {
+    if (this.expireTask == null) {
+      return -1L;
+    }
+    return Math.max(0L, this.expireAt - this.platform.getDispatcher().getTimer().getTick());
   }
 
   /**
@@ -114,77 +216,685 @@ public final class ChatInput<T, P> {
    * @param event the event to apply as a send message event.
    */
   public void onChat(@NotNull final ChatEvent<P> event) {
-    if (!this.started.get()) {
+    if (this.template.getFloodBurst() > 0 && this.isActive() &&
+      !this.flood().tryAcquire(this.template, this.platform.getDispatcher().getTimer().getTick())) {
+      event.cancel();
+      this.onFlood(event.getText());
       return;
     }
-    final ChatSender<P> sender = this.builder.getSender();
-    if (!sender.getUniqueId().equals(event.getSender().getUniqueId())) {
+    if (!ChatInput.STATE.compareAndSet(this, InputState.AWAITING, InputState.VALIDATING)) {
+      if (this.state == InputState.VALIDATING) {
+        event.cancel();
+        this.onPendingInput(event.getText());
+      }
       return;
     }
     event.cancel();
-    final String message = event.getMessage();
-    final P wrapped = sender.getWrapped();
-    if (message.equalsIgnoreCase(this.builder.getCancel())) {
-      this.builder.getOnCancel().accept(wrapped);
-      this.end(wrapped, EndReason.PLAYER_CANCELS);
+    if (this.template.isSlidingExpire()) {
+      this.resetExpire();
+    }
+    this.handle(event.getText());
+  }
+
+  /**
+   * runs when the send quits from the game.
+   *
+   * @param event the event to apply as a quit event.
+   */
+  public void onQuit(@NotNull final QuitEvent<P> event) {
+    if (this.tryEnd()) {
+      final P wrapped = this.sender.getWrapped();
+      this.finish(wrapped, EndReason.PLAYER_DISCONNECTS, () -> this.template.getOnDisconnect().accept(wrapped));
+    }
+  }
+
+  /**
+   * resets the expire deadline of the input to {@link Builder#expire} ticks from now.
+   * <p>
+   * this only updates the deadline, the expire task moves itself to the new deadline when it runs, so resetting is
+   * cheap enough to call on every input.
+   */
+  public void resetExpire() {
+    if (this.expireTask != null) {
+      this.expireAt = this.platform.getDispatcher().getTimer().getTick() + this.template.getExpire();
+      this.platform.getDispatcher().changed(this);
+    }
+  }
+
+  /**
+   * starts the chat input sequence with the given state of a stored input.
+   * <p>
+   * the remaining ticks apply only if the input becomes the active input of its sender at once, a queued input gets
+   * {@link Builder#expire} ticks when it becomes active.
+   *
+   * @param remaining the ticks left to expire, {@code -1} for {@link Builder#expire}.
+   * @param attempts the count of the invalid inputs that the stored input had.
+   *
+   * @see #start()
+   */
+  public void resume(final long remaining, final int attempts) {
+    this.begin(remaining == -1L || this.template.getExpire() == -1L ? this.template.getExpire() : remaining,
+      attempts);
+  }
+
+  /**
+   * starts the chat input sequence.
+   * <p>
+   * if the sender has an other active input, the input waits in the sender's queue, replaces the active input or
+   * ends with {@link EndReason#REJECTED} as {@link Builder#preemption} decides. the input ends with
+   * {@link EndReason#UNSUPPORTED} if the platform cannot consume the sender's chat messages.
+   */
+  public void start() {
+    this.begin(this.template.getExpire(), 0);
+  }
+
+  /**
+   * activates the input when it becomes the active input of its sender.
+   * <p>
+   * starts the expire task and asks the sender for the value.
+   */
+  void activate() {
+    this.activate(this.template.getExpire());
+  }
+
+  /**
+   * activates the input with the given expire.
+   * <p>
+   * the input may end right after it becomes active, before the expire task is set, so the task is cancelled here if
+   * {@link #finish} could not see it.
+   *
+   * @param expire the ticks to expire, {@code -1} for never.
+   */
+  private void activate(final long expire) {
+    if (!ChatInput.STATE.compareAndSet(this, InputState.QUEUED, InputState.AWAITING)) {
       return;
     }
-    if (this.builder.getIsValidInput().test(wrapped, message)) {
-      final T value = this.builder.getSetValue().apply(wrapped, message);
-      this.builder.getOnFinish().accept(wrapped, value);
-      this.end(wrapped, EndReason.FINISH);
+    if (expire != -1L) {
+      final TimingWheel timer = this.platform.getDispatcher().getTimer();
+      this.expireAt = timer.getTick() + expire;
+      final ChatTimeout task = timer.schedule(this::onDeadline, this.nextDeadline(expire));
+      this.expireTask = task;
+      if (!this.isActive()) {
+        task.cancel();
+        return;
+      }
+    }
+    Optional.ofNullable(this.template.getSendValueMessage())
+      .ifPresent(this::send);
+  }
+
+  /**
+   * waits for the given future of a validation step of the given message.
+   * <p>
+   * the future is cancelled if the input ends, and completed with a {@link TimeoutException} if it does not complete
+   * in {@link Builder#asyncTimeout} ticks, which counts as an invalid input.
+   *
+   * @param future the future to wait.
+   * @param message the message that is validated.
+   * @param then the step to run with the result of the future.
+   * @param <R> type of the result.
+   */
+  private <R> void await(@NotNull final CompletableFuture<R> future, @NotNull final String message,
+                         @NotNull final Consumer<R> then) {
+    this.pending = future;
+    final long timeoutTicks = this.template.getAsyncTimeout();
+    final ChatTimeout timeout;
+    if (timeoutTicks > 0L && !future.isDone()) {
+      final Runnable expire = () ->
+        future.completeExceptionally(new TimeoutException("validation of the input timed out"));
+      timeout = this.platform.getDispatcher().getTimer().schedule(expire, timeoutTicks);
     } else {
-      if (this.builder.getOnInvalidInput().test(wrapped, message)) {
-        Optional.ofNullable(this.builder.getInvalidInputMessage())
-          .ifPresent(sender::sendMessage);
-        Optional.ofNullable(this.builder.getSendValueMessage())
-          .filter(s -> this.builder.isRepeat())
-          .ifPresent(sender::sendMessage);
+      timeout = null;
+    }
+    future.whenComplete((result, error) -> {
+      if (timeout != null) {
+        timeout.cancel();
+      }
+      if (this.state != InputState.VALIDATING) {
+        return;
       }
-      if (!this.builder.isRepeat()) {
-        this.end(wrapped, EndReason.INVALID_INPUT);
+      this.pending = null;
+      if (error == null) {
+        then.accept(result);
+      } else {
+        this.onInvalidInput(message);
+      }
+    });
+  }
+
+  /**
+   * starts the chat input sequence with the given expire and attempts.
+   *
+   * @param expire the ticks to expire if the input becomes active at once, {@code -1} for never.
+   * @param attempts the attempts to start.
+   */
+  private void begin(final long expire, final int attempts) {
+    if (!ChatInput.STATE.compareAndSet(this, InputState.NEW, InputState.QUEUED) &&
+      !ChatInput.STATE.compareAndSet(this, InputState.ENDED, InputState.QUEUED)) {
+      return;
+    }
+    this.attempts = attempts;
+    this.value = null;
+    this.flood = null;
+    this.startedAt = System.nanoTime();
+    this.platform.getDispatcher().getMetrics().onStart();
+    if (!this.platform.canConsume(this.sender)) {
+      if (ChatInput.STATE.compareAndSet(this, InputState.QUEUED, InputState.ENDED)) {
+        this.finish(this.sender.getWrapped(), EndReason.UNSUPPORTED, null);
       }
+      return;
+    }
+    final InputState registered = this.platform.getDispatcher().register(this);
+    if (registered == InputState.AWAITING) {
+      this.activate(expire);
+    } else if (registered == InputState.ENDED &&
+      ChatInput.STATE.compareAndSet(this, InputState.QUEUED, InputState.ENDED)) {
+      this.finish(this.sender.getWrapped(), EndReason.REJECTED, null);
     }
   }
 
   /**
-   * runs when the send quits from the game.
+   * obtains the buffered messages, creates the queue if it is not created yet.
    *
-   * @param event the event to apply as a quit event.
+   * @return the buffered messages.
    */
-  public void onQuit(@NotNull final QuitEvent<P> event) {
-    if (!this.started.get()) {
+  @NotNull
+  private Queue<String> buffered() {
+    final Queue<String> queue = this.buffered;
+    if (queue != null) {
+      return queue;
+    }
+    ChatInput.BUFFERED.compareAndSet(this, null, new ConcurrentLinkedQueue<String>());
+    //noinspection unchecked
+    return ChatInput.BUFFERED.get(this);
+  }
+
+  /**
+   * runs the clean up, then runs the given callback and the run after consumers of the given reason on the
+   * executor of {@link Builder#executionPolicy}.
+   * <p>
+   * should run only by the thread that moved the state to {@link InputState#ENDED}.
+   *
+   * @param sender the sender to run.
+   * @param reason the reason to run.
+   * @param callback the callback of the reason to run.
+   */
+  private void finish(@NotNull final P sender, @NotNull final EndReason reason, @Nullable final Runnable callback) {
+    final ChatDispatcher<P> dispatcher = this.platform.getDispatcher();
+    dispatcher.unregister(this);
+    dispatcher.getMetrics().onEnd(reason, System.nanoTime() - this.startedAt);
+    final ChatTimeout task = this.expireTask;
+    if (task != null) {
+      task.cancel();
+    }
+    final CompletableFuture<?> future = this.pending;
+    if (future != null) {
+      this.pending = null;
+      future.cancel(true);
+    }
+    final Queue<String> queue = this.buffered;
+    if (queue != null) {
+      queue.clear();
+    }
+    final FloodGuard guard = this.flood;
+    if (guard != null) {
+      final ChatTimeout deferTask;
+      synchronized (guard) {
+        deferTask = guard.deferTask;
+        guard.deferTask = null;
+        guard.deferred = null;
+      }
+      if (deferTask != null) {
+        deferTask.cancel();
+      }
+    }
+    final Consumer<P>[] consumers = this.template.getRunAfter(reason);
+    final PromptTemplate<?, P>[] chains = this.template.getChains(reason);
+    final InputListener<T, P> inputListener = this.listener;
+    if (callback == null && consumers == null && chains == null && inputListener == null) {
       return;
     }
-    final ChatSender<P> sender = this.builder.getSender();
-    if (event.getSender().getUniqueId().equals(sender.getUniqueId())) {
-      this.builder.getOnDisconnect().accept(sender.getWrapped());
-      this.end(sender.getWrapped(), EndReason.PLAYER_DISCONNECTS);
+    dispatcher.getExecutor(this.template.getExecutionPolicy(), this.platform, this.sender).execute(() -> {
+      if (callback != null) {
+        callback.run();
+      }
+      if (consumers != null) {
+        for (final Consumer<P> consumer : consumers) {
+          consumer.accept(sender);
+        }
+      }
+      if (chains != null) {
+        for (final PromptTemplate<?, P> chain : chains) {
+          chain.create(this.platform, this.sender).start();
+        }
+      }
+      if (inputListener != null) {
+        inputListener.onEnd(this, reason);
+      }
+    });
+  }
+
+  /**
+   * finishes the input with the given value if the input still validates.
+   *
+   * @param value the value to finish.
+   */
+  private void finishWith(@Nullable final T value) {
+    if (ChatInput.STATE.compareAndSet(this, InputState.VALIDATING, InputState.ENDED)) {
+      final P wrapped = this.sender.getWrapped();
+      this.value = value;
+      this.finish(wrapped, EndReason.FINISH, () -> this.onFinish(wrapped, value));
+    }
+  }
+
+  /**
+   * obtains the state of the flood guard, creates it if it is not created yet.
+   *
+   * @return the state of the flood guard.
+   */
+  @NotNull
+  private FloodGuard flood() {
+    final FloodGuard guard = this.flood;
+    if (guard != null) {
+      return guard;
     }
+    ChatInput.FLOOD.compareAndSet(this, null,
+      new FloodGuard(this.template, this.platform.getDispatcher().getTimer().getTick()));
+    return ChatInput.FLOOD.get(this);
   }
 
   /**
-   * starts the chat input sequence.
+   * handles the given message while the state is {@link InputState#VALIDATING}.
+   * <p>
+   * the message is normalized with {@link Builder#normalizer} first, the messages that are longer than the max length
+   * of the normalizer are invalid.
+   *
+   * @param raw the message to handle.
    */
-  public void start() {
-    this.platform.init(this);
-    final ChatSender<P> sender = this.builder.getSender();
-    if (this.builder.getExpire() != -1L) {
-      this.expireTask = this.platform.createRunTaskLater(() -> {
-        if (!this.started.get()) {
-          return;
+  private void handle(@NotNull final CharSequence raw) {
+    final String message = this.template.getNormalizer().normalize(raw);
+    if (message == null) {
+      this.onInvalidInput(raw.toString());
+      return;
+    }
+    final P wrapped = this.sender.getWrapped();
+    if (this.template.getCancel().matches(message)) {
+      if (ChatInput.STATE.compareAndSet(this, InputState.VALIDATING, InputState.ENDED)) {
+        this.finish(wrapped, EndReason.PLAYER_CANCELS, () -> this.template.getOnCancel().accept(wrapped));
+      }
+      return;
+    }
+    final ValidationCache<T> cache = this.template.getValidationCache();
+    final UUID uniqueId = this.sender.getUniqueId();
+    final ValidationCache.Entry<T> entry = cache == null ? null : cache.get(uniqueId, message);
+    if (entry != null) {
+      this.onValidated(message, entry.isValid(), entry);
+      return;
+    }
+    final InputParser<T> parser = this.template.getParser();
+    if (parser != null) {
+      final long begin = System.nanoTime();
+      final T value = parser.parse(message);
+      this.record(CallbackType.PARSER, begin);
+      final ValidationCache.Entry<T> parsed = cache == null ? null : cache.put(uniqueId, message, value != null);
+      if (parsed != null && value != null) {
+        parsed.setValue(value);
+      }
+      if (value == null) {
+        this.onInvalidInput(message);
+      } else {
+        this.finishWith(value);
+      }
+      return;
+    }
+    final BiFunction<P, String, CompletableFuture<Boolean>> isValidInputAsync = this.template.getIsValidInputAsync();
+    if (isValidInputAsync == null) {
+      final long begin = System.nanoTime();
+      final boolean valid = this.template.getIsValidInput().test(wrapped, message);
+      this.record(CallbackType.IS_VALID_INPUT, begin);
+      this.onValidated(message, valid, cache == null ? null : cache.put(uniqueId, message, valid));
+      return;
+    }
+    final long begin = System.nanoTime();
+    final CompletableFuture<Boolean> future = isValidInputAsync.apply(wrapped, message);
+    this.record(CallbackType.IS_VALID_INPUT, begin);
+    this.await(future, message, result -> {
+      final boolean valid = Boolean.TRUE.equals(result);
+      this.onValidated(message, valid, cache == null ? null : cache.put(uniqueId, message, valid));
+    });
+  }
+
+  /**
+   * checks if the input is the active input of its sender and waits for or validates a message.
+   *
+   * @return {@code true} if the input is {@link InputState#AWAITING} or {@link InputState#VALIDATING}.
+   */
+  private boolean isActive() {
+    final InputState current = this.state;
+    return current == InputState.AWAITING || current == InputState.VALIDATING;
+  }
+
+  /**
+   * calculates the delay of the next deadline that the expire task should run at.
+   *
+   * @param left the ticks left to expire.
+   *
+   * @return the delay of the next deadline.
+   */
+  private long nextDeadline(final long left) {
+    long target = 0L;
+    for (final long ticks : this.template.expireWarnings) {
+      if (ticks < left && ticks > target) {
+        target = ticks;
+      }
+    }
+    this.warning = target;
+    return left - target;
+  }
+
+  /**
+   * runs when the expire task reaches a deadline.
+   * <p>
+   * sends the countdown warning or expires the input, and moves the expire task to the next deadline. the task stops
+   * if the input is not active anymore.
+   */
+  private void onDeadline() {
+    final ChatTimeout task = this.expireTask;
+    if (task == null || task.isCancelled()) {
+      return;
+    }
+    if (!this.isActive()) {
+      task.cancel();
+      return;
+    }
+    final ChatSender<P> sender = this.sender;
+    final P wrapped = sender.getWrapped();
+    final long left = this.expireAt - this.platform.getDispatcher().getTimer().getTick();
+    if (left <= 0L) {
+      if (this.tryEnd()) {
+        this.sendExpireMessage(sender, 0L);
+        this.finish(wrapped, EndReason.EXPIRE, () -> this.template.getOnExpire().accept(wrapped));
+      }
+      return;
+    }
+    if (this.warning > 0L && left <= this.warning) {
+      this.sendExpireMessage(sender, left);
+    }
+    task.reschedule(this.nextDeadline(left));
+  }
+
+  /**
+   * handles the deferred message when the flood guard's bucket has a token again.
+   */
+  private void onDeferred() {
+    final FloodGuard guard = this.flood;
+    if (guard == null) {
+      return;
+    }
+    final TimingWheel timer = this.platform.getDispatcher().getTimer();
+    final long tick = timer.getTick();
+    final String message;
+    synchronized (guard) {
+      guard.deferTask = null;
+      message = guard.deferred;
+      if (message == null) {
+        return;
+      }
+      if (!guard.tryAcquire(this.template, tick)) {
+        guard.deferTask = timer.schedule(this::onDeferred, guard.nextToken(this.template, tick));
+        return;
+      }
+      guard.deferred = null;
+    }
+    if (ChatInput.STATE.compareAndSet(this, InputState.AWAITING, InputState.VALIDATING)) {
+      if (this.template.isSlidingExpire()) {
+        this.resetExpire();
+      }
+      this.handle(message);
+    } else if (this.state == InputState.VALIDATING) {
+      this.onPendingInput(message);
+    }
+  }
+
+  /**
+   * runs {@link Builder#onFinish} with the given value.
+   *
+   * @param sender the sender to run.
+   * @param value the value to run.
+   */
+  private void onFinish(@NotNull final P sender, @Nullable final T value) {
+    final long begin = System.nanoTime();
+    this.template.getOnFinish().accept(sender, value);
+    this.record(CallbackType.ON_FINISH, begin);
+  }
+
+  /**
+   * runs when the given message finds the flood guard's bucket empty.
+   * <p>
+   * defers the message if {@link Builder#floodPolicy} is {@link FloodPolicy#DEFER}, and sends
+   * {@link Builder#cooldownMessage} if it is not sent in the last {@link Builder#cooldownWindow} ticks. the message
+   * turns into a string only if it is deferred.
+   *
+   * @param message the message.
+   */
+  private void onFlood(@NotNull final CharSequence message) {
+    final TimingWheel timer = this.platform.getDispatcher().getTimer();
+    final long tick = timer.getTick();
+    final FloodGuard guard = this.flood();
+    final boolean cooldown;
+    synchronized (guard) {
+      if (this.template.getFloodPolicy() == FloodPolicy.DEFER) {
+        guard.deferred = message.toString();
+        if (guard.deferTask == null) {
+          guard.deferTask = timer.schedule(this::onDeferred, guard.nextToken(this.template, tick));
         }
-        Optional.ofNullable(this.expireTask)
-          .filter(task -> !task.isCancelled()).map(task -> sender.getWrapped())
-          .ifPresent(wrapped -> {
-            this.builder.getOnExpire().accept(wrapped);
-            this.end(wrapped, EndReason.EXPIRE);
-          });
-      }, this.builder.getExpire());
+      }
+      cooldown = tick - guard.cooldownAt >= this.template.getCooldownWindow();
+      if (cooldown) {
+        guard.cooldownAt = tick;
+      }
+    }
+    final ChatMessage cooldownMessage = this.template.getCooldownMessage();
+    if (cooldown && cooldownMessage != null) {
+      this.send(cooldownMessage);
+    }
+  }
+
+  /**
+   * runs when the message that is validated is not valid.
+   *
+   * @param message the invalid message.
+   */
+  private void onInvalidInput(@NotNull final String message) {
+    final ChatSender<P> sender = this.sender;
+    this.attempts++;
+    this.platform.getDispatcher().getMetrics().onInvalidInput();
+    this.platform.getDispatcher().changed(this);
+    final int maxAttempts = this.template.getMaxAttempts();
+    if (this.template.isRepeat() && maxAttempts > 0 && this.attempts >= maxAttempts) {
+      if (ChatInput.STATE.compareAndSet(this, InputState.VALIDATING, InputState.ENDED)) {
+        final P wrapped = sender.getWrapped();
+        this.finish(wrapped, EndReason.MAX_ATTEMPTS, () -> this.template.getOnMaxAttempts().accept(wrapped));
+      }
+      return;
+    }
+    if (!this.template.isRepeat()) {
+      if (ChatInput.STATE.compareAndSet(this, InputState.VALIDATING, InputState.ENDED)) {
+        this.sendInvalidInputMessages(sender, message);
+        this.finish(sender.getWrapped(), EndReason.INVALID_INPUT, null);
+      }
+      return;
+    }
+    if (this.state == InputState.VALIDATING) {
+      this.sendInvalidInputMessages(sender, message);
+    }
+    if (ChatInput.STATE.compareAndSet(this, InputState.VALIDATING, InputState.AWAITING)) {
+      this.replay();
+    }
+  }
+
+  /**
+   * runs when the validation result of the message is known.
+   * <p>
+   * obtains the value of a valid message from the cache entry, {@link Builder#setValue} or
+   * {@link Builder#setValueAsync}, and finishes the input with it.
+   *
+   * @param message the validated message.
+   * @param valid the validation result.
+   * @param entry the cache entry of the message.
+   */
+  private void onValidated(@NotNull final String message, final boolean valid,
+                           @Nullable final ValidationCache.Entry<T> entry) {
+    if (!valid) {
+      this.onInvalidInput(message);
+      return;
+    }
+    final P wrapped = this.sender.getWrapped();
+    if (entry != null && entry.hasValue()) {
+      this.finishWith(entry.getValue());
+      return;
+    }
+    final BiFunction<P, String, CompletableFuture<T>> setValueAsync = this.template.getSetValueAsync();
+    if (setValueAsync == null) {
+      if (ChatInput.STATE.compareAndSet(this, InputState.VALIDATING, InputState.ENDED)) {
+        this.finish(wrapped, EndReason.FINISH, () -> {
+          final BiFunction<P, String, T> setValue = this.template.getSetValue();
+          final long begin = System.nanoTime();
+          final T value = setValue == null ? this.template.getValue() : setValue.apply(wrapped, message);
+          this.record(CallbackType.SET_VALUE, begin);
+          if (entry != null) {
+            entry.setValue(value);
+          }
+          this.value = value;
+          this.onFinish(wrapped, value);
+        });
+      }
+      return;
+    }
+    final long begin = System.nanoTime();
+    final CompletableFuture<T> future = setValueAsync.apply(wrapped, message);
+    this.record(CallbackType.SET_VALUE, begin);
+    this.await(future, message, value -> {
+      if (entry != null) {
+        entry.setValue(value);
+      }
+      this.finishWith(value);
+    });
+  }
+
+  /**
+   * runs when the sender sends a message while an other message is validated.
+   * <p>
+   * the cancel message ends the input, the other messages are buffered up to {@link Builder#pendingInputBuffer} and
+   * rejected with {@link Builder#pendingInputMessage} after that.
+   *
+   * @param message the message.
+   */
+  private void onPendingInput(@NotNull final CharSequence message) {
+    final String normalized = this.template.getNormalizer().normalize(message);
+    if (normalized != null && this.template.getCancel().matches(normalized)) {
+      if (this.tryEnd()) {
+        final P wrapped = this.sender.getWrapped();
+        this.finish(wrapped, EndReason.PLAYER_CANCELS, () -> this.template.getOnCancel().accept(wrapped));
+      }
+      return;
+    }
+    final int limit = this.template.getPendingInputBuffer();
+    if (limit > 0 && this.buffered().size() < limit) {
+      this.buffered().add(message.toString());
+      this.replay();
+      return;
+    }
+    final ChatMessage pendingInputMessage = this.template.getPendingInputMessage();
+    if (pendingInputMessage != null) {
+      this.send(pendingInputMessage);
+    }
+  }
+
+  /**
+   * records the timing of the given callback that began at the given time.
+   *
+   * @param type the type of the callback.
+   * @param begin the {@link System#nanoTime()} that the callback began at.
+   */
+  private void record(@NotNull final CallbackType type, final long begin) {
+    this.platform.getDispatcher().getMetrics().onCallback(type, System.nanoTime() - begin);
+  }
+
+  /**
+   * handles the next buffered message if the input waits for an input.
+   */
+  private void replay() {
+    final Queue<String> queue = this.buffered;
+    if (queue == null || queue.isEmpty() ||
+      !ChatInput.STATE.compareAndSet(this, InputState.AWAITING, InputState.VALIDATING)) {
+      return;
+    }
+    final String next = queue.poll();
+    if (next == null) {
+      ChatInput.STATE.compareAndSet(this, InputState.VALIDATING, InputState.AWAITING);
+    } else {
+      this.handle(next);
+    }
+  }
+
+  /**
+   * sends the given feedback line to the sender through the dispatcher's {@link ChatDispatcher#getMessageBuffer()}.
+   *
+   * @param line the line to send.
+   */
+  private void send(@NotNull final ChatMessage line) {
+    this.platform.getDispatcher().send(this.sender, line);
+  }
+
+  /**
+   * sends {@link Builder#expireMessage} to the sender.
+   *
+   * @param sender the sender to send.
+   * @param left the ticks left to expire.
+   */
+  private void sendExpireMessage(@NotNull final ChatSender<P> sender, final long left) {
+    Optional.ofNullable(this.template.getExpireMessage())
+      .map(message -> message.apply(sender.getWrapped(), left))
+      .ifPresent(this::send);
+  }
+
+  /**
+   * sends {@link Builder#invalidInputMessage} and {@link Builder#sendValueMessage} to the sender if
+   * {@link Builder#onInvalidInput} accepts the message.
+   *
+   * @param sender the sender to send.
+   * @param message the invalid message.
+   */
+  private void sendInvalidInputMessages(@NotNull final ChatSender<P> sender, @NotNull final String message) {
+    if (!this.template.getOnInvalidInput().test(sender.getWrapped(), message)) {
+      return;
+    }
+    final ChatMessage invalidInputMessage = this.template.getInvalidInputMessage();
+    if (invalidInputMessage != null) {
+      this.send(invalidInputMessage);
+    }
+    final ChatMessage sendValueMessage = this.template.getSendValueMessage();
+    if (sendValueMessage != null && this.template.isRepeat()) {
+      this.send(sendValueMessage);
+    }
+  }
+
+  /**
+   * moves the state from a running state to {@link InputState#ENDED}.
+   *
+   * @return {@code true} if this call ended the input.
+   */
+  private boolean tryEnd() {
+    while (true) {
+      final InputState current = this.state;
+      if (current == InputState.NEW || current == InputState.ENDED) {
+        return false;
+      }
+      if (ChatInput.STATE.compareAndSet(this, current, InputState.ENDED)) {
+        return true;
+      }
     }
-    this.started.set(true);
-    Optional.ofNullable(this.builder.getSendValueMessage())
-      .ifPresent(sender::sendMessage);
   }
 
   /**
@@ -194,13 +904,19 @@ public final class ChatInput<T, P> {
    * @param <P> the input sender type.
    */
   @Getter
-  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
   public static final class Builder<T, P> {
 
     /**
-     * the platform.
+     * the templates to open after finish.
      */
     @NotNull
+    private final EnumMap<EndReason, Collection<PromptTemplate<?, P>>> chains = new EnumMap<>(EndReason.class);
+
+    /**
+     * the platform, {@code null} for the builders of {@link PromptTemplate#builder()}.
+     */
+    @Nullable
     private final ChatPlatform<P> platform;
 
     /**
@@ -210,16 +926,39 @@ public final class ChatInput<T, P> {
     private final EnumMap<EndReason, Collection<Consumer<P>>> runAfter = new EnumMap<>(EndReason.class);
 
     /**
-     * the sender.
+     * the sender, {@code null} for the builders of {@link PromptTemplate#builder()}.
      */
-    @NotNull
+    @Nullable
     private final ChatSender<P> sender;
 
     /**
-     * the cancel.
+     * the ticks that an asynchronous validation step can take, {@code -1} for no limit.
+     */
+    private long asyncTimeout = 100L;
+
+    /**
+     * the cancel keywords.
      */
     @NotNull
-    private String cancel = "cancel";
+    private CancelMatcher cancel = new CancelMatcher("cancel");
+
+    /**
+     * the message that is sent when a message is dropped or deferred by the flood guard, at most once per
+     * {@link #cooldownWindow}.
+     */
+    @Nullable
+    private ChatMessage cooldownMessage;
+
+    /**
+     * the ticks that {@link #cooldownMessage} is sent at most once in.
+     */
+    private long cooldownWindow = 20L;
+
+    /**
+     * the execution policy, {@code null} for the policy of the platform's dispatcher.
+     */
+    @Nullable
+    private ExecutionPolicy executionPolicy;
 
     /**
      * the expire.
@@ -228,15 +967,45 @@ public final class ChatInput<T, P> {
 
     /**
      * the expire message.
+     * <p>
+     * the second argument is the ticks left to expire, it is {@code 0} when the input expires.
+     */
+    @Nullable
+    private BiFunction<P, Long, ChatMessage> expireMessage;
+
+    /**
+     * the ticks left to expire that the {@link #expireMessage} is sent at.
+     */
+    @NotNull
+    private long[] expireWarnings = new long[0];
+
+    /**
+     * the count of the messages that a sender can send at once, {@code 0} for no flood guard.
+     */
+    private int floodBurst;
+
+    /**
+     * the policy of the messages that exceed the flood guard.
+     */
+    @NotNull
+    private FloodPolicy floodPolicy = FloodPolicy.DROP;
+
+    /**
+     * the ticks that the flood guard takes to give a sender one more message.
+     */
+    private long floodRefill = 20L;
+
+    /**
+     * the id that the stored sessions of the template refer to, {@code null} for not storing the inputs.
      */
     @Nullable
-    private Function<P, String> expireMessage;
+    private String id;
 
     /**
      * the invalid input message.
      */
     @Nullable
-    private String invalidInputMessage = "That is not a valid input!";
+    private ChatMessage invalidInputMessage = ChatMessage.text("That is not a valid input!");
 
     /**
      * the is valid input.
@@ -244,6 +1013,23 @@ public final class ChatInput<T, P> {
     @NotNull
     private BiPredicate<P, String> isValidInput = (p, mes) -> true;
 
+    /**
+     * the asynchronous is valid input, it runs instead of {@link #isValidInput} if it is set.
+     */
+    @Nullable
+    private BiFunction<P, String, CompletableFuture<Boolean>> isValidInputAsync;
+
+    /**
+     * the count of the invalid inputs that end the input with {@link EndReason#MAX_ATTEMPTS}, {@code 0} for no limit.
+     */
+    private int maxAttempts;
+
+    /**
+     * the normalizer that the cancel keywords, the parser and the validators see the inputs through.
+     */
+    @NotNull
+    private InputNormalizer normalizer = InputNormalizer.NONE;
+
     /**
      * the on cancel.
      */
@@ -259,162 +1045,441 @@ public final class ChatInput<T, P> {
     };
 
     /**
-     * the on expire.
+     * the on expire.
+     */
+    @NotNull
+    private Consumer<P> onExpire = p -> {
+    };
+
+    /**
+     * the on finish.
+     */
+    @NotNull
+    private BiConsumer<P, T> onFinish = (p, val) -> {
+    };
+
+    /**
+     * the on invalid input.
+     */
+    @NotNull
+    private BiPredicate<P, String> onInvalidInput = (p, mes) -> true;
+
+    /**
+     * the on max attempts.
+     */
+    @NotNull
+    private Consumer<P> onMaxAttempts = p -> {
+    };
+
+    /**
+     * the parser, it runs instead of {@link #isValidInput}, {@link #setValue} and their asynchronous versions if it
+     * is set.
+     */
+    @Nullable
+    private InputParser<T> parser;
+
+    /**
+     * the count of the messages that are buffered while an asynchronous validation runs, {@code 0} rejects them.
+     */
+    private int pendingInputBuffer;
+
+    /**
+     * the message that is sent when a message is rejected while an asynchronous validation runs.
+     */
+    @Nullable
+    private ChatMessage pendingInputMessage;
+
+    /**
+     * the preemption policy.
+     */
+    @NotNull
+    private PreemptionPolicy preemption = PreemptionPolicy.REPLACE;
+
+    /**
+     * the priority in the sender's queue, the inputs that have a higher priority run first.
+     */
+    private int priority;
+
+    /**
+     * the repeat.
+     */
+    private boolean repeat = true;
+
+    /**
+     * the send value message.
+     */
+    @Nullable
+    private ChatMessage sendValueMessage = ChatMessage.text("Send in the chat the value");
+
+    /**
+     * the sliding expire.
+     */
+    private boolean slidingExpire;
+
+    /**
+     * the validation cache.
+     */
+    @Nullable
+    private ValidationCache<T> validationCache;
+
+    /**
+     * the value.
+     */
+    @Nullable
+    private T value;
+
+    /**
+     * the set value, {@code null} for {@link #value}.
+     */
+    @Nullable
+    private BiFunction<P, String, T> setValue;
+
+    /**
+     * the asynchronous set value, it runs instead of {@link #setValue} if it is set.
+     */
+    @Nullable
+    private BiFunction<P, String, CompletableFuture<T>> setValueAsync;
+
+    /**
+     * puts the given values into {@link #runAfter}.
+     *
+     * @param runAfter the run after to put.
+     * @param reasons the reasons to put.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public Builder<T, P> addRunAfter(@NotNull final Consumer<P> runAfter, @NotNull final EndReason... reasons) {
+      Arrays.stream(reasons)
+        .forEach(reason -> {
+          final Collection<Consumer<P>> old = this.runAfter.getOrDefault(reason, new LinkedHashSet<>());
+          old.add(runAfter);
+          this.runAfter.put(reason, old);
+        });
+      return this;
+    }
+
+    /**
+     * sets {@link #asyncTimeout} and return {@code this}.
+     *
+     * @param asyncTimeout the async timeout to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> asyncTimeout(final long asyncTimeout) {
+      this.asyncTimeout = asyncTimeout;
+      return this;
+    }
+
+    /**
+     * builds the {@link ChatInput} instance.
+     *
+     * @return a {@link ChatInput} instance.
+     *
+     * @throws IllegalStateException if the builder has no platform and sender.
+     */
+    @NotNull
+    public ChatInput<T, P> build() {
+      if (this.platform == null || this.sender == null) {
+        throw new IllegalStateException("the builder has no platform and sender, use template() instead!");
+      }
+      return this.template().create(this.platform, this.sender);
+    }
+
+    /**
+     * puts the given values into {@link #chains}.
+     * <p>
+     * opens a new input of the given builder's template after finishing the chat input.
+     *
+     * @param builder the builder to put.
+     * @param reasons the reasons to put.
+     *
+     * @return {@code this}.
+     *
+     * @see #chainAfter(PromptTemplate, EndReason...)
+     */
+    @NotNull
+    public Builder<T, P> chainAfter(@NotNull final Builder<?, P> builder, @NotNull final EndReason... reasons) {
+      return this.chainAfter(builder.template(), reasons);
+    }
+
+    /**
+     * puts the given values into {@link #runAfter}.
+     * <p>
+     * opens the given chat input after finishing the chat input.
+     *
+     * @param input the input to put.
+     * @param reasons the reasons to put.
+     *
+     * @return {@code this}.
+     *
+     * @see #addRunAfter(Consumer, EndReason...)
+     * @deprecated the input starts once, so the templates of this builder open it for their first sender only, use
+     *   {@link #chainAfter(PromptTemplate, EndReason...)} instead.
+     */
+    @NotNull
+    @Deprecated
+    public Builder<T, P> chainAfter(@NotNull final ChatInput<T, P> input, @NotNull final EndReason... reasons) {
+      return this.addRunAfter(sender -> input.start(), Builder.chainable(reasons));
+    }
+
+    /**
+     * puts the given values into {@link #chains}.
+     * <p>
+     * opens a new input of the given template for the sender of each input that finishes with one of the given
+     * reasons, except {@link EndReason#PLAYER_DISCONNECTS}, {@link EndReason#TRANSFERRED} and
+     * {@link EndReason#UNSUPPORTED}.
+     *
+     * @param template the template to put.
+     * @param reasons the reasons to put.
+     *
+     * @return {@code this}.
+     *
+     * @see io.github.portlek.input.conversation.Conversation
+     */
+    @NotNull
+    public Builder<T, P> chainAfter(@NotNull final PromptTemplate<?, P> template,
+                                    @NotNull final EndReason... reasons) {
+      Arrays.stream(Builder.chainable(reasons))
+        .forEach(reason -> this.chains.computeIfAbsent(reason, key -> new ArrayList<>()).add(template));
+      return this;
+    }
+
+    /**
+     * sets {@link #cooldownMessage} and return {@code this}.
+     *
+     * @param cooldownMessage the cooldown message to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> cooldownMessage(@Nullable final ChatMessage cooldownMessage) {
+      this.cooldownMessage = cooldownMessage;
+      return this;
+    }
+
+    /**
+     * sets {@link #cooldownMessage} as a plain text message and return {@code this}.
+     *
+     * @param cooldownMessage the cooldown message to set.
+     *
+     * @return {@code this}.
      */
     @NotNull
-    private Consumer<P> onExpire = p -> {
-    };
+    public ChatInput.Builder<T, P> cooldownMessage(@Nullable final String cooldownMessage) {
+      return this.cooldownMessage(cooldownMessage == null ? null : ChatMessage.text(cooldownMessage));
+    }
 
     /**
-     * the on finish.
+     * sets {@link #cooldownWindow} and return {@code this}.
+     *
+     * @param cooldownWindow the cooldown window to set.
+     *
+     * @return {@code this}.
      */
     @NotNull
-    private BiConsumer<P, T> onFinish = (p, val) -> {
-    };
+    public ChatInput.Builder<T, P> cooldownWindow(final long cooldownWindow) {
+      this.cooldownWindow = cooldownWindow;
+      return this;
+    }
 
     /**
-     * the on invalid input.
+     * sets {@link #value} and return {@code this}.
+     *
+     * @param value the value to set.
+     *
+     * @return {@code this}.
      */
     @NotNull
-    private BiPredicate<P, String> onInvalidInput = (p, mes) -> true;
+    public ChatInput.Builder<T, P> defaultValue(@Nullable final T value) {
+      this.value = value;
+      return this;
+    }
 
     /**
-     * the repeat.
+     * sets {@link #executionPolicy} and return {@code this}.
+     *
+     * @param executionPolicy the execution policy to set.
+     *
+     * @return {@code this}.
      */
-    private boolean repeat = true;
+    @NotNull
+    public ChatInput.Builder<T, P> executionPolicy(@Nullable final ExecutionPolicy executionPolicy) {
+      this.executionPolicy = executionPolicy;
+      return this;
+    }
 
     /**
-     * the send value message.
+     * sets {@link #expire} and return {@code this}.
+     *
+     * @param expire the expire to set.
+     *
+     * @return {@code this}.
      */
-    @Nullable
-    private String sendValueMessage = "Send in the chat the value";
+    @NotNull
+    public ChatInput.Builder<T, P> expire(final long expire) {
+      this.expire = expire;
+      return this;
+    }
 
     /**
-     * the value.
+     * sets {@link #expireMessage} and return {@code this}.
+     *
+     * @param expireMessage the expire message to set, it returns {@code null} for the ticks left that send nothing.
+     *
+     * @return {@code this}.
+     *
+     * @see #expireWarnings(long...)
      */
-    @Nullable
-    private T value;
+    @NotNull
+    public ChatInput.Builder<T, P> expireMessage(@NotNull final BiFunction<P, Long, ChatMessage> expireMessage) {
+      this.expireMessage = expireMessage;
+      return this;
+    }
 
     /**
-     * the set value.
+     * sets {@link #expireWarnings} and return {@code this}.
+     *
+     * @param expireWarnings the ticks left to expire that the expire message is sent at.
+     *
+     * @return {@code this}.
      */
     @NotNull
-    private BiFunction<P, String, T> setValue = (p, mes) -> this.value;
+    public ChatInput.Builder<T, P> expireWarnings(final long... expireWarnings) {
+      this.expireWarnings = expireWarnings.clone();
+      return this;
+    }
 
     /**
-     * puts the given values into {@link #runAfter}.
+     * sets {@link #floodBurst} and {@link #floodRefill} and return {@code this}.
+     * <p>
+     * each input has a bucket of {@code burst} tokens, a message takes one token before it is normalized or validated
+     * and a token comes back every {@code refill} ticks. the messages that find the bucket empty, including the cancel
+     * messages, are handled by {@link #floodPolicy} and do not count as attempts.
      *
-     * @param runAfter the run after to put.
-     * @param reasons the reasons to put.
+     * @param burst the count of the messages that a sender can send at once, {@code 0} for no flood guard.
+     * @param refill the ticks that the guard takes to give one more message.
      *
      * @return {@code this}.
      */
     @NotNull
-    public Builder<T, P> addRunAfter(@NotNull final Consumer<P> runAfter, @NotNull final EndReason... reasons) {
-      Arrays.stream(reasons)
-        .forEach(reason -> {
-          final Collection<Consumer<P>> old = this.runAfter.getOrDefault(reason, new HashSet<>());
-          old.add(runAfter);
-          this.runAfter.put(reason, old);
-        });
+    public ChatInput.Builder<T, P> floodGuard(final int burst, final long refill) {
+      this.floodBurst = burst;
+      this.floodRefill = Math.max(1L, refill);
       return this;
     }
 
     /**
-     * builds the {@link ChatInput} instance.
+     * sets {@link #floodPolicy} and return {@code this}.
      *
-     * @return a {@link ChatInput} instance.
+     * @param floodPolicy the flood policy to set.
+     *
+     * @return {@code this}.
      */
     @NotNull
-    public ChatInput<T, P> build() {
-      return new ChatInput<>(this, this.platform);
+    public ChatInput.Builder<T, P> floodPolicy(@NotNull final FloodPolicy floodPolicy) {
+      this.floodPolicy = floodPolicy;
+      return this;
     }
 
     /**
-     * puts the given values into {@link #runAfter}.
+     * sets {@link #id} and return {@code this}.
      * <p>
-     * opens the given builder after finishing the chat input.
+     * the id has to be unique and stable between restarts, a
+     * {@link io.github.portlek.input.persistence.SessionJournal} stores only the inputs of the templates that have an
+     * id.
      *
-     * @param builder the run after to put.
-     * @param reasons the reasons to put.
+     * @param id the id to set.
      *
      * @return {@code this}.
-     *
-     * @see #chainAfter(ChatInput, EndReason...)
      */
     @NotNull
-    public Builder<T, P> chainAfter(@NotNull final Builder<T, P> builder, @NotNull final EndReason... reasons) {
-      return this.chainAfter(builder.build(), reasons);
+    public ChatInput.Builder<T, P> id(@Nullable final String id) {
+      this.id = id;
+      return this;
     }
 
     /**
-     * puts the given values into {@link #runAfter}.
-     * <p>
-     * opens the given chat input after finishing the chat input.
+     * sets {@link #invalidInputMessage} and return {@code this}.
      *
-     * @param input the input to put.
-     * @param reasons the reasons to put.
+     * @param invalidInputMessage the invalid input message to set.
      *
      * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> invalidInputMessage(@Nullable final ChatMessage invalidInputMessage) {
+      this.invalidInputMessage = invalidInputMessage;
+      return this;
+    }
+
+    /**
+     * sets {@link #invalidInputMessage} as a plain text message and return {@code this}.
      *
-     * @see #addRunAfter(Consumer, EndReason...)
+     * @param invalidInputMessage the invalid input message to set.
+     *
+     * @return {@code this}.
      */
     @NotNull
-    public Builder<T, P> chainAfter(@NotNull final ChatInput<T, P> input, @NotNull final EndReason... reasons) {
-      return this.addRunAfter(sender -> input.start(), Arrays.stream(reasons)
-        .filter(reason -> reason != EndReason.PLAYER_DISCONNECTS)
-        .toArray(EndReason[]::new));
+    public ChatInput.Builder<T, P> invalidInputMessage(@Nullable final String invalidInputMessage) {
+      return this.invalidInputMessage(invalidInputMessage == null ? null : ChatMessage.text(invalidInputMessage));
     }
 
     /**
-     * sets {@link #value} and return {@code this}.
+     * sets {@link #isValidInput} and return {@code this}.
      *
-     * @param value the value to set.
+     * @param isValidInput the is valid input to set.
      *
      * @return {@code this}.
      */
     @NotNull
-    public ChatInput.Builder<T, P> defaultValue(@Nullable final T value) {
-      this.value = value;
+    public ChatInput.Builder<T, P> isValidInput(@NotNull final BiPredicate<P, String> isValidInput) {
+      this.isValidInput = isValidInput;
       return this;
     }
 
     /**
-     * sets {@link #expire} and return {@code this}.
+     * sets {@link #isValidInputAsync} and return {@code this}.
+     * <p>
+     * the chat thread does not wait for the future, the messages that are sent until the future completes are
+     * handled by {@link #pendingInputBuffer}.
      *
-     * @param expire the expire to set.
+     * @param isValidInputAsync the is valid input async to set.
      *
      * @return {@code this}.
      */
     @NotNull
-    public ChatInput.Builder<T, P> expire(final long expire) {
-      this.expire = expire;
+    public ChatInput.Builder<T, P> isValidInputAsync(
+      @Nullable final BiFunction<P, String, CompletableFuture<Boolean>> isValidInputAsync) {
+      this.isValidInputAsync = isValidInputAsync;
       return this;
     }
 
     /**
-     * sets {@link #invalidInputMessage} and return {@code this}.
+     * sets {@link #maxAttempts} and return {@code this}.
+     * <p>
+     * applies only to the inputs that {@link #repeat}, the other inputs end at the first invalid input.
      *
-     * @param invalidInputMessage the invalid input message to set.
+     * @param maxAttempts the max attempts to set.
      *
      * @return {@code this}.
      */
     @NotNull
-    public ChatInput.Builder<T, P> invalidInputMessage(@Nullable final String invalidInputMessage) {
-      this.invalidInputMessage = invalidInputMessage;
+    public ChatInput.Builder<T, P> maxAttempts(final int maxAttempts) {
+      this.maxAttempts = maxAttempts;
       return this;
     }
 
     /**
-     * sets {@link #isValidInput} and return {@code this}.
+     * sets {@link #normalizer} and return {@code this}.
      *
-     * @param isValidInput the is valid input to set.
+     * @param normalizer the normalizer to set.
      *
      * @return {@code this}.
      */
     @NotNull
-    public ChatInput.Builder<T, P> isValidInput(@NotNull final BiPredicate<P, String> isValidInput) {
-      this.isValidInput = isValidInput;
+    public ChatInput.Builder<T, P> normalizer(@NotNull final InputNormalizer normalizer) {
+      this.normalizer = normalizer;
       return this;
     }
 
@@ -483,6 +1548,99 @@ public final class ChatInput<T, P> {
       return this;
     }
 
+    /**
+     * sets {@link #onMaxAttempts} and return {@code this}.
+     *
+     * @param onMaxAttempts the on max attempts to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> onMaxAttempts(@NotNull final Consumer<P> onMaxAttempts) {
+      this.onMaxAttempts = onMaxAttempts;
+      return this;
+    }
+
+    /**
+     * sets {@link #parser} and return {@code this}.
+     * <p>
+     * the parser validates and parses the input in one pass, see {@link io.github.portlek.input.parser.Parsers} for
+     * the built-in parsers.
+     *
+     * @param parser the parser to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> parser(@Nullable final InputParser<T> parser) {
+      this.parser = parser;
+      return this;
+    }
+
+    /**
+     * sets {@link #pendingInputBuffer} and return {@code this}.
+     *
+     * @param pendingInputBuffer the pending input buffer to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> pendingInputBuffer(final int pendingInputBuffer) {
+      this.pendingInputBuffer = pendingInputBuffer;
+      return this;
+    }
+
+    /**
+     * sets {@link #pendingInputMessage} and return {@code this}.
+     *
+     * @param pendingInputMessage the pending input message to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> pendingInputMessage(@Nullable final ChatMessage pendingInputMessage) {
+      this.pendingInputMessage = pendingInputMessage;
+      return this;
+    }
+
+    /**
+     * sets {@link #pendingInputMessage} as a plain text message and return {@code this}.
+     *
+     * @param pendingInputMessage the pending input message to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> pendingInputMessage(@Nullable final String pendingInputMessage) {
+      return this.pendingInputMessage(pendingInputMessage == null ? null : ChatMessage.text(pendingInputMessage));
+    }
+
+    /**
+     * sets {@link #preemption} and return {@code this}.
+     *
+     * @param preemption the preemption to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> preemption(@NotNull final PreemptionPolicy preemption) {
+      this.preemption = preemption;
+      return this;
+    }
+
+    /**
+     * sets {@link #priority} and return {@code this}.
+     *
+     * @param priority the priority to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> priority(final int priority) {
+      this.priority = priority;
+      return this;
+    }
+
     /**
      * sets {@link #repeat} and return {@code this}.
      *
@@ -504,11 +1662,23 @@ public final class ChatInput<T, P> {
      * @return {@code this}.
      */
     @NotNull
-    public ChatInput.Builder<T, P> sendValueMessage(@Nullable final String sendValueMessage) {
+    public ChatInput.Builder<T, P> sendValueMessage(@Nullable final ChatMessage sendValueMessage) {
       this.sendValueMessage = sendValueMessage;
       return this;
     }
 
+    /**
+     * sets {@link #sendValueMessage} as a plain text message and return {@code this}.
+     *
+     * @param sendValueMessage the send value message to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> sendValueMessage(@Nullable final String sendValueMessage) {
+      return this.sendValueMessage(sendValueMessage == null ? null : ChatMessage.text(sendValueMessage));
+    }
+
     /**
      * sets {@link #expireMessage}.
      *
@@ -518,8 +1688,24 @@ public final class ChatInput<T, P> {
      */
     @NotNull
     public Builder<T, P> setExpireMessage(@NotNull final Function<P, String> expireMessage) {
-      this.expireMessage = expireMessage;
-      return this;
+      return this.setExpireMessage((sender, left) -> left == 0L ? expireMessage.apply(sender) : null);
+    }
+
+    /**
+     * sets {@link #expireMessage}.
+     *
+     * @param expireMessage the expire message to set.
+     *
+     * @return {@code this}.
+     *
+     * @see #expireWarnings(long...)
+     */
+    @NotNull
+    public Builder<T, P> setExpireMessage(@NotNull final BiFunction<P, Long, String> expireMessage) {
+      return this.expireMessage((sender, left) -> {
+        final String message = expireMessage.apply(sender, left);
+        return message == null ? null : ChatMessage.text(message);
+      });
     }
 
     /**
@@ -530,22 +1716,97 @@ public final class ChatInput<T, P> {
      * @return {@code this}.
      */
     @NotNull
-    public ChatInput.Builder<T, P> setValue(@NotNull final BiFunction<P, String, T> setValue) {
+    public ChatInput.Builder<T, P> setValue(@Nullable final BiFunction<P, String, T> setValue) {
       this.setValue = setValue;
       return this;
     }
 
+    /**
+     * sets {@link #setValueAsync} and return {@code this}.
+     *
+     * @param setValueAsync the set value async to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> setValueAsync(
+      @Nullable final BiFunction<P, String, CompletableFuture<T>> setValueAsync) {
+      this.setValueAsync = setValueAsync;
+      return this;
+    }
+
+    /**
+     * sets {@link #slidingExpire} and return {@code this}.
+     * <p>
+     * if it is {@code true}, the expire deadline resets on each input, so the input expires after {@link #expire}
+     * ticks of inactivity.
+     *
+     * @param slidingExpire the sliding expire to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> slidingExpire(final boolean slidingExpire) {
+      this.slidingExpire = slidingExpire;
+      return this;
+    }
+
+    /**
+     * compiles the configuration of the builder into an immutable template.
+     * <p>
+     * the template does not change when the builder changes after this call.
+     *
+     * @return a newly created template.
+     */
+    @NotNull
+    public PromptTemplate<T, P> template() {
+      return new PromptTemplate<>(this);
+    }
+
+    /**
+     * sets {@link #validationCache} and return {@code this}.
+     * <p>
+     * the cache should be shared by the builders of the same prompt definition only.
+     *
+     * @param validationCache the validation cache to set.
+     *
+     * @return {@code this}.
+     */
+    @NotNull
+    public ChatInput.Builder<T, P> validationCache(@Nullable final ValidationCache<T> validationCache) {
+      this.validationCache = validationCache;
+      return this;
+    }
+
     /**
      * sets {@link #cancel} and return {@code this}.
+     * <p>
+     * the keywords are matched ignoring the case against the normalized inputs.
      *
-     * @param cancel the cancel to set.
+     * @param cancel the cancel keywords to set.
      *
      * @return {@code this}.
      */
     @NotNull
-    public ChatInput.Builder<T, P> toCancel(@NotNull final String cancel) {
-      this.cancel = cancel;
+    public ChatInput.Builder<T, P> toCancel(@NotNull final String... cancel) {
+      this.cancel = new CancelMatcher(cancel);
       return this;
     }
+
+    /**
+     * removes the reasons that the sender can not get a new input for.
+     *
+     * @param reasons the reasons to filter.
+     *
+     * @return the given reasons, except {@link EndReason#PLAYER_DISCONNECTS}, {@link EndReason#TRANSFERRED} and
+     *   {@link EndReason#UNSUPPORTED}.
+     */
+    @NotNull
+    private static EndReason[] chainable(@NotNull final EndReason... reasons) {
+      return Arrays.stream(reasons)
+        .filter(reason -> reason != EndReason.PLAYER_DISCONNECTS && reason != EndReason.TRANSFERRED &&
+          reason != EndReason.UNSUPPORTED)
+        .toArray(EndReason[]::new);
+    }
   }
 }
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an interface to determine the messages that the inputs send to their senders.
+ * <p>
+ * the platforms that can send rich messages send their own implementations of this as they are, such as the
+ * component messages of Paper, and the other senders send {@link #getText()}.
+ */
+public interface ChatMessage {
+
+  /**
+   * creates a plain text message.
+   *
+   * @param text the text to create.
+   *
+   * @return a newly created plain text message.
+   */
+  @NotNull
+  static ChatMessage text(@NotNull final String text) {
+    return new TextMessage(text);
+  }
+
+  /**
+   * obtains the plain text of the message, the fallback of the platforms that cannot send the message as it is.
+   *
+   * @return the plain text of the message.
+   */
+  @NotNull
+  String getText();
+}
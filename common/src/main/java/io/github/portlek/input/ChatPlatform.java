@@ -34,6 +34,20 @@ import org.jetbrains.annotations.NotNull;
  */
 public interface ChatPlatform<P> {
 
+  /**
+   * checks if the platform can consume the chat messages of the given sender.
+   * <p>
+   * the inputs of the senders that the platform cannot consume the messages of end with {@link EndReason#UNSUPPORTED}
+   * when they start, so their answers do not leak to the other listeners. every sender is supported by default.
+   *
+   * @param sender the sender to check.
+   *
+   * @return {@code true} if the platform can consume the sender's chat messages.
+   */
+  default boolean canConsume(@NotNull final ChatSender<P> sender) {
+    return true;
+  }
+
   /**
    * creates an instance for the task.
    *
@@ -46,14 +60,22 @@ public interface ChatPlatform<P> {
   ChatTask createRunTaskLater(@NotNull Runnable runnable, long time);
 
   /**
-   * initiates the platform.
+   * runs the given runnable on the thread that owns the given sender, for {@link ExecutionPolicy#SENDER}.
+   * <p>
+   * runs the runnable at once by default, the platforms that tick their senders on their own threads override it.
    *
-   * @param input the input to initiate.
+   * @param sender the sender to run.
+   * @param runnable the runnable to run.
    */
-  void init(@NotNull ChatInput<?, P> input);
+  default void execute(@NotNull final ChatSender<P> sender, @NotNull final Runnable runnable) {
+    runnable.run();
+  }
 
   /**
-   * un register all listeners.
+   * obtains the dispatcher that routes the platform's events.
+   *
+   * @return the dispatcher.
    */
-  void unregisterListeners();
+  @NotNull
+  ChatDispatcher<P> getDispatcher();
 }
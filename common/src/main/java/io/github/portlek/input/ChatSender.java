@@ -24,7 +24,9 @@
 
 package io.github.portlek.input;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -48,4 +50,30 @@ public interface ChatSender<T> extends ChatWrap<T> {
    * @param message the message to send.
    */
   void sendMessage(@NotNull String message);
+
+  /**
+   * sends the given message to the input's sender.
+   * <p>
+   * the platforms that can send rich messages should override this to send their own messages as they are.
+   *
+   * @param message the message to send.
+   */
+  default void sendMessage(@NotNull final ChatMessage message) {
+    this.sendMessage(message.getText());
+  }
+
+  /**
+   * sends the given lines to the input's sender as one message.
+   * <p>
+   * the platforms should override this to send the lines with one packet.
+   *
+   * @param lines the lines to send.
+   *
+   * @see MessageBuffer
+   */
+  default void sendMessages(@NotNull final List<ChatMessage> lines) {
+    this.sendMessage(lines.stream()
+      .map(ChatMessage::getText)
+      .collect(Collectors.joining("\n")));
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents a task that is scheduled in a {@link TimingWheel}.
+ */
+public final class ChatTimeout implements ChatTask {
+
+  /**
+   * the task.
+   */
+  @NotNull
+  final Runnable task;
+
+  /**
+   * the wheel.
+   */
+  @NotNull
+  private final TimingWheel wheel;
+
+  /**
+   * the deadline tick.
+   */
+  long deadline;
+
+  /**
+   * the next timeout in the same bucket.
+   */
+  @Nullable
+  ChatTimeout next;
+
+  /**
+   * the previous timeout in the same bucket.
+   */
+  @Nullable
+  ChatTimeout previous;
+
+  /**
+   * the bucket index that contains the timeout, {@code -1} if the timeout is not in a bucket.
+   */
+  int bucket = -1;
+
+  /**
+   * whether the timeout is in the due queue of the wheel.
+   */
+  boolean due;
+
+  /**
+   * the cancelled.
+   */
+  private volatile boolean cancelled;
+
+  /**
+   * ctor.
+   *
+   * @param wheel the wheel.
+   * @param task the task.
+   * @param deadline the deadline tick.
+   */
+  ChatTimeout(@NotNull final TimingWheel wheel, @NotNull final Runnable task, final long deadline) {
+    this.wheel = wheel;
+    this.task = task;
+    this.deadline = deadline;
+  }
+
+  @Override
+  public void cancel() {
+    if (this.cancelled) {
+      return;
+    }
+    this.cancelled = true;
+    this.wheel.remove(this);
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  /**
+   * moves the timeout to a new deadline in place.
+   * <p>
+   * the timeout runs again if it has already run, cancelled timeouts are not rescheduled.
+   *
+   * @param delay the new delay in ticks from the current tick of the wheel.
+   */
+  public void reschedule(final long delay) {
+    this.wheel.reschedule(this, delay);
+  }
+}
@@ -49,6 +49,22 @@ public enum EndReason {
    * the invalid input.
    */
   INVALID_INPUT,
+  /**
+   * the sender sent as many invalid inputs as {@link ChatInput.Builder#maxAttempts} allows.
+   */
+  MAX_ATTEMPTS,
+  /**
+   * the sender has an other input and the input uses {@link PreemptionPolicy#REJECT}.
+   */
+  REJECTED,
+  /**
+   * the sender moved to an other server and the input is handed off to that server.
+   */
+  TRANSFERRED,
+  /**
+   * the platform cannot consume the chat messages of the sender, see {@link ChatPlatform#canConsume(ChatSender)}.
+   */
+  UNSUPPORTED,
   /**
    * the custom.
    */
@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+/**
+ * an enum class that contains the threads that the chat input callbacks run on.
+ * <p>
+ * the callbacks are {@link ChatInput.Builder#setValue}, {@link ChatInput.Builder#onFinish},
+ * {@link ChatInput.Builder#onCancel}, {@link ChatInput.Builder#onExpire}, {@link ChatInput.Builder#onDisconnect}
+ * and the run after consumers.
+ */
+public enum ExecutionPolicy {
+  /**
+   * runs the callbacks on the thread that ends the input, such as the chat thread.
+   */
+  CALLER,
+  /**
+   * runs the callbacks on the thread that owns the sender by {@link ChatPlatform#execute(ChatSender, Runnable)}, such
+   * as the region thread of the player on Folia, the platforms that have not any owning thread run them like
+   * {@link #CALLER}.
+   */
+  SENDER,
+  /**
+   * queues the callbacks and runs them in {@link ChatDispatcher#tick()} within the budget of
+   * {@link TickExecutor}.
+   */
+  TICK,
+  /**
+   * runs the callbacks on virtual threads on Java 21 and later, on a cached thread pool otherwise.
+   */
+  VIRTUAL_THREAD
+}
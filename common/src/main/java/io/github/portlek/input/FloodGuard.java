@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains the state of the flood guard of an input, see {@link ChatInput.Builder#floodGuard(int, long)}.
+ * <p>
+ * the inputs create it when the flood guard checks their first message, so the inputs without a flood guard do not
+ * pay for it. the fields are guarded by the instance.
+ */
+final class FloodGuard {
+
+  /**
+   * the tick of the timer that {@link ChatInput.Builder#cooldownMessage} is sent at last.
+   */
+  long cooldownAt;
+
+  /**
+   * the task that handles {@link #deferred}.
+   */
+  @Nullable
+  ChatTimeout deferTask;
+
+  /**
+   * the last message that exceeded the flood guard and waits for a token.
+   */
+  @Nullable
+  String deferred;
+
+  /**
+   * the tick of the timer that the bucket is refilled at last.
+   */
+  private long refilledAt;
+
+  /**
+   * the tokens of the bucket.
+   */
+  private int tokens;
+
+  /**
+   * ctor.
+   *
+   * @param template the template of the input.
+   * @param tick the current tick of the timer.
+   */
+  FloodGuard(@NotNull final PromptTemplate<?, ?> template, final long tick) {
+    this.tokens = template.getFloodBurst();
+    this.refilledAt = tick;
+    this.cooldownAt = tick - template.getCooldownWindow();
+  }
+
+  /**
+   * calculates the delay of the next token of the bucket.
+   *
+   * @param template the template of the input.
+   * @param tick the current tick of the timer.
+   *
+   * @return the ticks until the next token.
+   */
+  synchronized long nextToken(@NotNull final PromptTemplate<?, ?> template, final long tick) {
+    return Math.max(1L, template.getFloodRefill() - (tick - this.refilledAt));
+  }
+
+  /**
+   * takes a token from the bucket, refills the bucket first by the ticks since the last refill.
+   *
+   * @param template the template of the input.
+   * @param tick the current tick of the timer.
+   *
+   * @return {@code true} if the bucket had a token.
+   */
+  synchronized boolean tryAcquire(@NotNull final PromptTemplate<?, ?> template, final long tick) {
+    final int burst = template.getFloodBurst();
+    final long refill = template.getFloodRefill();
+    final long refilled = (tick - this.refilledAt) / refill;
+    if (refilled > 0L) {
+      this.tokens = (int) Math.min(burst, this.tokens + refilled);
+      this.refilledAt = this.tokens == burst ? tick : this.refilledAt + refilled * refill;
+    }
+    if (this.tokens == 0) {
+      return false;
+    }
+    this.tokens--;
+    return true;
+  }
+}
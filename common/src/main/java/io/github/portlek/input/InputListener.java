@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an interface to determine the listeners that a single {@link ChatInput} reports its end to.
+ * <p>
+ * unlike the callbacks of a {@link PromptTemplate}, a listener belongs to one input, so it can drive the state of a
+ * single player's flow.
+ *
+ * @param <T> the value type.
+ * @param <P> the input sender type.
+ */
+@FunctionalInterface
+public interface InputListener<T, P> {
+
+  /**
+   * runs after the callbacks and the run after consumers of the input.
+   *
+   * @param input the input that ended.
+   * @param reason the reason that the input ended.
+   */
+  void onEnd(@NotNull ChatInput<T, P> input, @NotNull EndReason reason);
+}
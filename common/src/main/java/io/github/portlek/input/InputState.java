@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+/**
+ * an enum class that contains the lifecycle states of a chat input.
+ * <p>
+ * the transitions are {@code NEW -> QUEUED -> AWAITING -> VALIDATING -> AWAITING | ENDED}, and
+ * {@code QUEUED | AWAITING -> ENDED}.
+ * {@link #ENDED} is reached by exactly one compare-and-set, so an input ends with exactly one {@link EndReason}.
+ */
+public enum InputState {
+  /**
+   * the input is not started yet.
+   */
+  NEW,
+  /**
+   * the input is started and waits for the other inputs of the sender to end.
+   */
+  QUEUED,
+  /**
+   * the input waits for an input from the sender.
+   */
+  AWAITING,
+  /**
+   * the input validates an input of the sender.
+   */
+  VALIDATING,
+  /**
+   * the input is ended.
+   */
+  ENDED
+}
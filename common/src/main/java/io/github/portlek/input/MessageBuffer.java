@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that merges the feedback lines of the inputs that are sent to a sender in the same tick into one send.
+ * <p>
+ * the inputs queue their lines here instead of calling {@link ChatSender#sendMessage(ChatMessage)} when the
+ * {@link ChatDispatcher} has a buffer, and {@link ChatDispatcher#tick()} sends the lines of each sender with one
+ * {@link ChatSender#sendMessages(List)} call. a sender keeps at most {@link #maxLines} lines per tick, the oldest
+ * lines are dropped first since the last lines ask for the next input.
+ *
+ * @param <P> the sender type.
+ */
+public final class MessageBuffer<P> {
+
+  /**
+   * the senders that have lines, in the order that they got their first lines.
+   */
+  @NotNull
+  private final Queue<Pending<P>> dirty = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the lines of the senders by their unique ids.
+   */
+  @NotNull
+  private final Map<UUID, Pending<P>> pending = new ConcurrentHashMap<>();
+
+  /**
+   * the count of the lines that a sender can have in a tick.
+   */
+  @Getter
+  private final int maxLines;
+
+  /**
+   * ctor.
+   *
+   * @param maxLines the count of the lines that a sender can have in a tick.
+   */
+  public MessageBuffer(final int maxLines) {
+    this.maxLines = Math.max(1, maxLines);
+  }
+
+  /**
+   * sends the lines of the senders, each sender gets one send.
+   */
+  public void flush() {
+    Pending<P> next;
+    while ((next = this.dirty.poll()) != null) {
+      final List<ChatMessage> lines;
+      synchronized (next) {
+        next.flushed = true;
+        this.pending.remove(next.sender.getUniqueId(), next);
+        lines = new ArrayList<>(next.lines);
+      }
+      if (!lines.isEmpty()) {
+        next.sender.sendMessages(lines);
+      }
+    }
+  }
+
+  /**
+   * queues the given line for the given sender.
+   *
+   * @param sender the sender to send.
+   * @param line the line to send.
+   */
+  public void send(@NotNull final ChatSender<P> sender, @NotNull final ChatMessage line) {
+    while (true) {
+      final Pending<P> current = this.pending.computeIfAbsent(sender.getUniqueId(), key -> new Pending<>(sender));
+      synchronized (current) {
+        if (current.flushed) {
+          continue;
+        }
+        if (current.lines.isEmpty()) {
+          this.dirty.add(current);
+        }
+        if (current.lines.size() == this.maxLines) {
+          current.lines.poll();
+        }
+        current.lines.add(line);
+        return;
+      }
+    }
+  }
+
+  /**
+   * obtains the count of the senders that have lines.
+   *
+   * @return the count of the senders that have lines.
+   */
+  public int size() {
+    return this.pending.size();
+  }
+
+  /**
+   * a class that represents the lines of a sender, guarded by itself.
+   *
+   * @param <P> the sender type.
+   */
+  @RequiredArgsConstructor
+  private static final class Pending<P> {
+
+    /**
+     * the lines.
+     */
+    @NotNull
+    private final Queue<ChatMessage> lines = new ArrayDeque<>(2);
+
+    /**
+     * the sender.
+     */
+    @NotNull
+    private final ChatSender<P> sender;
+
+    /**
+     * the flushed, the lines are sent and the later lines go to a new instance.
+     */
+    private boolean flushed;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+/**
+ * an enum class that contains what happens when an input starts while its sender has an other active input.
+ * <p>
+ * the sender's active input owns the sender's messages, the other inputs wait in the sender's queue ordered by their
+ * {@link ChatInput.Builder#priority}.
+ */
+public enum PreemptionPolicy {
+  /**
+   * waits in the sender's queue until the inputs before it end.
+   */
+  QUEUE,
+  /**
+   * ends the active input with {@link EndReason#CUSTOM} if the active input's priority is not higher, waits in the
+   * sender's queue otherwise.
+   */
+  REPLACE,
+  /**
+   * ends with {@link EndReason#REJECTED} without asking the sender.
+   */
+  REJECT
+}
@@ -0,0 +1,403 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import io.github.portlek.input.normalizer.CancelMatcher;
+import io.github.portlek.input.normalizer.InputNormalizer;
+import io.github.portlek.input.parser.InputParser;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an immutable and thread-safe prompt definition that is compiled once from a {@link ChatInput.Builder} and shared
+ * by all the inputs of the definition.
+ * <p>
+ * an input created by {@link #create(ChatPlatform, ChatSender)} holds only its sender and its running state, so
+ * thousands of the same prompt do not copy the configuration.
+ *
+ * @param <T> the value type.
+ * @param <P> the input sender type.
+ */
+@Getter
+public final class PromptTemplate<T, P> {
+
+  /**
+   * the ticks that an asynchronous validation step can take, {@code -1} for no limit.
+   */
+  private final long asyncTimeout;
+
+  /**
+   * the cancel keywords.
+   */
+  @NotNull
+  private final CancelMatcher cancel;
+
+  /**
+   * the templates to open after finish, indexed by the ordinal of the end reasons.
+   */
+  @NotNull
+  @Getter(AccessLevel.NONE)
+  private final PromptTemplate<?, P>[][] chains;
+
+  /**
+   * the message that is sent when a message exceeds the flood guard.
+   */
+  @Nullable
+  private final ChatMessage cooldownMessage;
+
+  /**
+   * the ticks that the {@link #cooldownMessage} is sent at most once in.
+   */
+  private final long cooldownWindow;
+
+  /**
+   * the execution policy, {@code null} for the policy of the platform's dispatcher.
+   */
+  @Nullable
+  private final ExecutionPolicy executionPolicy;
+
+  /**
+   * the expire.
+   */
+  private final long expire;
+
+  /**
+   * the expire message.
+   */
+  @Nullable
+  private final BiFunction<P, Long, ChatMessage> expireMessage;
+
+  /**
+   * the ticks left to expire that the {@link #expireMessage} is sent at.
+   */
+  @NotNull
+  @Getter(AccessLevel.NONE)
+  final long[] expireWarnings;
+
+  /**
+   * the count of the messages that a sender can send at once, {@code 0} for no flood guard.
+   */
+  private final int floodBurst;
+
+  /**
+   * the flood policy.
+   */
+  @NotNull
+  private final FloodPolicy floodPolicy;
+
+  /**
+   * the ticks that the flood guard takes to give one more message.
+   */
+  private final long floodRefill;
+
+  /**
+   * the id that the stored sessions of the template refer to.
+   */
+  @Nullable
+  private final String id;
+
+  /**
+   * the invalid input message.
+   */
+  @Nullable
+  private final ChatMessage invalidInputMessage;
+
+  /**
+   * the is valid input.
+   */
+  @NotNull
+  private final BiPredicate<P, String> isValidInput;
+
+  /**
+   * the asynchronous is valid input.
+   */
+  @Nullable
+  private final BiFunction<P, String, CompletableFuture<Boolean>> isValidInputAsync;
+
+  /**
+   * the count of the invalid inputs that end the input, {@code 0} for no limit.
+   */
+  private final int maxAttempts;
+
+  /**
+   * the normalizer.
+   */
+  @NotNull
+  private final InputNormalizer normalizer;
+
+  /**
+   * the on cancel.
+   */
+  @NotNull
+  private final Consumer<P> onCancel;
+
+  /**
+   * the on disconnect.
+   */
+  @NotNull
+  private final Consumer<P> onDisconnect;
+
+  /**
+   * the on expire.
+   */
+  @NotNull
+  private final Consumer<P> onExpire;
+
+  /**
+   * the on finish.
+   */
+  @NotNull
+  private final BiConsumer<P, T> onFinish;
+
+  /**
+   * the on invalid input.
+   */
+  @NotNull
+  private final BiPredicate<P, String> onInvalidInput;
+
+  /**
+   * the on max attempts.
+   */
+  @NotNull
+  private final Consumer<P> onMaxAttempts;
+
+  /**
+   * the parser.
+   */
+  @Nullable
+  private final InputParser<T> parser;
+
+  /**
+   * the count of the messages that are buffered while an asynchronous validation runs.
+   */
+  private final int pendingInputBuffer;
+
+  /**
+   * the message that is sent when a message is rejected while an asynchronous validation runs.
+   */
+  @Nullable
+  private final ChatMessage pendingInputMessage;
+
+  /**
+   * the preemption policy.
+   */
+  @NotNull
+  private final PreemptionPolicy preemption;
+
+  /**
+   * the priority.
+   */
+  private final int priority;
+
+  /**
+   * the repeat.
+   */
+  private final boolean repeat;
+
+  /**
+   * the run after consumers, indexed by the ordinal of the end reasons.
+   */
+  @NotNull
+  @Getter(AccessLevel.NONE)
+  private final Consumer<P>[][] runAfter;
+
+  /**
+   * the send value message.
+   */
+  @Nullable
+  private final ChatMessage sendValueMessage;
+
+  /**
+   * the set value, {@code null} for {@link #value}.
+   */
+  @Nullable
+  private final BiFunction<P, String, T> setValue;
+
+  /**
+   * the asynchronous set value.
+   */
+  @Nullable
+  private final BiFunction<P, String, CompletableFuture<T>> setValueAsync;
+
+  /**
+   * the sliding expire.
+   */
+  private final boolean slidingExpire;
+
+  /**
+   * the validation cache.
+   */
+  @Nullable
+  private final ValidationCache<T> validationCache;
+
+  /**
+   * the default value.
+   */
+  @Nullable
+  private final T value;
+
+  /**
+   * ctor.
+   *
+   * @param builder the builder to compile.
+   */
+  PromptTemplate(@NotNull final ChatInput.Builder<T, P> builder) {
+    this.asyncTimeout = builder.getAsyncTimeout();
+    this.cancel = builder.getCancel();
+    this.cooldownMessage = builder.getCooldownMessage();
+    this.cooldownWindow = builder.getCooldownWindow();
+    this.executionPolicy = builder.getExecutionPolicy();
+    this.expire = builder.getExpire();
+    this.expireMessage = builder.getExpireMessage();
+    this.expireWarnings = builder.getExpireWarnings().clone();
+    this.floodBurst = builder.getFloodBurst();
+    this.floodPolicy = builder.getFloodPolicy();
+    this.floodRefill = builder.getFloodRefill();
+    this.id = builder.getId();
+    this.invalidInputMessage = builder.getInvalidInputMessage();
+    this.isValidInput = builder.getIsValidInput();
+    this.isValidInputAsync = builder.getIsValidInputAsync();
+    this.maxAttempts = builder.getMaxAttempts();
+    this.normalizer = builder.getNormalizer();
+    this.onCancel = builder.getOnCancel();
+    this.onDisconnect = builder.getOnDisconnect();
+    this.onExpire = builder.getOnExpire();
+    this.onFinish = builder.getOnFinish();
+    this.onInvalidInput = builder.getOnInvalidInput();
+    this.onMaxAttempts = builder.getOnMaxAttempts();
+    this.parser = builder.getParser();
+    this.pendingInputBuffer = builder.getPendingInputBuffer();
+    this.pendingInputMessage = builder.getPendingInputMessage();
+    this.preemption = builder.getPreemption();
+    this.priority = builder.getPriority();
+    this.repeat = builder.isRepeat();
+    this.sendValueMessage = builder.getSendValueMessage();
+    this.setValue = builder.getSetValue();
+    this.setValueAsync = builder.getSetValueAsync();
+    this.slidingExpire = builder.isSlidingExpire();
+    this.validationCache = builder.getValidationCache();
+    this.value = builder.getValue();
+    //noinspection unchecked
+    this.runAfter = new Consumer[EndReason.values().length][];
+    builder.getRunAfter().forEach((reason, consumers) -> {
+      if (!consumers.isEmpty()) {
+        //noinspection unchecked
+        this.runAfter[reason.ordinal()] = consumers.toArray(new Consumer[0]);
+      }
+    });
+    //noinspection unchecked
+    this.chains = new PromptTemplate[EndReason.values().length][];
+    builder.getChains().forEach((reason, templates) -> {
+      if (!templates.isEmpty()) {
+        //noinspection unchecked
+        this.chains[reason.ordinal()] = templates.toArray(new PromptTemplate[0]);
+      }
+    });
+  }
+
+  /**
+   * creates a new template builder instance that has no platform and sender.
+   *
+   * @param <T> type of the value.
+   * @param <P> type of the sender.
+   *
+   * @return a newly created builder instance.
+   *
+   * @see ChatInput.Builder#template()
+   */
+  @NotNull
+  public static <T, P> ChatInput.Builder<T, P> builder() {
+    return new ChatInput.Builder<>(null, null);
+  }
+
+  /**
+   * creates a new input of the template for the given sender.
+   *
+   * @param platform the platform to create.
+   * @param sender the sender to create.
+   *
+   * @return a newly created input.
+   */
+  @NotNull
+  public ChatInput<T, P> create(@NotNull final ChatPlatform<P> platform, @NotNull final ChatSender<P> sender) {
+    return this.create(platform, sender, null);
+  }
+
+  /**
+   * creates a new input of the template for the given sender.
+   *
+   * @param platform the platform to create.
+   * @param sender the sender to create.
+   * @param listener the listener to create.
+   *
+   * @return a newly created input.
+   */
+  @NotNull
+  public ChatInput<T, P> create(@NotNull final ChatPlatform<P> platform, @NotNull final ChatSender<P> sender,
+                                @Nullable final InputListener<T, P> listener) {
+    return new ChatInput<>(this, platform, sender, listener);
+  }
+
+  /**
+   * obtains the ticks left to expire that the {@link #expireMessage} is sent at.
+   *
+   * @return the expire warnings.
+   */
+  @NotNull
+  public long[] getExpireWarnings() {
+    return this.expireWarnings.clone();
+  }
+
+  /**
+   * obtains the templates to open after an input ends with the given reason.
+   *
+   * @param reason the reason to get.
+   *
+   * @return the templates, {@code null} if there is none.
+   */
+  @Nullable
+  PromptTemplate<?, P>[] getChains(@NotNull final EndReason reason) {
+    return this.chains[reason.ordinal()];
+  }
+
+  /**
+   * obtains the run after consumers of the given reason.
+   *
+   * @param reason the reason to get.
+   *
+   * @return the run after consumers, {@code null} if there is none.
+   */
+  @Nullable
+  Consumer<P>[] getRunAfter(@NotNull final EndReason reason) {
+    return this.runAfter[reason.ordinal()];
+  }
+}
@@ -0,0 +1,343 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a concurrent open-addressing table keyed by the two halves of an {@link UUID}.
+ * <p>
+ * the keys are kept as {@code long} pairs in one array and the values in a parallel array, so a lookup does not
+ * allocate, does not call {@link UUID#hashCode()} and touches only the slots that it probes. reads are lock-free,
+ * writes are serialized by a lock.
+ * <p>
+ * a slot's key never changes once it has been written into a table, removed slots keep their key and are reused
+ * only by the same key. the tables are rebuilt without the removed slots when they fill up, and the new table is
+ * published with a volatile write, so the readers always see a consistent table.
+ *
+ * @param <V> type of the values.
+ */
+public final class SessionTable<V> {
+
+  /**
+   * the minimum capacity.
+   */
+  private static final int MIN_CAPACITY = 16;
+
+  /**
+   * the removed marker.
+   */
+  private static final Object REMOVED = new Object();
+
+  /**
+   * the lock.
+   */
+  @NotNull
+  private final Object lock = new Object();
+
+  /**
+   * the size.
+   */
+  private volatile int size;
+
+  /**
+   * the table.
+   */
+  @NotNull
+  private volatile Table table = new Table(SessionTable.MIN_CAPACITY);
+
+  /**
+   * calculates the slot index of the given key.
+   *
+   * @param most the most significant bits of the key.
+   * @param least the least significant bits of the key.
+   * @param mask the mask of the table.
+   *
+   * @return the slot index.
+   */
+  private static int index(final long most, final long least, final int mask) {
+    long hash = most ^ least;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return (int) hash & mask;
+  }
+
+  /**
+   * calculates the capacity of a table that holds the given count of values.
+   *
+   * @param count the count to calculate.
+   *
+   * @return the capacity.
+   */
+  private static int capacityFor(final int count) {
+    final int needed = Math.max(SessionTable.MIN_CAPACITY, count * 3);
+    return Integer.highestOneBit(needed - 1) << 1;
+  }
+
+  /**
+   * removes all the values.
+   */
+  public void clear() {
+    synchronized (this.lock) {
+      this.table = new Table(SessionTable.MIN_CAPACITY);
+      this.size = 0;
+    }
+  }
+
+  /**
+   * checks if the given key has a value.
+   *
+   * @param key the key to check.
+   *
+   * @return {@code true} if the key has a value.
+   */
+  public boolean containsKey(@NotNull final UUID key) {
+    return this.get(key.getMostSignificantBits(), key.getLeastSignificantBits()) != null;
+  }
+
+  /**
+   * runs the given consumer for each value.
+   *
+   * @param consumer the consumer to run.
+   */
+  public void forEach(@NotNull final Consumer<V> consumer) {
+    final AtomicReferenceArray<Object> values = this.table.values;
+    for (int index = 0; index < values.length(); index++) {
+      final Object value = values.get(index);
+      if (value != null && value != SessionTable.REMOVED) {
+        //noinspection unchecked
+        consumer.accept((V) value);
+      }
+    }
+  }
+
+  /**
+   * obtains the value of the given key.
+   *
+   * @param key the key to get.
+   *
+   * @return the value of the key.
+   */
+  @Nullable
+  public V get(@NotNull final UUID key) {
+    return this.get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+  }
+
+  /**
+   * obtains the value of the given key.
+   *
+   * @param most the most significant bits of the key.
+   * @param least the least significant bits of the key.
+   *
+   * @return the value of the key.
+   */
+  @Nullable
+  public V get(final long most, final long least) {
+    final Table current = this.table;
+    final long[] keys = current.keys;
+    final AtomicReferenceArray<Object> values = current.values;
+    final int mask = current.mask;
+    int index = SessionTable.index(most, least, mask);
+    while (true) {
+      final Object value = values.get(index);
+      if (value == null) {
+        return null;
+      }
+      if (keys[index << 1] == most && keys[(index << 1) + 1] == least) {
+        //noinspection unchecked
+        return value == SessionTable.REMOVED ? null : (V) value;
+      }
+      index = index + 1 & mask;
+    }
+  }
+
+  /**
+   * puts the given value for the given key.
+   *
+   * @param key the key to put.
+   * @param value the value to put.
+   *
+   * @return the previous value of the key.
+   */
+  @Nullable
+  public V put(@NotNull final UUID key, @NotNull final V value) {
+    final long most = key.getMostSignificantBits();
+    final long least = key.getLeastSignificantBits();
+    synchronized (this.lock) {
+      Table current = this.table;
+      int index = current.find(most, least);
+      final Object previous = current.values.get(index);
+      if (previous != null) {
+        current.values.set(index, value);
+        if (previous == SessionTable.REMOVED) {
+          this.size++;
+          return null;
+        }
+        //noinspection unchecked
+        return (V) previous;
+      }
+      if ((current.used + 1) * 2 > current.capacity()) {
+        current = this.rebuild(this.size + 1);
+        index = current.find(most, least);
+      }
+      current.keys[index << 1] = most;
+      current.keys[(index << 1) + 1] = least;
+      current.values.set(index, value);
+      current.used++;
+      this.size++;
+      return null;
+    }
+  }
+
+  /**
+   * removes the value of the given key if the key is mapped to the given value.
+   *
+   * @param key the key to remove.
+   * @param value the value to remove.
+   *
+   * @return {@code true} if the value is removed.
+   */
+  public boolean remove(@NotNull final UUID key, @NotNull final V value) {
+    final long most = key.getMostSignificantBits();
+    final long least = key.getLeastSignificantBits();
+    synchronized (this.lock) {
+      final Table current = this.table;
+      final int index = current.find(most, least);
+      if (current.values.get(index) != value) {
+        return false;
+      }
+      current.values.set(index, SessionTable.REMOVED);
+      this.size--;
+      return true;
+    }
+  }
+
+  /**
+   * obtains the count of the values.
+   *
+   * @return the count of the values.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * rebuilds the table without the removed slots.
+   *
+   * @param count the count of values that the new table should hold.
+   *
+   * @return the new table.
+   */
+  @NotNull
+  private Table rebuild(final int count) {
+    final Table old = this.table;
+    final Table rebuilt = new Table(SessionTable.capacityFor(count));
+    for (int slot = 0; slot < old.capacity(); slot++) {
+      final Object value = old.values.get(slot);
+      if (value == null || value == SessionTable.REMOVED) {
+        continue;
+      }
+      final long most = old.keys[slot << 1];
+      final long least = old.keys[(slot << 1) + 1];
+      final int index = rebuilt.find(most, least);
+      rebuilt.keys[index << 1] = most;
+      rebuilt.keys[(index << 1) + 1] = least;
+      rebuilt.values.lazySet(index, value);
+      rebuilt.used++;
+    }
+    this.table = rebuilt;
+    return rebuilt;
+  }
+
+  /**
+   * a class that represents the arrays of the table.
+   */
+  private static final class Table {
+
+    /**
+     * the keys, two longs per slot.
+     */
+    @NotNull
+    private final long[] keys;
+
+    /**
+     * the mask.
+     */
+    private final int mask;
+
+    /**
+     * the values.
+     */
+    @NotNull
+    private final AtomicReferenceArray<Object> values;
+
+    /**
+     * the count of the used slots including the removed ones.
+     */
+    private int used;
+
+    /**
+     * ctor.
+     *
+     * @param capacity the capacity.
+     */
+    private Table(final int capacity) {
+      this.keys = new long[capacity << 1];
+      this.mask = capacity - 1;
+      this.values = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * obtains the capacity.
+     *
+     * @return the capacity.
+     */
+    private int capacity() {
+      return this.mask + 1;
+    }
+
+    /**
+     * finds the slot of the given key or the empty slot that the key should be put.
+     *
+     * @param most the most significant bits of the key.
+     * @param least the least significant bits of the key.
+     *
+     * @return the slot index.
+     */
+    private int find(final long most, final long least) {
+      int index = SessionTable.index(most, least, this.mask);
+      while (this.values.get(index) != null &&
+        (this.keys[index << 1] != most || this.keys[(index << 1) + 1] != least)) {
+        index = index + 1 & this.mask;
+      }
+      return index;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an executor that queues the tasks and runs them when it is drained once per tick.
+ * <p>
+ * any thread can queue tasks without taking a lock, a single thread drains the queue and stops when the budget of
+ * the tick is spent, the rest of the tasks run in the next ticks.
+ */
+public final class TickExecutor implements Executor {
+
+  /**
+   * the default budget in milliseconds.
+   */
+  public static final long DEFAULT_BUDGET = 5L;
+
+  /**
+   * the logger that reports the tasks that fail.
+   */
+  private static final Logger LOGGER = Logger.getLogger(TickExecutor.class.getName());
+
+  /**
+   * the tasks.
+   */
+  @NotNull
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the count of the queued tasks.
+   */
+  @NotNull
+  private final AtomicInteger pending = new AtomicInteger();
+
+  /**
+   * the budget in nanoseconds.
+   */
+  private volatile long budget = TimeUnit.MILLISECONDS.toNanos(TickExecutor.DEFAULT_BUDGET);
+
+  /**
+   * runs the queued tasks until the queue is empty or the budget is spent.
+   * <p>
+   * at least one task runs on each call, so the queue always makes progress. a task that throws is logged and does
+   * not stop the other tasks.
+   */
+  public void drain() {
+    final long until = System.nanoTime() + this.budget;
+    Runnable task;
+    while ((task = this.tasks.poll()) != null) {
+      this.pending.decrementAndGet();
+      try {
+        task.run();
+      } catch (final RuntimeException e) {
+        TickExecutor.LOGGER.log(Level.SEVERE, "a tick task threw an exception", e);
+      }
+      if (System.nanoTime() - until >= 0L) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * obtains the count of the queued tasks.
+   *
+   * @return the count of the queued tasks.
+   */
+  public int getPending() {
+    return this.pending.get();
+  }
+
+  @Override
+  public void execute(@NotNull final Runnable command) {
+    this.pending.incrementAndGet();
+    this.tasks.add(command);
+  }
+
+  /**
+   * sets the budget of a tick.
+   *
+   * @param budget the budget to set.
+   * @param unit the unit of the budget.
+   */
+  public void setBudget(final long budget, @NotNull final TimeUnit unit) {
+    this.budget = unit.toNanos(budget);
+  }
+}
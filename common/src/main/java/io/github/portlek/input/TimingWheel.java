@@ -0,0 +1,321 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a hierarchical timing wheel that schedules tasks in ticks.
+ * <p>
+ * the wheel has four levels of 64 buckets each, a bucket is a doubly linked list of
+ * {@link ChatTimeout}s, so scheduling and cancelling are constant time. the wheel does not run by itself,
+ * {@link #tick()} should be called once per tick by a single repeating platform task.
+ * <p>
+ * the due tasks are queued and at most {@link #maxExpiriesPerTick} of them run in a tick, the rest run in the next
+ * ticks, so a mass expiry is spread over several ticks instead of stalling one.
+ */
+public final class TimingWheel {
+
+  /**
+   * the default maximum count of the tasks that run in a tick.
+   */
+  public static final int DEFAULT_MAX_EXPIRIES_PER_TICK = 500;
+
+  /**
+   * the count of the levels.
+   */
+  private static final int LEVELS = 4;
+
+  /**
+   * the logger that reports the tasks that fail.
+   */
+  private static final Logger LOGGER = Logger.getLogger(TimingWheel.class.getName());
+
+  /**
+   * the bit count of a level.
+   */
+  private static final int SLOT_BITS = 6;
+
+  /**
+   * the count of the slots in a level.
+   */
+  private static final int SLOTS = 1 << TimingWheel.SLOT_BITS;
+
+  /**
+   * the slot mask.
+   */
+  private static final int SLOT_MASK = TimingWheel.SLOTS - 1;
+
+  /**
+   * the longest delay that fits the wheel.
+   */
+  private static final long MAX_SPAN = (1L << TimingWheel.SLOT_BITS * TimingWheel.LEVELS) - 1L;
+
+  /**
+   * the buckets.
+   */
+  @Nullable
+  private final ChatTimeout[] buckets = new ChatTimeout[TimingWheel.LEVELS * TimingWheel.SLOTS];
+
+  /**
+   * the due timeouts.
+   */
+  @NotNull
+  private final Queue<ChatTimeout> expired = new ArrayDeque<>();
+
+  /**
+   * the lock.
+   */
+  @NotNull
+  private final Object lock = new Object();
+
+  /**
+   * the max expiries per tick.
+   */
+  private final int maxExpiriesPerTick;
+
+  /**
+   * the current tick.
+   */
+  private volatile long current;
+
+  /**
+   * the count of the scheduled timeouts.
+   */
+  private int size;
+
+  /**
+   * ctor.
+   *
+   * @param maxExpiriesPerTick the maximum count of the tasks that run in a tick.
+   */
+  public TimingWheel(final int maxExpiriesPerTick) {
+    if (maxExpiriesPerTick <= 0) {
+      throw new IllegalArgumentException("maxExpiriesPerTick must be positive");
+    }
+    this.maxExpiriesPerTick = maxExpiriesPerTick;
+  }
+
+  /**
+   * ctor.
+   */
+  public TimingWheel() {
+    this(TimingWheel.DEFAULT_MAX_EXPIRIES_PER_TICK);
+  }
+
+  /**
+   * obtains the current tick of the wheel.
+   *
+   * @return the current tick.
+   */
+  public long getTick() {
+    return this.current;
+  }
+
+  /**
+   * schedules the given task.
+   *
+   * @param task the task to schedule.
+   * @param delay the delay in ticks.
+   *
+   * @return a timeout that cancels the task.
+   */
+  @NotNull
+  public ChatTimeout schedule(@NotNull final Runnable task, final long delay) {
+    synchronized (this.lock) {
+      final ChatTimeout timeout = new ChatTimeout(this, task, this.current + Math.max(1L, delay));
+      this.place(timeout);
+      this.size++;
+      return timeout;
+    }
+  }
+
+  /**
+   * obtains the count of the scheduled tasks that did not run yet.
+   *
+   * @return the count of the scheduled tasks.
+   */
+  public int size() {
+    synchronized (this.lock) {
+      return this.size;
+    }
+  }
+
+  /**
+   * advances the wheel by one tick and runs the due tasks.
+   * <p>
+   * this should be called by a single thread. a task that throws is logged and does not stop the other due tasks.
+   */
+  public void tick() {
+    synchronized (this.lock) {
+      final long now = ++this.current;
+      int level = 1;
+      while (level < TimingWheel.LEVELS &&
+        (now & (1L << TimingWheel.SLOT_BITS * level) - 1L) == 0L) {
+        level++;
+      }
+      for (int cascade = level - 1; cascade > 0; cascade--) {
+        this.cascade(cascade, (int) (now >>> TimingWheel.SLOT_BITS * cascade) & TimingWheel.SLOT_MASK);
+      }
+      this.cascade(0, (int) now & TimingWheel.SLOT_MASK);
+    }
+    for (int count = 0; count < this.maxExpiriesPerTick; count++) {
+      final ChatTimeout timeout;
+      synchronized (this.lock) {
+        timeout = this.expired.poll();
+        if (timeout == null) {
+          return;
+        }
+        timeout.due = false;
+        if (timeout.deadline > this.current) {
+          this.place(timeout);
+          continue;
+        }
+        this.size--;
+      }
+      if (!timeout.isCancelled()) {
+        try {
+          timeout.task.run();
+        } catch (final RuntimeException e) {
+          TimingWheel.LOGGER.log(Level.SEVERE, "an expire task threw an exception", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * moves the given timeout to its new deadline.
+   *
+   * @param timeout the timeout to move.
+   * @param delay the delay in ticks.
+   */
+  void reschedule(@NotNull final ChatTimeout timeout, final long delay) {
+    synchronized (this.lock) {
+      if (timeout.isCancelled()) {
+        return;
+      }
+      timeout.deadline = this.current + Math.max(1L, delay);
+      if (timeout.due) {
+        return;
+      }
+      if (timeout.bucket == -1) {
+        this.size++;
+      } else {
+        this.unlink(timeout);
+      }
+      this.place(timeout);
+    }
+  }
+
+  /**
+   * removes the given timeout from the wheel.
+   *
+   * @param timeout the timeout to remove.
+   */
+  void remove(@NotNull final ChatTimeout timeout) {
+    synchronized (this.lock) {
+      if (timeout.bucket != -1) {
+        this.unlink(timeout);
+        this.size--;
+      }
+    }
+  }
+
+  /**
+   * re-places all the timeouts of the given bucket.
+   *
+   * @param level the level of the bucket.
+   * @param slot the slot of the bucket.
+   */
+  private void cascade(final int level, final int slot) {
+    final int bucket = level * TimingWheel.SLOTS + slot;
+    ChatTimeout timeout = this.buckets[bucket];
+    this.buckets[bucket] = null;
+    while (timeout != null) {
+      final ChatTimeout next = timeout.next;
+      timeout.next = null;
+      timeout.previous = null;
+      timeout.bucket = -1;
+      this.place(timeout);
+      timeout = next;
+    }
+  }
+
+  /**
+   * places the given timeout into its bucket or into the due queue.
+   *
+   * @param timeout the timeout to place.
+   */
+  private void place(@NotNull final ChatTimeout timeout) {
+    final long remaining = timeout.deadline - this.current;
+    if (remaining <= 0L) {
+      timeout.due = true;
+      this.expired.add(timeout);
+      return;
+    }
+    final long target = remaining > TimingWheel.MAX_SPAN
+      ? this.current + TimingWheel.MAX_SPAN
+      : timeout.deadline;
+    int level = 0;
+    while (level < TimingWheel.LEVELS - 1 && target - this.current >= 1L << TimingWheel.SLOT_BITS * (level + 1)) {
+      level++;
+    }
+    final int bucket = level * TimingWheel.SLOTS +
+      ((int) (target >>> TimingWheel.SLOT_BITS * level) & TimingWheel.SLOT_MASK);
+    final ChatTimeout head = this.buckets[bucket];
+    timeout.bucket = bucket;
+    timeout.next = head;
+    if (head != null) {
+      head.previous = timeout;
+    }
+    this.buckets[bucket] = timeout;
+  }
+
+  /**
+   * unlinks the given timeout from its bucket.
+   *
+   * @param timeout the timeout to unlink.
+   */
+  private void unlink(@NotNull final ChatTimeout timeout) {
+    final ChatTimeout previous = timeout.previous;
+    final ChatTimeout next = timeout.next;
+    if (previous == null) {
+      this.buckets[timeout.bucket] = next;
+    } else {
+      previous.next = next;
+    }
+    if (next != null) {
+      next.previous = previous;
+    }
+    timeout.next = null;
+    timeout.previous = null;
+    timeout.bucket = -1;
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a bounded cache of the validation and the value results of a prompt definition.
+ * <p>
+ * create one cache per prompt definition and set it to every builder of that definition with
+ * {@link ChatInput.Builder#validationCache(ValidationCache)}, then {@link ChatInput.Builder#isValidInput} and
+ * {@link ChatInput.Builder#setValue} run once per distinct message instead of once per message. if the cache is
+ * player independent, the results are shared by all the players, otherwise they are cached per player.
+ * <p>
+ * the oldest entries are evicted first when the cache is full.
+ *
+ * @param <T> type of the values.
+ */
+@RequiredArgsConstructor
+public final class ValidationCache<T> {
+
+  /**
+   * the entries.
+   */
+  @NotNull
+  private final Map<Object, Entry<T>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * the evictions.
+   */
+  @NotNull
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * the hits.
+   */
+  @NotNull
+  private final LongAdder hits = new LongAdder();
+
+  /**
+   * the misses.
+   */
+  @NotNull
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * the keys in insertion order.
+   */
+  @NotNull
+  private final Queue<Object> order = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the maximum size.
+   */
+  @Getter
+  private final int maximumSize;
+
+  /**
+   * the player independent.
+   */
+  @Getter
+  private final boolean playerIndependent;
+
+  /**
+   * removes all the entries.
+   */
+  public void clear() {
+    this.entries.clear();
+    this.order.clear();
+  }
+
+  /**
+   * obtains the entry of the given message.
+   *
+   * @param uniqueId the unique id of the sender.
+   * @param message the message to get.
+   *
+   * @return the cached entry of the message.
+   */
+  @Nullable
+  public Entry<T> get(@NotNull final UUID uniqueId, @NotNull final String message) {
+    final Entry<T> entry = this.entries.get(this.key(uniqueId, message));
+    if (entry == null) {
+      this.misses.increment();
+    } else {
+      this.hits.increment();
+    }
+    return entry;
+  }
+
+  /**
+   * obtains the count of the evictions.
+   *
+   * @return the count of the evictions.
+   */
+  public long getEvictions() {
+    return this.evictions.sum();
+  }
+
+  /**
+   * obtains the count of the hits.
+   *
+   * @return the count of the hits.
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * obtains the count of the misses.
+   *
+   * @return the count of the misses.
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * caches the validation result of the given message.
+   *
+   * @param uniqueId the unique id of the sender.
+   * @param message the message to put.
+   * @param valid the validation result to put.
+   *
+   * @return the cached entry of the message.
+   */
+  @NotNull
+  public Entry<T> put(@NotNull final UUID uniqueId, @NotNull final String message, final boolean valid) {
+    final Object key = this.key(uniqueId, message);
+    final Entry<T> entry = new Entry<>(valid);
+    final Entry<T> previous = this.entries.putIfAbsent(key, entry);
+    if (previous != null) {
+      return previous;
+    }
+    this.order.add(key);
+    while (this.entries.size() > this.maximumSize) {
+      final Object oldest = this.order.poll();
+      if (oldest == null) {
+        break;
+      }
+      if (this.entries.remove(oldest) != null) {
+        this.evictions.increment();
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * obtains the count of the entries.
+   *
+   * @return the count of the entries.
+   */
+  public int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * creates the key of the given message.
+   *
+   * @param uniqueId the unique id of the sender.
+   * @param message the message.
+   *
+   * @return the key of the message.
+   */
+  @NotNull
+  private Object key(@NotNull final UUID uniqueId, @NotNull final String message) {
+    return this.playerIndependent ? message : new PlayerKey(uniqueId, message);
+  }
+
+  /**
+   * a class that represents the cached results of a message.
+   *
+   * @param <T> type of the value.
+   */
+  public static final class Entry<T> {
+
+    /**
+     * the not computed value marker.
+     */
+    private static final Object UNSET = new Object();
+
+    /**
+     * the valid.
+     */
+    @Getter
+    private final boolean valid;
+
+    /**
+     * the value.
+     */
+    @Nullable
+    private volatile Object value = Entry.UNSET;
+
+    /**
+     * ctor.
+     *
+     * @param valid the valid.
+     */
+    private Entry(final boolean valid) {
+      this.valid = valid;
+    }
+
+    /**
+     * obtains the value.
+     *
+     * @return the value.
+     *
+     * @throws IllegalStateException if the value is not computed yet.
+     */
+    @Nullable
+    public T getValue() {
+      final Object current = this.value;
+      if (current == Entry.UNSET) {
+        throw new IllegalStateException("the value is not computed yet");
+      }
+      //noinspection unchecked
+      return (T) current;
+    }
+
+    /**
+     * checks if the value is computed.
+     *
+     * @return {@code true} if the value is computed.
+     */
+    public boolean hasValue() {
+      return this.value != Entry.UNSET;
+    }
+
+    /**
+     * sets the value.
+     *
+     * @param value the value to set.
+     */
+    public void setValue(@Nullable final T value) {
+      this.value = value;
+    }
+  }
+
+  /**
+   * a class that represents the keys of the player dependent caches.
+   */
+  @EqualsAndHashCode
+  @RequiredArgsConstructor
+  private static final class PlayerKey {
+
+    /**
+     * the unique id.
+     */
+    @NotNull
+    private final UUID uniqueId;
+
+    /**
+     * the message.
+     */
+    @NotNull
+    private final String message;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that holds the executor of {@link ExecutionPolicy#VIRTUAL_THREAD}.
+ * <p>
+ * the library targets Java 8, so the virtual thread executor of Java 21 is looked up reflectively, a cached pool of
+ * daemon threads is used on the older runtimes.
+ */
+final class VirtualThreads {
+
+  /**
+   * the executor.
+   */
+  @NotNull
+  private static final Executor EXECUTOR = VirtualThreads.create();
+
+  /**
+   * ctor.
+   */
+  private VirtualThreads() {
+  }
+
+  /**
+   * obtains the executor.
+   *
+   * @return the executor.
+   */
+  @NotNull
+  static Executor get() {
+    return VirtualThreads.EXECUTOR;
+  }
+
+  /**
+   * creates the executor.
+   *
+   * @return a virtual thread per task executor if the runtime supports, a cached thread pool otherwise.
+   */
+  @NotNull
+  private static Executor create() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (final ReflectiveOperationException ignored) {
+      final AtomicInteger count = new AtomicInteger();
+      return Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "input-callback-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+}
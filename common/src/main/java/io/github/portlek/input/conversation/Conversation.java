@@ -0,0 +1,482 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.conversation;
+
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.PromptTemplate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an immutable graph of prompts that runs as a multi-step conversation.
+ * <p>
+ * the steps are compiled once, a {@link ConversationSession} walks them by index and creates one lightweight input
+ * per step from the step's {@link PromptTemplate}. the value of each step is applied to a typed state, and the next
+ * step is picked by the value or by the {@link EndReason} of the step.
+ *
+ * @param <S> the state type.
+ * @param <P> the input sender type.
+ */
+public final class Conversation<S, P> {
+
+  /**
+   * the target that moves the conversation to the previous step.
+   */
+  public static final String BACK = "#back";
+
+  /**
+   * the target that completes the conversation.
+   */
+  public static final String END = "#end";
+
+  /**
+   * the codec of the states, {@code null} for not storing the sessions.
+   */
+  @Nullable
+  @Getter
+  private final StateCodec<S> codec;
+
+  /**
+   * the id that the stored sessions refer to, {@code null} for not storing the sessions.
+   */
+  @Nullable
+  @Getter
+  private final String id;
+
+  /**
+   * the indexes of the steps.
+   */
+  @NotNull
+  private final Map<String, Integer> indexes;
+
+  /**
+   * the initial state.
+   */
+  @NotNull
+  private final Supplier<S> initialState;
+
+  /**
+   * the steps.
+   */
+  @NotNull
+  final ConversationNode<S, P>[] nodes;
+
+  /**
+   * the on end.
+   */
+  @NotNull
+  final ConversationEnd<S, P> onEnd;
+
+  /**
+   * ctor.
+   *
+   * @param builder the builder to compile.
+   */
+  private Conversation(@NotNull final Conversation.Builder<S, P> builder) {
+    this.codec = builder.codec;
+    this.id = builder.id;
+    this.initialState = builder.initialState;
+    this.onEnd = builder.onEnd;
+    this.indexes = new HashMap<>();
+    for (int index = 0; index < builder.steps.size(); index++) {
+      this.indexes.put(builder.steps.get(index).id, index);
+    }
+    //noinspection unchecked
+    this.nodes = new ConversationNode[builder.steps.size()];
+    for (int index = 0; index < this.nodes.length; index++) {
+      final Conversation.Step<S, P> step = builder.steps.get(index);
+      final int[] targets = new int[EndReason.values().length];
+      Arrays.fill(targets, ConversationNode.ABORT);
+      step.targets.forEach((reason, target) -> targets[reason.ordinal()] = this.resolve(step.id, target));
+      final int next = index + 1 < this.nodes.length ? index + 1 : ConversationNode.END;
+      this.nodes[index] = new ConversationNode<>(step.id, step.template, step.apply, step.branch, next, targets);
+    }
+  }
+
+  /**
+   * creates a new conversation builder.
+   *
+   * @param initialState the initial state of the sessions.
+   * @param <S> type of the state.
+   * @param <P> type of the sender.
+   *
+   * @return a newly created conversation builder.
+   */
+  @NotNull
+  public static <S, P> Conversation.Builder<S, P> builder(@NotNull final Supplier<S> initialState) {
+    return new Conversation.Builder<>(initialState);
+  }
+
+  /**
+   * resumes the conversation for the given sender.
+   *
+   * @param platform the platform to resume.
+   * @param sender the sender to resume.
+   * @param state the state to resume.
+   * @param path the ids of the visited steps, the last one is the step to ask.
+   *
+   * @return the started session.
+   *
+   * @throws IllegalArgumentException if the path is empty or has an unknown step.
+   * @see ConversationSession#getPath()
+   */
+  @NotNull
+  public ConversationSession<S, P> resume(@NotNull final ChatPlatform<P> platform,
+                                          @NotNull final ChatSender<P> sender, @NotNull final S state,
+                                          @NotNull final List<String> path) {
+    return this.resume(platform, sender, state, path, -1L, 0);
+  }
+
+  /**
+   * resumes the conversation for the given sender with the given state of the current step's input.
+   *
+   * @param platform the platform to resume.
+   * @param sender the sender to resume.
+   * @param state the state to resume.
+   * @param path the ids of the visited steps, the last one is the step to ask.
+   * @param remaining the ticks left to expire the current step, {@code -1} for the expire of the step.
+   * @param attempts the count of the invalid inputs of the current step.
+   *
+   * @return the started session.
+   *
+   * @throws IllegalArgumentException if the path is empty or has an unknown step.
+   * @see io.github.portlek.input.ChatInput#resume(long, int)
+   */
+  @NotNull
+  public ConversationSession<S, P> resume(@NotNull final ChatPlatform<P> platform,
+                                          @NotNull final ChatSender<P> sender, @NotNull final S state,
+                                          @NotNull final List<String> path, final long remaining,
+                                          final int attempts) {
+    if (path.isEmpty()) {
+      throw new IllegalArgumentException("path must not be empty!");
+    }
+    final int[] steps = new int[path.size()];
+    for (int index = 0; index < steps.length; index++) {
+      steps[index] = this.indexOf(path.get(index));
+      if (steps[index] < 0) {
+        throw new IllegalArgumentException(String.format("unknown step %s!", path.get(index)));
+      }
+    }
+    final ConversationSession<S, P> session = new ConversationSession<>(this, platform, sender, state);
+    session.start(steps, remaining, attempts);
+    return session;
+  }
+
+  /**
+   * starts the conversation for the given sender from the first step.
+   *
+   * @param platform the platform to start.
+   * @param sender the sender to start.
+   *
+   * @return the started session.
+   *
+   * @throws IllegalStateException if the conversation has no steps.
+   */
+  @NotNull
+  public ConversationSession<S, P> start(@NotNull final ChatPlatform<P> platform,
+                                         @NotNull final ChatSender<P> sender) {
+    if (this.nodes.length == 0) {
+      throw new IllegalStateException("conversation has no steps!");
+    }
+    final ConversationSession<S, P> session =
+      new ConversationSession<>(this, platform, sender, this.initialState.get());
+    session.start(new int[]{0}, -1L, 0);
+    return session;
+  }
+
+  /**
+   * obtains the index of the given target.
+   *
+   * @param target the target to get.
+   *
+   * @return the index of the target, or one of the special targets of {@link ConversationNode}.
+   */
+  int indexOf(@Nullable final String target) {
+    if (Conversation.END.equals(target)) {
+      return ConversationNode.END;
+    }
+    if (Conversation.BACK.equals(target)) {
+      return ConversationNode.BACK;
+    }
+    final Integer index = target == null ? null : this.indexes.get(target);
+    return index == null ? ConversationNode.UNKNOWN : index;
+  }
+
+  /**
+   * resolves the given target of the given step.
+   *
+   * @param id the id of the step.
+   * @param target the target to resolve.
+   *
+   * @return the resolved target.
+   *
+   * @throws IllegalArgumentException if the target is not in the conversation.
+   */
+  private int resolve(@NotNull final String id, @NotNull final String target) {
+    final int index = this.indexOf(target);
+    if (index == ConversationNode.UNKNOWN) {
+      throw new IllegalArgumentException(String.format("unknown target %s of step %s!", target, id));
+    }
+    return index;
+  }
+
+  /**
+   * a class that represents conversation builders.
+   *
+   * @param <S> the state type.
+   * @param <P> the input sender type.
+   */
+  @RequiredArgsConstructor
+  public static final class Builder<S, P> {
+
+    /**
+     * the initial state.
+     */
+    @NotNull
+    private final Supplier<S> initialState;
+
+    /**
+     * the steps.
+     */
+    @NotNull
+    private final List<Conversation.Step<S, P>> steps = new ArrayList<>();
+
+    /**
+     * the codec of the states.
+     */
+    @Nullable
+    private StateCodec<S> codec;
+
+    /**
+     * the id that the stored sessions refer to.
+     */
+    @Nullable
+    private String id;
+
+    /**
+     * the on end.
+     */
+    @NotNull
+    private ConversationEnd<S, P> onEnd = (sender, state, reason) -> {
+    };
+
+    /**
+     * compiles the conversation.
+     *
+     * @return a newly created conversation.
+     *
+     * @throws IllegalArgumentException if a step has an unknown target.
+     */
+    @NotNull
+    public Conversation<S, P> build() {
+      return new Conversation<>(this);
+    }
+
+    /**
+     * sets the codec that stores the states of the sessions.
+     * <p>
+     * a {@link io.github.portlek.input.persistence.SessionJournal} stores only the sessions of the conversations that
+     * have an id and a codec.
+     *
+     * @param codec the codec to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public Conversation.Builder<S, P> codec(@Nullable final StateCodec<S> codec) {
+      this.codec = codec;
+      return this;
+    }
+
+    /**
+     * sets the id that the stored sessions refer to, the id has to be unique and stable between restarts.
+     *
+     * @param id the id to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public Conversation.Builder<S, P> id(@Nullable final String id) {
+      this.id = id;
+      return this;
+    }
+
+    /**
+     * sets the target of the given step when its input ends with the given reason.
+     * <p>
+     * the inputs that end with a reason that has no target end the conversation with the same reason.
+     *
+     * @param id the id of the step.
+     * @param reason the reason to set.
+     * @param target the id of the target step, {@link #BACK} or {@link #END}.
+     *
+     * @return {@code this} for builder chain.
+     *
+     * @throws IllegalArgumentException if the step is not added yet or the reason is {@link EndReason#FINISH}.
+     */
+    @NotNull
+    public Conversation.Builder<S, P> on(@NotNull final String id, @NotNull final EndReason reason,
+                                         @NotNull final String target) {
+      if (reason == EndReason.FINISH) {
+        throw new IllegalArgumentException("use a branch to pick the target of a finished step!");
+      }
+      this.steps.stream()
+        .filter(step -> step.id.equals(id))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException(String.format("unknown step %s!", id)))
+        .targets.put(reason, target);
+      return this;
+    }
+
+    /**
+     * sets the callback that runs when the conversation ends.
+     *
+     * @param onEnd the on end to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public Conversation.Builder<S, P> onEnd(@NotNull final ConversationEnd<S, P> onEnd) {
+      this.onEnd = onEnd;
+      return this;
+    }
+
+    /**
+     * adds a step that moves to the next added step, or completes the conversation if it is the last one.
+     *
+     * @param id the id of the step.
+     * @param template the template of the step.
+     * @param apply the function that applies the value of the step to the state.
+     * @param <T> type of the value.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public <T> Conversation.Builder<S, P> step(@NotNull final String id, @NotNull final PromptTemplate<T, P> template,
+                                               @NotNull final BiConsumer<S, T> apply) {
+      return this.add(id, template, apply, null);
+    }
+
+    /**
+     * adds a step that picks the next step by its value.
+     *
+     * @param id the id of the step.
+     * @param template the template of the step.
+     * @param apply the function that applies the value of the step to the state.
+     * @param branch the function that returns the id of the next step, {@link #BACK} or {@link #END}.
+     * @param <T> type of the value.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public <T> Conversation.Builder<S, P> step(@NotNull final String id, @NotNull final PromptTemplate<T, P> template,
+                                               @NotNull final BiConsumer<S, T> apply,
+                                               @NotNull final BiFunction<S, T, String> branch) {
+      return this.add(id, template, apply, branch);
+    }
+
+    /**
+     * adds the given step.
+     *
+     * @param id the id of the step.
+     * @param template the template of the step.
+     * @param apply the function that applies the value of the step to the state.
+     * @param branch the function that returns the id of the next step.
+     * @param <T> type of the value.
+     *
+     * @return {@code this} for builder chain.
+     *
+     * @throws IllegalArgumentException if the id is reserved or already added.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private <T> Conversation.Builder<S, P> add(@NotNull final String id, @NotNull final PromptTemplate<T, P> template,
+                                               @NotNull final BiConsumer<S, T> apply,
+                                               @Nullable final BiFunction<S, T, String> branch) {
+      if (id.startsWith("#")) {
+        throw new IllegalArgumentException(String.format("step id %s must not start with #!", id));
+      }
+      if (this.steps.stream().anyMatch(step -> step.id.equals(id))) {
+        throw new IllegalArgumentException(String.format("step %s is already added!", id));
+      }
+      this.steps.add(new Conversation.Step<>(id, (PromptTemplate<Object, P>) template, (BiConsumer<S, Object>) apply,
+        (BiFunction<S, Object, String>) branch));
+      return this;
+    }
+  }
+
+  /**
+   * a class that represents the steps of conversation builders.
+   *
+   * @param <S> the state type.
+   * @param <P> the input sender type.
+   */
+  @RequiredArgsConstructor
+  private static final class Step<S, P> {
+
+    /**
+     * the id.
+     */
+    @NotNull
+    private final String id;
+
+    /**
+     * the template.
+     */
+    @NotNull
+    private final PromptTemplate<Object, P> template;
+
+    /**
+     * the apply.
+     */
+    @NotNull
+    private final BiConsumer<S, Object> apply;
+
+    /**
+     * the branch.
+     */
+    @Nullable
+    private final BiFunction<S, Object, String> branch;
+
+    /**
+     * the targets.
+     */
+    @NotNull
+    private final Map<EndReason, String> targets = new EnumMap<>(EndReason.class);
+  }
+}
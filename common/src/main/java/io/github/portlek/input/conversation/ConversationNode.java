@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.conversation;
+
+import io.github.portlek.input.PromptTemplate;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents the compiled steps of a {@link Conversation}.
+ *
+ * @param <S> the state type.
+ * @param <P> the input sender type.
+ */
+@RequiredArgsConstructor
+final class ConversationNode<S, P> {
+
+  /**
+   * the target that ends the conversation with the reason of the input.
+   */
+  static final int ABORT = -3;
+
+  /**
+   * the target that moves the conversation to the previous step.
+   */
+  static final int BACK = -2;
+
+  /**
+   * the target that completes the conversation.
+   */
+  static final int END = -1;
+
+  /**
+   * the target of the ids that are not in the conversation.
+   */
+  static final int UNKNOWN = -4;
+
+  /**
+   * the id.
+   */
+  @NotNull
+  final String id;
+
+  /**
+   * the template.
+   */
+  @NotNull
+  final PromptTemplate<Object, P> template;
+
+  /**
+   * the function that applies the value of the step to the state.
+   */
+  @NotNull
+  final BiConsumer<S, Object> apply;
+
+  /**
+   * the function that picks the id of the next step, {@code null} for {@link #next}.
+   */
+  @Nullable
+  final BiFunction<S, Object, String> branch;
+
+  /**
+   * the index of the next step.
+   */
+  final int next;
+
+  /**
+   * the targets, indexed by the ordinal of the end reasons.
+   */
+  @NotNull
+  final int[] targets;
+}
@@ -0,0 +1,285 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.conversation;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.InputListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents a running {@link Conversation} of a sender.
+ * <p>
+ * the session holds the index of the current step and the indexes of the visited steps, and creates one input per
+ * step from the step's template.
+ *
+ * @param <S> the state type.
+ * @param <P> the input sender type.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ConversationSession<S, P> implements InputListener<Object, P> {
+
+  /**
+   * the conversation.
+   */
+  @NotNull
+  @Getter
+  private final Conversation<S, P> conversation;
+
+  /**
+   * the platform.
+   */
+  @NotNull
+  private final ChatPlatform<P> platform;
+
+  /**
+   * the sender.
+   */
+  @NotNull
+  @Getter
+  private final ChatSender<P> sender;
+
+  /**
+   * the state.
+   */
+  @NotNull
+  @Getter
+  private final S state;
+
+  /**
+   * the index of the current step.
+   */
+  private int current;
+
+  /**
+   * the count of the visited steps in {@link #history}.
+   */
+  private int depth;
+
+  /**
+   * the ended.
+   */
+  @Getter
+  private volatile boolean ended;
+
+  /**
+   * the indexes of the visited steps.
+   */
+  @NotNull
+  private int[] history = new int[4];
+
+  /**
+   * the input of the current step, {@code null} if the session is paused.
+   */
+  @Nullable
+  private ChatInput<Object, P> input;
+
+  /**
+   * moves the conversation to the previous step.
+   *
+   * @return {@code true} if the conversation has a previous step.
+   */
+  public synchronized boolean back() {
+    if (this.ended || this.depth == 0) {
+      return false;
+    }
+    this.moveTo(this.history[--this.depth], false);
+    return true;
+  }
+
+  /**
+   * ends the conversation with the given reason.
+   *
+   * @param reason the reason to end.
+   */
+  public synchronized void end(@NotNull final EndReason reason) {
+    if (this.ended) {
+      return;
+    }
+    this.ended = true;
+    this.detach();
+    this.conversation.onEnd.accept(this.sender.getWrapped(), this.state, reason);
+  }
+
+  /**
+   * obtains the ids of the visited steps, the last one is the current step.
+   *
+   * @return the path of the conversation.
+   *
+   * @see Conversation#resume(ChatPlatform, ChatSender, Object, List)
+   */
+  @NotNull
+  public synchronized List<String> getPath() {
+    final List<String> path = new ArrayList<>(this.depth + 1);
+    for (int index = 0; index < this.depth; index++) {
+      path.add(this.conversation.nodes[this.history[index]].id);
+    }
+    path.add(this.getStepId());
+    return path;
+  }
+
+  /**
+   * obtains the id of the current step.
+   *
+   * @return the id of the current step.
+   */
+  @NotNull
+  public synchronized String getStepId() {
+    return this.conversation.nodes[this.current].id;
+  }
+
+  /**
+   * checks if the session is paused.
+   *
+   * @return {@code true} if the session is paused.
+   */
+  public synchronized boolean isPaused() {
+    return !this.ended && this.input == null;
+  }
+
+  @Override
+  public synchronized void onEnd(@NotNull final ChatInput<Object, P> input, @NotNull final EndReason reason) {
+    if (input != this.input) {
+      return;
+    }
+    this.input = null;
+    final ConversationNode<S, P> node = this.conversation.nodes[this.current];
+    final int target;
+    if (reason == EndReason.FINISH) {
+      final Object value = input.getValue();
+      node.apply.accept(this.state, value);
+      target = node.branch == null ? node.next : this.conversation.indexOf(node.branch.apply(this.state, value));
+    } else {
+      target = node.targets[reason.ordinal()];
+    }
+    switch (target) {
+      case ConversationNode.END:
+        this.end(EndReason.FINISH);
+        break;
+      case ConversationNode.BACK:
+        if (!this.back()) {
+          this.moveTo(this.current, false);
+        }
+        break;
+      case ConversationNode.ABORT:
+        this.end(reason);
+        break;
+      case ConversationNode.UNKNOWN:
+        this.end(EndReason.CUSTOM);
+        break;
+      default:
+        this.moveTo(target, target != this.current);
+    }
+  }
+
+  /**
+   * pauses the conversation, the input of the current step ends silently.
+   *
+   * @see #resume()
+   */
+  public synchronized void pause() {
+    this.detach();
+  }
+
+  /**
+   * resumes the paused conversation from the current step.
+   *
+   * @see #pause()
+   */
+  public synchronized void resume() {
+    if (this.isPaused()) {
+      this.moveTo(this.current, false);
+    }
+  }
+
+  /**
+   * starts the session.
+   *
+   * @param path the indexes of the visited steps, the last one is the step to ask.
+   * @param remaining the ticks left to expire the step to ask, {@code -1} for the expire of the step.
+   * @param attempts the count of the invalid inputs of the step to ask.
+   */
+  synchronized void start(@NotNull final int[] path, final long remaining, final int attempts) {
+    final int last = path.length - 1;
+    if (last > this.history.length) {
+      this.history = Arrays.copyOf(this.history, last);
+    }
+    System.arraycopy(path, 0, this.history, 0, last);
+    this.depth = last;
+    this.moveTo(path[last], false, remaining, attempts);
+  }
+
+  /**
+   * ends the input of the current step without notifying the conversation.
+   */
+  private void detach() {
+    final ChatInput<Object, P> old = this.input;
+    this.input = null;
+    if (old != null) {
+      old.end(this.sender.getWrapped(), EndReason.CUSTOM);
+    }
+  }
+
+  /**
+   * moves the conversation to the given step.
+   *
+   * @param index the index of the step to move.
+   * @param push the push the current step into the history.
+   */
+  private void moveTo(final int index, final boolean push) {
+    this.moveTo(index, push, -1L, 0);
+  }
+
+  /**
+   * moves the conversation to the given step with the given state of the step's input.
+   *
+   * @param index the index of the step to move.
+   * @param push the push the current step into the history.
+   * @param remaining the ticks left to expire the step, {@code -1} for the expire of the step.
+   * @param attempts the count of the invalid inputs of the step.
+   */
+  private void moveTo(final int index, final boolean push, final long remaining, final int attempts) {
+    this.detach();
+    if (push) {
+      if (this.depth == this.history.length) {
+        this.history = Arrays.copyOf(this.history, this.depth * 2);
+      }
+      this.history[this.depth++] = this.current;
+    }
+    this.current = index;
+    final ChatInput<Object, P> next = this.conversation.nodes[index].template.create(this.platform, this.sender, this);
+    this.input = next;
+    next.resume(remaining, attempts);
+  }
+}
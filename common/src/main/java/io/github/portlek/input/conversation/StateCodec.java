@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.conversation;
+
+import java.io.IOException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an interface to determine the codecs that store the states of the conversations.
+ *
+ * @param <S> the state type.
+ *
+ * @see Conversation.Builder#codec(StateCodec)
+ */
+public interface StateCodec<S> {
+
+  /**
+   * decodes the given bytes.
+   *
+   * @param bytes the bytes to decode.
+   *
+   * @return the decoded state.
+   *
+   * @throws IOException if the bytes are not a valid state.
+   */
+  @NotNull
+  S decode(@NotNull byte[] bytes) throws IOException;
+
+  /**
+   * encodes the given state.
+   *
+   * @param state the state to encode.
+   *
+   * @return the encoded bytes.
+   *
+   * @throws IOException if the state could not be encoded.
+   */
+  @NotNull
+  byte[] encode(@NotNull S state) throws IOException;
+}
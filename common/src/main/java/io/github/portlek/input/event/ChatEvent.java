@@ -45,4 +45,17 @@ public interface ChatEvent<P> extends SenderEvent<P> {
    */
   @NotNull
   String getMessage();
+
+  /**
+   * obtains the plain text of the sent message.
+   * <p>
+   * the platforms that send components flatten them into the text without a serializer, so prompts that only look at
+   * the text can read it without creating the string of {@link #getMessage()}.
+   *
+   * @return the plain text of the sent message.
+   */
+  @NotNull
+  default CharSequence getText() {
+    return this.getMessage();
+  }
 }
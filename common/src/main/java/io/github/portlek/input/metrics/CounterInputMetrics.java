@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.metrics;
+
+import io.github.portlek.input.EndReason;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an implementation of {@link InputMetrics} that records into {@link LongAdder}s and {@link LogHistogram}s.
+ * <p>
+ * poll {@link #snapshot()} or export the metrics with {@link MetricsExporter}.
+ */
+public final class CounterInputMetrics implements InputMetrics {
+
+  /**
+   * the timings of the callbacks, indexed by the ordinal of the callback types.
+   */
+  @NotNull
+  private final LogHistogram[] callbacks = new LogHistogram[CallbackType.values().length];
+
+  /**
+   * the counts of the ended inputs, indexed by the ordinal of the end reasons.
+   */
+  @NotNull
+  private final LongAdder[] ended = new LongAdder[EndReason.values().length];
+
+  /**
+   * the timings from the start of the finished inputs to their finish.
+   */
+  @NotNull
+  private final LogHistogram finished = new LogHistogram();
+
+  /**
+   * the count of the invalid inputs.
+   */
+  @NotNull
+  private final LongAdder invalidInputs = new LongAdder();
+
+  /**
+   * the count of the started inputs.
+   */
+  @NotNull
+  private final LongAdder started = new LongAdder();
+
+  /**
+   * ctor.
+   */
+  public CounterInputMetrics() {
+    for (int index = 0; index < this.callbacks.length; index++) {
+      this.callbacks[index] = new LogHistogram();
+    }
+    for (int index = 0; index < this.ended.length; index++) {
+      this.ended[index] = new LongAdder();
+    }
+  }
+
+  @Override
+  public void onCallback(@NotNull final CallbackType type, final long nanos) {
+    this.callbacks[type.ordinal()].record(nanos);
+  }
+
+  @Override
+  public void onEnd(@NotNull final EndReason reason, final long nanos) {
+    this.ended[reason.ordinal()].increment();
+    if (reason == EndReason.FINISH) {
+      this.finished.record(nanos);
+    }
+  }
+
+  @Override
+  public void onInvalidInput() {
+    this.invalidInputs.increment();
+  }
+
+  @Override
+  public void onStart() {
+    this.started.increment();
+  }
+
+  /**
+   * takes a snapshot of the metrics.
+   *
+   * @return a snapshot of the metrics.
+   */
+  @NotNull
+  public MetricsSnapshot snapshot() {
+    final long[] endCounts = new long[this.ended.length];
+    for (int index = 0; index < endCounts.length; index++) {
+      endCounts[index] = this.ended[index].sum();
+    }
+    final HistogramSnapshot[] callbackTimings = new HistogramSnapshot[this.callbacks.length];
+    for (int index = 0; index < callbackTimings.length; index++) {
+      callbackTimings[index] = this.callbacks[index].snapshot();
+    }
+    return new MetricsSnapshot(System.nanoTime(), this.started.sum(), endCounts, this.invalidInputs.sum(),
+      this.finished.snapshot(), callbackTimings);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an immutable snapshot of a {@link LogHistogram}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class HistogramSnapshot {
+
+  /**
+   * the counts of the buckets.
+   */
+  @NotNull
+  private final long[] counts;
+
+  /**
+   * the count of the recorded values.
+   */
+  @Getter
+  private final long count;
+
+  /**
+   * the sum of the recorded values.
+   */
+  @Getter
+  private final long sum;
+
+  /**
+   * the max of the recorded values.
+   */
+  @Getter
+  private final long max;
+
+  /**
+   * obtains the mean of the recorded values.
+   *
+   * @return the mean, {@code 0} if there is no value.
+   */
+  public double getMean() {
+    return this.count == 0L ? 0.0d : (double) this.sum / this.count;
+  }
+
+  /**
+   * obtains the given percentile of the recorded values.
+   * <p>
+   * the result is the lowest value of the bucket that contains the percentile, capped by {@link #max}.
+   *
+   * @param percentile the percentile to get, between {@code 0} and {@code 100}.
+   *
+   * @return the percentile, {@code 0} if there is no value.
+   */
+  public long getPercentile(final double percentile) {
+    if (this.count == 0L) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil(this.count * Math.min(100.0d, percentile) / 100.0d));
+    long seen = 0L;
+    for (int index = 0; index < this.counts.length; index++) {
+      seen += this.counts[index];
+      if (seen >= rank) {
+        return Math.min(LogHistogram.lowerBound(index), this.max);
+      }
+    }
+    return this.max;
+  }
+}
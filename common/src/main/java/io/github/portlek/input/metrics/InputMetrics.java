@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.metrics;
+
+import io.github.portlek.input.EndReason;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an interface to determine the metrics that the chat inputs report to.
+ * <p>
+ * the methods run on the chat thread, so the implementations should record without locking or blocking.
+ *
+ * @see NoopInputMetrics
+ * @see CounterInputMetrics
+ */
+public interface InputMetrics {
+
+  /**
+   * records a user callback.
+   *
+   * @param type the type of the callback.
+   * @param nanos the nanoseconds that the callback took.
+   */
+  void onCallback(@NotNull CallbackType type, long nanos);
+
+  /**
+   * records an ended input.
+   *
+   * @param reason the reason that the input ended.
+   * @param nanos the nanoseconds from the start of the input to its end.
+   */
+  void onEnd(@NotNull EndReason reason, long nanos);
+
+  /**
+   * records an invalid input.
+   */
+  void onInvalidInput();
+
+  /**
+   * records a started input.
+   */
+  void onStart();
+}
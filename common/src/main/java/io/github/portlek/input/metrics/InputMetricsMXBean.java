@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.metrics;
+
+import java.util.Map;
+
+/**
+ * an interface to determine the JMX view of a {@link CounterInputMetrics}.
+ *
+ * @see MetricsExporter
+ */
+public interface InputMetricsMXBean {
+
+  /**
+   * obtains the count of the inputs that are started and not ended.
+   *
+   * @return the count of the active inputs.
+   */
+  long getActiveSessions();
+
+  /**
+   * obtains the 99th percentile of the timings of the callbacks, in microseconds.
+   *
+   * @return the 99th percentile of the callbacks by their types.
+   */
+  Map<String, Long> getCallbackP99Micros();
+
+  /**
+   * obtains the counts of the ended inputs.
+   *
+   * @return the counts of the ended inputs by their reasons.
+   */
+  Map<String, Long> getEndCounts();
+
+  /**
+   * obtains the count of the invalid inputs.
+   *
+   * @return the count of the invalid inputs.
+   */
+  long getInvalidInputs();
+
+  /**
+   * obtains the count of the started inputs.
+   *
+   * @return the count of the started inputs.
+   */
+  long getStarted();
+
+  /**
+   * obtains the started inputs per second since the previous call.
+   *
+   * @return the started inputs per second.
+   */
+  double getStartsPerSecond();
+
+  /**
+   * obtains the median of the timings from the start of the finished inputs to their finish, in milliseconds.
+   *
+   * @return the median time to finish.
+   */
+  long getTimeToFinishP50Millis();
+
+  /**
+   * obtains the 99th percentile of the timings from the start of the finished inputs to their finish, in
+   * milliseconds.
+   *
+   * @return the 99th percentile of the time to finish.
+   */
+  long getTimeToFinishP99Millis();
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a fixed memory histogram of non-negative values.
+ * <p>
+ * each power of two range is split into {@value #SUB_BUCKETS} buckets, so a bucket's bounds are within 12.5% of its
+ * values. the buckets are {@link LongAdder}s, so recording does not contend between threads.
+ */
+public final class LogHistogram {
+
+  /**
+   * the count of the buckets.
+   */
+  static final int BUCKETS = (Long.SIZE - LogHistogram.SUB_BITS + 1) * LogHistogram.SUB_BUCKETS;
+
+  /**
+   * the bits of the sub buckets.
+   */
+  private static final int SUB_BITS = 3;
+
+  /**
+   * the count of the sub buckets per power of two.
+   */
+  private static final int SUB_BUCKETS = 1 << LogHistogram.SUB_BITS;
+
+  /**
+   * the buckets.
+   */
+  @NotNull
+  private final LongAdder[] buckets = new LongAdder[LogHistogram.BUCKETS];
+
+  /**
+   * the max.
+   */
+  @NotNull
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+  /**
+   * the sum.
+   */
+  @NotNull
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * ctor.
+   */
+  public LogHistogram() {
+    for (int index = 0; index < this.buckets.length; index++) {
+      this.buckets[index] = new LongAdder();
+    }
+  }
+
+  /**
+   * obtains the index of the bucket of the given value.
+   *
+   * @param value the value to get.
+   *
+   * @return the index of the bucket.
+   */
+  static int indexOf(final long value) {
+    if (value < LogHistogram.SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    final int sub = (int) (value >>> exponent - LogHistogram.SUB_BITS) & LogHistogram.SUB_BUCKETS - 1;
+    return (exponent - LogHistogram.SUB_BITS + 1) * LogHistogram.SUB_BUCKETS + sub;
+  }
+
+  /**
+   * obtains the lowest value of the bucket of the given index.
+   *
+   * @param index the index to get.
+   *
+   * @return the lowest value of the bucket.
+   */
+  static long lowerBound(final int index) {
+    if (index < LogHistogram.SUB_BUCKETS) {
+      return index;
+    }
+    final int exponent = index / LogHistogram.SUB_BUCKETS + LogHistogram.SUB_BITS - 1;
+    final long sub = index % LogHistogram.SUB_BUCKETS;
+    return LogHistogram.SUB_BUCKETS + sub << exponent - LogHistogram.SUB_BITS;
+  }
+
+  /**
+   * records the given value, the negative values are recorded as {@code 0}.
+   *
+   * @param value the value to record.
+   */
+  public void record(final long value) {
+    final long positive = Math.max(0L, value);
+    this.buckets[LogHistogram.indexOf(positive)].increment();
+    this.sum.add(positive);
+    this.max.accumulate(positive);
+  }
+
+  /**
+   * takes a snapshot of the histogram.
+   * <p>
+   * the snapshot is not atomic, the values that are recorded while it is taken may be missing from some of its
+   * fields.
+   *
+   * @return a snapshot of the histogram.
+   */
+  @NotNull
+  public HistogramSnapshot snapshot() {
+    final long[] counts = new long[this.buckets.length];
+    long count = 0L;
+    for (int index = 0; index < counts.length; index++) {
+      counts[index] = this.buckets[index].sum();
+      count += counts[index];
+    }
+    return new HistogramSnapshot(counts, count, this.sum.sum(), this.max.get());
+  }
+}
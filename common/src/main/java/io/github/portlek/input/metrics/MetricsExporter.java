@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.metrics;
+
+import io.github.portlek.input.EndReason;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that exports a {@link CounterInputMetrics} as a JMX MBean.
+ */
+public final class MetricsExporter implements InputMetricsMXBean {
+
+  /**
+   * the metrics.
+   */
+  @NotNull
+  private final CounterInputMetrics metrics;
+
+  /**
+   * the snapshot of the previous {@link #getStartsPerSecond()} call.
+   */
+  @NotNull
+  private final AtomicReference<MetricsSnapshot> previous;
+
+  /**
+   * ctor.
+   *
+   * @param metrics the metrics.
+   */
+  private MetricsExporter(@NotNull final CounterInputMetrics metrics) {
+    this.metrics = metrics;
+    this.previous = new AtomicReference<>(metrics.snapshot());
+  }
+
+  /**
+   * registers the given metrics to the platform MBean server.
+   *
+   * @param metrics the metrics to register.
+   * @param name the name to register, such as the plugin's name.
+   *
+   * @return the name of the registered MBean.
+   *
+   * @throws IllegalStateException if the MBean could not be registered.
+   */
+  @NotNull
+  public static ObjectName register(@NotNull final CounterInputMetrics metrics, @NotNull final String name) {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      final ObjectName objectName = new ObjectName("io.github.portlek.input", "name", ObjectName.quote(name));
+      server.registerMBean(new MetricsExporter(metrics), objectName);
+      return objectName;
+    } catch (final JMException e) {
+      throw new IllegalStateException(String.format("could not register the metrics of %s!", name), e);
+    }
+  }
+
+  /**
+   * unregisters the given MBean from the platform MBean server, does nothing if it is not registered.
+   *
+   * @param objectName the name to unregister.
+   */
+  public static void unregister(@NotNull final ObjectName objectName) {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (final JMException ignored) {
+      // the MBean is unregistered by an other thread.
+    }
+  }
+
+  @Override
+  public long getActiveSessions() {
+    return this.metrics.snapshot().getActive();
+  }
+
+  @Override
+  public Map<String, Long> getCallbackP99Micros() {
+    final MetricsSnapshot snapshot = this.metrics.snapshot();
+    final Map<String, Long> timings = new LinkedHashMap<>();
+    for (final CallbackType type : CallbackType.values()) {
+      timings.put(type.name(), TimeUnit.NANOSECONDS.toMicros(snapshot.getCallback(type).getPercentile(99.0d)));
+    }
+    return timings;
+  }
+
+  @Override
+  public Map<String, Long> getEndCounts() {
+    final MetricsSnapshot snapshot = this.metrics.snapshot();
+    final Map<String, Long> counts = new LinkedHashMap<>();
+    for (final EndReason reason : EndReason.values()) {
+      counts.put(reason.name(), snapshot.getEnded(reason));
+    }
+    return counts;
+  }
+
+  @Override
+  public long getInvalidInputs() {
+    return this.metrics.snapshot().getInvalidInputs();
+  }
+
+  @Override
+  public long getStarted() {
+    return this.metrics.snapshot().getStarted();
+  }
+
+  @Override
+  public double getStartsPerSecond() {
+    final MetricsSnapshot current = this.metrics.snapshot();
+    return current.getStartsPerSecond(this.previous.getAndSet(current));
+  }
+
+  @Override
+  public long getTimeToFinishP50Millis() {
+    return TimeUnit.NANOSECONDS.toMillis(this.metrics.snapshot().getTimeToFinish().getPercentile(50.0d));
+  }
+
+  @Override
+  public long getTimeToFinishP99Millis() {
+    return TimeUnit.NANOSECONDS.toMillis(this.metrics.snapshot().getTimeToFinish().getPercentile(99.0d));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.metrics;
+
+import io.github.portlek.input.EndReason;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an immutable snapshot of a {@link CounterInputMetrics}.
+ * <p>
+ * the rates are calculated between two snapshots, see {@link #getStartsPerSecond(MetricsSnapshot)}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class MetricsSnapshot {
+
+  /**
+   * the {@link System#nanoTime()} that the snapshot is taken at.
+   */
+  @Getter
+  private final long time;
+
+  /**
+   * the count of the started inputs.
+   */
+  @Getter
+  private final long started;
+
+  /**
+   * the counts of the ended inputs, indexed by the ordinal of the end reasons.
+   */
+  @NotNull
+  private final long[] ended;
+
+  /**
+   * the count of the invalid inputs.
+   */
+  @Getter
+  private final long invalidInputs;
+
+  /**
+   * the timings from the start of the finished inputs to their finish, in nanoseconds.
+   */
+  @NotNull
+  @Getter
+  private final HistogramSnapshot timeToFinish;
+
+  /**
+   * the timings of the callbacks, indexed by the ordinal of the callback types.
+   */
+  @NotNull
+  private final HistogramSnapshot[] callbacks;
+
+  /**
+   * obtains the count of the inputs that are started and not ended.
+   *
+   * @return the count of the active inputs.
+   */
+  public long getActive() {
+    return this.started - this.getEnded();
+  }
+
+  /**
+   * obtains the timings of the given callback, in nanoseconds.
+   *
+   * @param type the type to get.
+   *
+   * @return the timings of the callback.
+   */
+  @NotNull
+  public HistogramSnapshot getCallback(@NotNull final CallbackType type) {
+    return this.callbacks[type.ordinal()];
+  }
+
+  /**
+   * obtains the count of the ended inputs.
+   *
+   * @return the count of the ended inputs.
+   */
+  public long getEnded() {
+    return Arrays.stream(this.ended).sum();
+  }
+
+  /**
+   * obtains the count of the inputs that ended with the given reason.
+   *
+   * @param reason the reason to get.
+   *
+   * @return the count of the inputs that ended with the reason.
+   */
+  public long getEnded(@NotNull final EndReason reason) {
+    return this.ended[reason.ordinal()];
+  }
+
+  /**
+   * calculates the started inputs per second since the given previous snapshot.
+   *
+   * @param previous the previous snapshot to calculate.
+   *
+   * @return the started inputs per second, {@code 0} if the snapshots are taken at the same time.
+   */
+  public double getStartsPerSecond(@NotNull final MetricsSnapshot previous) {
+    final long elapsed = this.time - previous.time;
+    if (elapsed <= 0L) {
+      return 0.0d;
+    }
+    return (double) (this.started - previous.started) * TimeUnit.SECONDS.toNanos(1L) / elapsed;
+  }
+}
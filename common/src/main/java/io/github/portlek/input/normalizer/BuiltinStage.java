@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.normalizer;
+
+import java.text.Normalizer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an enum class that contains the built-in {@link NormalizationStage}s.
+ */
+public enum BuiltinStage implements NormalizationStage {
+  /**
+   * removes the leading and the trailing whitespaces.
+   */
+  TRIM {
+    @Override
+    public boolean apply(@NotNull final StringBuilder buffer) {
+      int end = buffer.length();
+      while (end > 0 && Character.isWhitespace(buffer.charAt(end - 1))) {
+        end--;
+      }
+      int start = 0;
+      while (start < end && Character.isWhitespace(buffer.charAt(start))) {
+        start++;
+      }
+      if (start == 0 && end == buffer.length()) {
+        return false;
+      }
+      buffer.setLength(end);
+      buffer.delete(0, start);
+      return true;
+    }
+  },
+  /**
+   * removes the legacy color and format codes that start with the section sign or {@code &}.
+   */
+  STRIP_LEGACY_COLORS {
+    @Override
+    public boolean apply(@NotNull final StringBuilder buffer) {
+      final int length = buffer.length();
+      int write = 0;
+      for (int read = 0; read < length; read++) {
+        final char character = buffer.charAt(read);
+        if ((character == '\u00a7' || character == '&') && read + 1 < length &&
+          BuiltinStage.isLegacyCode(buffer.charAt(read + 1))) {
+          read++;
+          continue;
+        }
+        buffer.setCharAt(write++, character);
+      }
+      if (write == length) {
+        return false;
+      }
+      buffer.setLength(write);
+      return true;
+    }
+  },
+  /**
+   * replaces each run of whitespaces with a single space.
+   */
+  COLLAPSE_WHITESPACE {
+    @Override
+    public boolean apply(@NotNull final StringBuilder buffer) {
+      final int length = buffer.length();
+      int write = 0;
+      boolean changed = false;
+      boolean whitespace = false;
+      for (int read = 0; read < length; read++) {
+        final char character = buffer.charAt(read);
+        if (Character.isWhitespace(character)) {
+          if (whitespace) {
+            changed = true;
+            continue;
+          }
+          whitespace = true;
+          changed |= character != ' ';
+          buffer.setCharAt(write++, ' ');
+        } else {
+          whitespace = false;
+          buffer.setCharAt(write++, character);
+        }
+      }
+      buffer.setLength(write);
+      return changed;
+    }
+  },
+  /**
+   * converts the text to the Unicode normalization form C.
+   * <p>
+   * the text is copied only if it is not normalized already.
+   */
+  NFC {
+    @Override
+    public boolean apply(@NotNull final StringBuilder buffer) {
+      if (Normalizer.isNormalized(buffer, Normalizer.Form.NFC)) {
+        return false;
+      }
+      final String normalized = Normalizer.normalize(buffer, Normalizer.Form.NFC);
+      buffer.setLength(0);
+      buffer.append(normalized);
+      return true;
+    }
+  };
+
+  /**
+   * checks if the given character is a legacy color or format code.
+   *
+   * @param code the code to check.
+   *
+   * @return {@code true} if the character is a legacy code.
+   */
+  private static boolean isLegacyCode(final char code) {
+    return code >= '0' && code <= '9' || code >= 'a' && code <= 'f' || code >= 'A' && code <= 'F' ||
+      code >= 'k' && code <= 'o' || code >= 'K' && code <= 'O' || code == 'r' || code == 'R' ||
+      code == 'x' || code == 'X';
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.normalizer;
+
+import io.github.portlek.input.parser.IgnoreCaseIndex;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an immutable matcher that checks the inputs against a set of cancel keywords.
+ * <p>
+ * the keywords are case folded once, so a localized prompt can accept several keywords without checking them one by
+ * one.
+ */
+public final class CancelMatcher {
+
+  /**
+   * the index.
+   */
+  @NotNull
+  private final IgnoreCaseIndex<Boolean> index;
+
+  /**
+   * the keywords.
+   */
+  @NotNull
+  private final String[] keywords;
+
+  /**
+   * ctor.
+   *
+   * @param keywords the keywords.
+   */
+  public CancelMatcher(@NotNull final String... keywords) {
+    this.keywords = keywords.clone();
+    final Map<String, Boolean> entries = new HashMap<>();
+    for (final String keyword : this.keywords) {
+      entries.put(keyword, Boolean.TRUE);
+    }
+    this.index = new IgnoreCaseIndex<>(entries);
+  }
+
+  /**
+   * obtains the keywords.
+   *
+   * @return the keywords.
+   */
+  @NotNull
+  public String[] getKeywords() {
+    return this.keywords.clone();
+  }
+
+  /**
+   * checks if the given input is one of the keywords.
+   *
+   * @param input the input to check.
+   *
+   * @return {@code true} if the input is a cancel keyword.
+   */
+  public boolean matches(@NotNull final CharSequence input) {
+    return this.index.contains(input);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(this.keywords);
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.normalizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an immutable pipeline that normalizes the chat inputs before the cancel keywords, the parsers and the validators see
+ * them.
+ * <p>
+ * the pipeline is compiled once per prompt definition. the stages edit a thread local buffer in place and the result
+ * is created once at the end, if none of the stages changes the input, the input itself is returned.
+ */
+public final class InputNormalizer {
+
+  /**
+   * the normalizer that returns the inputs as they are.
+   */
+  public static final InputNormalizer NONE = new InputNormalizer(new NormalizationStage[0], Integer.MAX_VALUE);
+
+  /**
+   * the buffers.
+   */
+  private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  /**
+   * the max length.
+   */
+  private final int maxLength;
+
+  /**
+   * the stages.
+   */
+  @NotNull
+  private final NormalizationStage[] stages;
+
+  /**
+   * ctor.
+   *
+   * @param stages the stages.
+   * @param maxLength the max length.
+   */
+  private InputNormalizer(@NotNull final NormalizationStage[] stages, final int maxLength) {
+    this.stages = stages.clone();
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * creates a new normalizer builder.
+   *
+   * @return a newly created normalizer builder.
+   */
+  @NotNull
+  public static InputNormalizer.Builder builder() {
+    return new InputNormalizer.Builder();
+  }
+
+  /**
+   * creates the default normalizer that trims, strips the legacy colors, collapses the whitespaces and converts the
+   * input to NFC.
+   *
+   * @param maxLength the max length of the normalized inputs.
+   *
+   * @return a newly created normalizer.
+   */
+  @NotNull
+  public static InputNormalizer defaults(final int maxLength) {
+    return InputNormalizer.builder()
+      .trim()
+      .stripLegacyColors()
+      .collapseWhitespace()
+      .nfc()
+      .maxLength(maxLength)
+      .build();
+  }
+
+  /**
+   * normalizes the given input.
+   *
+   * @param input the input to normalize.
+   *
+   * @return the normalized input, {@code null} if the input is longer than the max length.
+   */
+  @Nullable
+  public String normalize(@NotNull final CharSequence input) {
+    if (this.stages.length == 0) {
+      return input.length() > this.maxLength ? null : input.toString();
+    }
+    final StringBuilder buffer = InputNormalizer.BUFFERS.get();
+    buffer.setLength(0);
+    buffer.append(input);
+    boolean changed = false;
+    for (final NormalizationStage stage : this.stages) {
+      changed |= stage.apply(buffer);
+    }
+    if (buffer.length() > this.maxLength) {
+      return null;
+    }
+    if (!changed) {
+      return input.toString();
+    }
+    return buffer.toString();
+  }
+
+  /**
+   * a class that represents normalizer builders.
+   */
+  public static final class Builder {
+
+    /**
+     * the stages.
+     */
+    private final Collection<NormalizationStage> stages = new ArrayList<>();
+
+    /**
+     * the max length.
+     */
+    private int maxLength = Integer.MAX_VALUE;
+
+    /**
+     * ctor.
+     */
+    private Builder() {
+    }
+
+    /**
+     * builds the normalizer.
+     *
+     * @return a newly created normalizer.
+     */
+    @NotNull
+    public InputNormalizer build() {
+      return new InputNormalizer(this.stages.toArray(new NormalizationStage[0]), this.maxLength);
+    }
+
+    /**
+     * adds {@link BuiltinStage#COLLAPSE_WHITESPACE}.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public InputNormalizer.Builder collapseWhitespace() {
+      return this.stage(BuiltinStage.COLLAPSE_WHITESPACE);
+    }
+
+    /**
+     * sets the max length of the normalized inputs.
+     *
+     * @param maxLength the max length to set.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public InputNormalizer.Builder maxLength(final int maxLength) {
+      if (maxLength < 0) {
+        throw new IllegalArgumentException("max length must not be negative!");
+      }
+      this.maxLength = maxLength;
+      return this;
+    }
+
+    /**
+     * adds {@link BuiltinStage#NFC}.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public InputNormalizer.Builder nfc() {
+      return this.stage(BuiltinStage.NFC);
+    }
+
+    /**
+     * adds the given stage.
+     *
+     * @param stage the stage to add.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public InputNormalizer.Builder stage(@NotNull final NormalizationStage stage) {
+      this.stages.add(stage);
+      return this;
+    }
+
+    /**
+     * adds the given stages.
+     *
+     * @param stages the stages to add.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public InputNormalizer.Builder stages(@NotNull final NormalizationStage... stages) {
+      Collections.addAll(this.stages, stages);
+      return this;
+    }
+
+    /**
+     * adds {@link BuiltinStage#STRIP_LEGACY_COLORS}.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public InputNormalizer.Builder stripLegacyColors() {
+      return this.stage(BuiltinStage.STRIP_LEGACY_COLORS);
+    }
+
+    /**
+     * adds {@link BuiltinStage#TRIM}.
+     *
+     * @return {@code this} for builder chain.
+     */
+    @NotNull
+    public InputNormalizer.Builder trim() {
+      return this.stage(BuiltinStage.TRIM);
+    }
+  }
+}
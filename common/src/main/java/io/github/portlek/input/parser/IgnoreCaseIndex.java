@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.parser;
+
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an immutable index that looks up values by case-insensitive keys.
+ * <p>
+ * the keys are case folded and hashed when the index is created, a lookup hashes the input while folding it char by
+ * char, so it does not allocate a lower case copy of the input.
+ *
+ * @param <V> type of the values.
+ */
+public final class IgnoreCaseIndex<V> {
+
+  /**
+   * the keys.
+   */
+  @NotNull
+  private final String[] keys;
+
+  /**
+   * the mask.
+   */
+  private final int mask;
+
+  /**
+   * the values.
+   */
+  @NotNull
+  private final Object[] values;
+
+  /**
+   * ctor.
+   *
+   * @param entries the entries to index.
+   */
+  public IgnoreCaseIndex(@NotNull final Map<String, V> entries) {
+    final int capacity = Integer.highestOneBit(Math.max(2, entries.size() * 2) - 1) << 1;
+    this.keys = new String[capacity];
+    this.values = new Object[capacity];
+    this.mask = capacity - 1;
+    entries.forEach((key, value) -> {
+      int index = IgnoreCaseIndex.hash(key) & this.mask;
+      while (this.keys[index] != null && !IgnoreCaseIndex.equalsIgnoreCase(this.keys[index], key)) {
+        index = index + 1 & this.mask;
+      }
+      this.keys[index] = key;
+      this.values[index] = value;
+    });
+  }
+
+  /**
+   * checks if the given sequences are equal ignoring the case.
+   *
+   * @param first the first sequence to check.
+   * @param second the second sequence to check.
+   *
+   * @return {@code true} if the sequences are equal ignoring the case.
+   */
+  public static boolean equalsIgnoreCase(@NotNull final CharSequence first, @NotNull final CharSequence second) {
+    final int length = first.length();
+    if (length != second.length()) {
+      return false;
+    }
+    for (int index = 0; index < length; index++) {
+      if (IgnoreCaseIndex.fold(first.charAt(index)) != IgnoreCaseIndex.fold(second.charAt(index))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * folds the case of the given char.
+   *
+   * @param character the character to fold.
+   *
+   * @return the case folded character.
+   */
+  private static char fold(final char character) {
+    return Character.toLowerCase(Character.toUpperCase(character));
+  }
+
+  /**
+   * hashes the given sequence ignoring the case.
+   *
+   * @param sequence the sequence to hash.
+   *
+   * @return the hash of the sequence.
+   */
+  private static int hash(@NotNull final CharSequence sequence) {
+    int hash = 0;
+    for (int index = 0; index < sequence.length(); index++) {
+      hash = 31 * hash + IgnoreCaseIndex.fold(sequence.charAt(index));
+    }
+    return hash ^ hash >>> 16;
+  }
+
+  /**
+   * checks if the given key is indexed.
+   *
+   * @param key the key to check.
+   *
+   * @return {@code true} if the key is indexed.
+   */
+  public boolean contains(@NotNull final CharSequence key) {
+    return this.get(key) != null;
+  }
+
+  /**
+   * obtains the value of the given key.
+   *
+   * @param key the key to get.
+   *
+   * @return the value of the key.
+   */
+  @Nullable
+  public V get(@NotNull final CharSequence key) {
+    int index = IgnoreCaseIndex.hash(key) & this.mask;
+    while (this.keys[index] != null) {
+      if (IgnoreCaseIndex.equalsIgnoreCase(this.keys[index], key)) {
+        //noinspection unchecked
+        return (V) this.values[index];
+      }
+      index = index + 1 & this.mask;
+    }
+    return null;
+  }
+}
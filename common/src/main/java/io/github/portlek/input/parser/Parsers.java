@@ -0,0 +1,393 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.parser;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains the built-in {@link InputParser}s.
+ * <p>
+ * the parsers scan the input once, do not throw and do not allocate on invalid inputs.
+ */
+public final class Parsers {
+
+  /**
+   * the boolean index.
+   */
+  private static final IgnoreCaseIndex<Boolean> BOOLEANS;
+
+  /**
+   * the maximum length of a player name.
+   */
+  private static final int MAX_NAME_LENGTH = 16;
+
+  /**
+   * the minimum length of a player name.
+   */
+  private static final int MIN_NAME_LENGTH = 3;
+
+  static {
+    final Map<String, Boolean> booleans = new HashMap<>();
+    booleans.put("true", Boolean.TRUE);
+    booleans.put("yes", Boolean.TRUE);
+    booleans.put("on", Boolean.TRUE);
+    booleans.put("false", Boolean.FALSE);
+    booleans.put("no", Boolean.FALSE);
+    booleans.put("off", Boolean.FALSE);
+    BOOLEANS = new IgnoreCaseIndex<>(booleans);
+  }
+
+  /**
+   * ctor.
+   */
+  private Parsers() {
+  }
+
+  /**
+   * creates a parser that parses {@code true/false}, {@code yes/no} and {@code on/off} ignoring the case.
+   *
+   * @return a boolean parser.
+   */
+  @NotNull
+  public static InputParser<Boolean> bool() {
+    return Parsers.BOOLEANS::get;
+  }
+
+  /**
+   * creates a parser that parses decimals such as {@code -12.5} in the given range.
+   * <p>
+   * exponents, {@code NaN} and infinities are not accepted.
+   *
+   * @param min the minimum value, inclusive.
+   * @param max the maximum value, inclusive.
+   *
+   * @return a decimal parser.
+   */
+  @NotNull
+  public static InputParser<Double> decimal(final double min, final double max) {
+    return input -> {
+      if (!Parsers.isDecimal(input)) {
+        return null;
+      }
+      final double value = Double.parseDouble(input.toString());
+      return value < min || value > max ? null : value;
+    };
+  }
+
+  /**
+   * creates a parser that parses durations such as {@code 1h30m}, {@code 90s} or {@code 2d 12h} in the given range.
+   * <p>
+   * the units are {@code d}, {@code h}, {@code m}, {@code s} and {@code ms}, ignoring the case.
+   *
+   * @param min the minimum duration, inclusive.
+   * @param max the maximum duration, inclusive.
+   *
+   * @return a duration parser.
+   */
+  @NotNull
+  public static InputParser<Duration> duration(@NotNull final Duration min, @NotNull final Duration max) {
+    final long minMillis = min.toMillis();
+    final long maxMillis = max.toMillis();
+    return input -> {
+      final long millis = Parsers.parseDurationMillis(input);
+      return millis < minMillis || millis > maxMillis ? null : Duration.ofMillis(millis);
+    };
+  }
+
+  /**
+   * creates a parser that parses the constants of the given enum ignoring the case.
+   * <p>
+   * the names are indexed once, {@code -} and spaces in the input are not converted, so the constant names should be
+   * typed as they are.
+   *
+   * @param type the enum type to parse.
+   * @param <E> type of the enum.
+   *
+   * @return an enum parser.
+   */
+  @NotNull
+  public static <E extends Enum<E>> InputParser<E> enumValue(@NotNull final Class<E> type) {
+    final Map<String, E> constants = new HashMap<>();
+    for (final E constant : type.getEnumConstants()) {
+      constants.put(constant.name(), constant);
+    }
+    return new IgnoreCaseIndex<>(constants)::get;
+  }
+
+  /**
+   * creates a parser that parses integers in the given range.
+   *
+   * @param min the minimum value, inclusive.
+   * @param max the maximum value, inclusive.
+   *
+   * @return an integer parser.
+   */
+  @NotNull
+  public static InputParser<Integer> intRange(final int min, final int max) {
+    return input -> {
+      final long value = Parsers.parseLong(input, min, max);
+      return value == Long.MIN_VALUE ? null : (int) value;
+    };
+  }
+
+  /**
+   * creates a parser that parses longs in the given range.
+   * <p>
+   * {@link Long#MIN_VALUE} is not accepted.
+   *
+   * @param min the minimum value, inclusive.
+   * @param max the maximum value, inclusive.
+   *
+   * @return a long parser.
+   */
+  @NotNull
+  public static InputParser<Long> longRange(final long min, final long max) {
+    return input -> {
+      final long value = Parsers.parseLong(input, min, max);
+      return value == Long.MIN_VALUE ? null : value;
+    };
+  }
+
+  /**
+   * creates a parser that accepts Minecraft player names, 3 to 16 letters, digits or underscores.
+   *
+   * @return a player name parser.
+   */
+  @NotNull
+  public static InputParser<String> playerName() {
+    return input -> {
+      final int length = input.length();
+      if (length < Parsers.MIN_NAME_LENGTH || length > Parsers.MAX_NAME_LENGTH) {
+        return null;
+      }
+      for (int index = 0; index < length; index++) {
+        final char character = input.charAt(index);
+        if (!(character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z' ||
+          character >= '0' && character <= '9' || character == '_')) {
+          return null;
+        }
+      }
+      return input.toString();
+    };
+  }
+
+  /**
+   * creates a parser that parses unique ids with or without dashes.
+   *
+   * @return a unique id parser.
+   */
+  @NotNull
+  public static InputParser<UUID> uniqueId() {
+    return Parsers::parseUniqueId;
+  }
+
+  /**
+   * obtains the value of the given hex digit.
+   *
+   * @param character the character to get.
+   *
+   * @return the value of the digit, {@code -1} if the character is not a hex digit.
+   */
+  private static int hex(final char character) {
+    if (character >= '0' && character <= '9') {
+      return character - '0';
+    }
+    if (character >= 'a' && character <= 'f') {
+      return character - 'a' + 10;
+    }
+    if (character >= 'A' && character <= 'F') {
+      return character - 'A' + 10;
+    }
+    return -1;
+  }
+
+  /**
+   * checks if the given input is a plain decimal number.
+   *
+   * @param input the input to check.
+   *
+   * @return {@code true} if the input is a plain decimal number.
+   */
+  private static boolean isDecimal(@NotNull final CharSequence input) {
+    final int length = input.length();
+    int index = 0;
+    if (length > 0 && (input.charAt(0) == '-' || input.charAt(0) == '+')) {
+      index++;
+    }
+    int digits = 0;
+    boolean dot = false;
+    for (; index < length; index++) {
+      final char character = input.charAt(index);
+      if (character >= '0' && character <= '9') {
+        digits++;
+      } else if (character == '.' && !dot) {
+        dot = true;
+      } else {
+        return false;
+      }
+    }
+    return digits > 0;
+  }
+
+  /**
+   * parses the given duration in milliseconds.
+   *
+   * @param input the input to parse.
+   *
+   * @return the duration in milliseconds, {@code -1} if the input is not valid.
+   */
+  private static long parseDurationMillis(@NotNull final CharSequence input) {
+    final int length = input.length();
+    long total = 0L;
+    int index = 0;
+    boolean any = false;
+    while (index < length) {
+      final char first = input.charAt(index);
+      if (first == ' ') {
+        index++;
+        continue;
+      }
+      long amount = 0L;
+      int digits = 0;
+      while (index < length && input.charAt(index) >= '0' && input.charAt(index) <= '9') {
+        amount = amount * 10L + (input.charAt(index) - '0');
+        if (amount > Integer.MAX_VALUE) {
+          return -1L;
+        }
+        digits++;
+        index++;
+      }
+      if (digits == 0 || index == length) {
+        return -1L;
+      }
+      final char unit = Character.toLowerCase(input.charAt(index++));
+      final long multiplier;
+      if (unit == 'm' && index < length && Character.toLowerCase(input.charAt(index)) == 's') {
+        index++;
+        multiplier = 1L;
+      } else if (unit == 's') {
+        multiplier = 1_000L;
+      } else if (unit == 'm') {
+        multiplier = 60_000L;
+      } else if (unit == 'h') {
+        multiplier = 3_600_000L;
+      } else if (unit == 'd') {
+        multiplier = 86_400_000L;
+      } else {
+        return -1L;
+      }
+      total += amount * multiplier;
+      if (total < 0L) {
+        return -1L;
+      }
+      any = true;
+    }
+    return any ? total : -1L;
+  }
+
+  /**
+   * parses the given long in the given range.
+   *
+   * @param input the input to parse.
+   * @param min the minimum value.
+   * @param max the maximum value.
+   *
+   * @return the parsed value, {@link Long#MIN_VALUE} if the input is not valid.
+   */
+  private static long parseLong(@NotNull final CharSequence input, final long min, final long max) {
+    final int length = input.length();
+    if (length == 0 || length > 20) {
+      return Long.MIN_VALUE;
+    }
+    int index = 0;
+    final boolean negative = input.charAt(0) == '-';
+    if (negative || input.charAt(0) == '+') {
+      index++;
+      if (length == 1) {
+        return Long.MIN_VALUE;
+      }
+    }
+    long value = 0L;
+    for (; index < length; index++) {
+      final char character = input.charAt(index);
+      if (character < '0' || character > '9') {
+        return Long.MIN_VALUE;
+      }
+      final int digit = character - '0';
+      if (value > (Long.MAX_VALUE - digit) / 10L) {
+        return Long.MIN_VALUE;
+      }
+      value = value * 10L + digit;
+    }
+    if (negative) {
+      value = -value;
+    }
+    return value < min || value > max ? Long.MIN_VALUE : value;
+  }
+
+  /**
+   * parses the given unique id.
+   *
+   * @param input the input to parse.
+   *
+   * @return the parsed unique id, {@code null} if the input is not valid.
+   */
+  @Nullable
+  private static UUID parseUniqueId(@NotNull final CharSequence input) {
+    final int length = input.length();
+    final boolean dashed = length == 36;
+    if (!dashed && length != 32) {
+      return null;
+    }
+    long most = 0L;
+    long least = 0L;
+    int digits = 0;
+    for (int index = 0; index < length; index++) {
+      final char character = input.charAt(index);
+      if (dashed && (index == 8 || index == 13 || index == 18 || index == 23)) {
+        if (character != '-') {
+          return null;
+        }
+        continue;
+      }
+      final int value = Parsers.hex(character);
+      if (value == -1) {
+        return null;
+      }
+      if (digits < 16) {
+        most = most << 4 | value;
+      } else {
+        least = least << 4 | value;
+      }
+      digits++;
+    }
+    return new UUID(most, least);
+  }
+}
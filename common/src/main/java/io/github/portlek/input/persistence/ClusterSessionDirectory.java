@@ -0,0 +1,309 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a {@link SessionDirectory} that publishes the handed off inputs to the servers of a network by a
+ * {@link SessionTransport}.
+ * <p>
+ * the inputs that are handed off in a tick are sent as one message that contains the compact records of the inputs,
+ * a record is a few dozen bytes for a template and adds the visited steps and the encoded state for a conversation.
+ * each record is addressed to the server that {@link io.github.portlek.input.ChatDispatcher#transfer} names, only that
+ * server keeps the arrived input until its sender joins, or drops it after the time to live, so an input resumes at
+ * most once. the server starts the input with the same deadline and attempts, it does not ask the configuration of
+ * the prompt from the other server.
+ *
+ * @param <P> the input sender type.
+ */
+public final class ClusterSessionDirectory<P> implements SessionDirectory<P> {
+
+  /**
+   * the milliseconds between the drops of the expired inputs.
+   */
+  private static final long PURGE_INTERVAL = 1000L;
+
+  /**
+   * the logger.
+   */
+  private static final Logger LOGGER = Logger.getLogger(ClusterSessionDirectory.class.getName());
+
+  /**
+   * the messages that arrived since the last flush.
+   */
+  @NotNull
+  private final Queue<byte[]> inbox = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the unique id of the directory, which ignores its own messages.
+   */
+  @NotNull
+  @Getter
+  private final UUID node = UUID.randomUUID();
+
+  /**
+   * the records of the inputs that are handed off since the last flush, with the names of their servers.
+   */
+  @NotNull
+  private final Queue<Map.Entry<String, SessionRecord>> outbox = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the arrived inputs that wait for their senders.
+   */
+  @NotNull
+  private final Map<UUID, SessionRecord> parked = new ConcurrentHashMap<>();
+
+  /**
+   * the registry of the templates and the conversations.
+   */
+  @NotNull
+  @Getter
+  private final SessionRegistry<P> registry;
+
+  /**
+   * the name of this server in the network, the records that are addressed to the other servers are ignored.
+   */
+  @NotNull
+  @Getter
+  private final String server;
+
+  /**
+   * the transport.
+   */
+  @NotNull
+  private final SessionTransport transport;
+
+  /**
+   * the milliseconds that the arrived inputs wait for their senders.
+   */
+  private final long ttl;
+
+  /**
+   * the {@link System#currentTimeMillis()} of the last drop of the expired inputs.
+   */
+  private long lastPurge;
+
+  /**
+   * the platform that the arrived inputs start on, {@code null} until the directory is attached.
+   */
+  @Nullable
+  private volatile ChatPlatform<P> platform;
+
+  /**
+   * the function that obtains the online senders, {@code null} until the directory is attached.
+   */
+  @Nullable
+  private volatile Function<UUID, ChatSender<P>> senders;
+
+  /**
+   * ctor.
+   *
+   * @param server the name of this server in the network, the name that the other servers transfer the senders to.
+   * @param transport the transport.
+   * @param registry the registry of the templates and the conversations.
+   * @param ttl the time that the arrived inputs wait for their senders.
+   * @param unit the unit of the time to live.
+   */
+  public ClusterSessionDirectory(@NotNull final String server, @NotNull final SessionTransport transport,
+                                 @NotNull final SessionRegistry<P> registry, final long ttl,
+                                 @NotNull final TimeUnit unit) {
+    this.server = server;
+    this.transport = transport;
+    this.registry = registry;
+    this.ttl = unit.toMillis(ttl);
+    transport.subscribe(this.inbox::add);
+  }
+
+  @Override
+  public void attach(@NotNull final ChatPlatform<P> platform, @NotNull final Function<UUID, ChatSender<P>> senders) {
+    this.platform = platform;
+    this.senders = senders;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UncheckedIOException if the handed off inputs could not be encoded.
+   */
+  @Override
+  public synchronized void flush() {
+    final long now = System.currentTimeMillis();
+    if (!this.outbox.isEmpty()) {
+      try {
+        this.transport.publish(this.encode());
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    byte[] message;
+    while ((message = this.inbox.poll()) != null) {
+      try {
+        this.receive(message);
+      } catch (final IOException e) {
+        ClusterSessionDirectory.LOGGER.log(Level.SEVERE, "could not read a message of the session directory", e);
+      }
+    }
+    if (!this.parked.isEmpty() && now - this.lastPurge >= ClusterSessionDirectory.PURGE_INTERVAL) {
+      this.lastPurge = now;
+      this.parked.values().removeIf(record -> now - record.getWrittenAt() > this.ttl);
+    }
+  }
+
+  @Override
+  public boolean handOff(@NotNull final ChatInput<?, P> input, @NotNull final String server) {
+    if (!SessionRegistry.isStored(input)) {
+      return false;
+    }
+    final SessionRecord record;
+    try {
+      record = SessionRegistry.snapshot(input, System.currentTimeMillis());
+    } catch (final IOException e) {
+      ClusterSessionDirectory.LOGGER.log(Level.SEVERE,
+        String.format("could not hand the input of %s off", input.getSender().getUniqueId()), e);
+      return false;
+    }
+    if (record == null) {
+      return false;
+    }
+    this.outbox.add(new AbstractMap.SimpleImmutableEntry<>(server, record));
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * the arrived input is dropped if it refers to a template, a conversation or a step that is not registered.
+   */
+  @Override
+  public boolean resume(@NotNull final ChatPlatform<P> platform, @NotNull final ChatSender<P> sender) {
+    final SessionRecord record = this.parked.remove(sender.getUniqueId());
+    if (record == null) {
+      return false;
+    }
+    try {
+      return this.registry.start(platform, sender, record);
+    } catch (final IOException | IllegalArgumentException e) {
+      ClusterSessionDirectory.LOGGER.log(Level.SEVERE,
+        String.format("could not resume the input of %s", sender.getUniqueId()), e);
+      return false;
+    }
+  }
+
+  /**
+   * obtains the count of the arrived inputs that wait for their senders.
+   *
+   * @return the count of the waiting inputs.
+   */
+  public int size() {
+    return this.parked.size();
+  }
+
+  /**
+   * encodes the records of {@link #outbox} into one message.
+   *
+   * @return the encoded message.
+   *
+   * @throws IOException if a record could not be encoded.
+   */
+  @NotNull
+  private byte[] encode() throws IOException {
+    final List<Map.Entry<String, SessionRecord>> records = new ArrayList<>();
+    Map.Entry<String, SessionRecord> record;
+    while ((record = this.outbox.poll()) != null) {
+      records.add(record);
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(24 + records.size() * 80);
+    final DataOutputStream output = new DataOutputStream(bytes);
+    output.writeLong(this.node.getMostSignificantBits());
+    output.writeLong(this.node.getLeastSignificantBits());
+    output.writeInt(records.size());
+    for (final Map.Entry<String, SessionRecord> entry : records) {
+      final byte[] payload = entry.getValue().encode();
+      output.writeUTF(entry.getKey());
+      output.writeInt(payload.length);
+      output.write(payload);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * decodes the given message and starts or parks the inputs of it that are addressed to this server.
+   *
+   * @param message the message to decode.
+   *
+   * @throws IOException if the message is not valid.
+   */
+  private void receive(@NotNull final byte[] message) throws IOException {
+    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(message));
+    if (this.node.equals(new UUID(input.readLong(), input.readLong()))) {
+      return;
+    }
+    final int size = input.readInt();
+    final ChatPlatform<P> platform = this.platform;
+    final Function<UUID, ChatSender<P>> senders = this.senders;
+    for (int index = 0; index < size; index++) {
+      final String target = input.readUTF();
+      final byte[] payload = new byte[input.readInt()];
+      input.readFully(payload);
+      if (!this.server.equals(target)) {
+        continue;
+      }
+      final DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+      if (record.readByte() != SessionRecord.PUT) {
+        continue;
+      }
+      final UUID uniqueId = new UUID(record.readLong(), record.readLong());
+      this.parked.put(uniqueId, SessionRecord.read(uniqueId, record));
+      final ChatSender<P> sender = platform == null || senders == null ? null : senders.apply(uniqueId);
+      if (sender != null && platform != null) {
+        this.resume(platform, sender);
+      }
+    }
+  }
+}
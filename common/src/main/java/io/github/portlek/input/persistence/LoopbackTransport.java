@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a {@link SessionTransport} that delivers the messages to the subscribers in the same process.
+ * <p>
+ * the directories that share one loopback transport act as the servers of one network, which is useful to test the
+ * hand off without a proxy.
+ */
+public final class LoopbackTransport implements SessionTransport {
+
+  /**
+   * the count of the published bytes.
+   */
+  @NotNull
+  private final LongAdder bytes = new LongAdder();
+
+  /**
+   * the count of the published messages.
+   */
+  @NotNull
+  private final LongAdder messages = new LongAdder();
+
+  /**
+   * the receivers.
+   */
+  @NotNull
+  private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+
+  /**
+   * obtains the count of the published bytes.
+   *
+   * @return the count of the published bytes.
+   */
+  public long getBytes() {
+    return this.bytes.sum();
+  }
+
+  /**
+   * obtains the count of the published messages.
+   *
+   * @return the count of the published messages.
+   */
+  public long getMessages() {
+    return this.messages.sum();
+  }
+
+  @Override
+  public void publish(@NotNull final byte[] message) {
+    this.messages.increment();
+    this.bytes.add(message.length);
+    this.receivers.forEach(receiver -> receiver.accept(message));
+  }
+
+  @Override
+  public void subscribe(@NotNull final Consumer<byte[]> receiver) {
+    this.receivers.add(receiver);
+  }
+}
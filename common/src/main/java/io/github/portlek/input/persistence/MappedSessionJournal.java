@@ -0,0 +1,712 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.conversation.Conversation;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a {@link SessionJournal} that appends the changes of the active inputs to a memory-mapped file.
+ * <p>
+ * the inputs are marked on the chat thread and written once per tick by {@link #flush()}, each write is a plain
+ * memory copy into the mapped file, so it does not block the tick on the disk and a crash of the process does not
+ * lose the written records. a record is written before its length, a torn record at the end of the file is ignored.
+ * <p>
+ * {@link #open(Path, long, TimeUnit)} reads the file with one sequential pass, keeps the last record of each sender
+ * and rewrites the file with only those records. when the file is full, the mapped region grows in place and the
+ * file is rewritten the same way on a background thread, so the tick does not wait for the disk.
+ * <p>
+ * the remaining ticks of an input are stored when the input changes and when the journal closes, so an input that
+ * resumes after a crash may get the ticks that it had at its last change. the time that the server is down does not
+ * count, and only the active inputs are stored, the queued inputs of a sender are not.
+ *
+ * @param <P> the input sender type.
+ */
+public final class MappedSessionJournal<P> implements SessionJournal<P> {
+
+  /**
+   * the size of the file header.
+   */
+  private static final int HEADER = 8;
+
+  /**
+   * the logger.
+   */
+  private static final Logger LOGGER = Logger.getLogger(MappedSessionJournal.class.getName());
+
+  /**
+   * the magic number of the journal files.
+   */
+  private static final int MAGIC = 0x494e5053;
+
+  /**
+   * the minimum size of the mapped region.
+   */
+  private static final int MIN_CAPACITY = 64 * 1024;
+
+  /**
+   * the size of the length and the checksum before each record.
+   */
+  private static final int RECORD_HEADER = 8;
+
+  /**
+   * the version of the file format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * the thread that rewrites the file when it is full.
+   */
+  @NotNull
+  private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "input-journal-compactor");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * the unique ids of the senders whose inputs changed since the last flush.
+   */
+  @NotNull
+  private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+  /**
+   * the file.
+   */
+  @NotNull
+  private final Path file;
+
+  /**
+   * the stored active inputs.
+   */
+  @NotNull
+  private final Map<UUID, ChatInput<?, P>> live = new ConcurrentHashMap<>();
+
+  /**
+   * the last records of the senders, guarded by {@code this}.
+   */
+  @NotNull
+  private final Map<UUID, SessionRecord> records;
+
+  /**
+   * the registry of the templates and the conversations.
+   */
+  @NotNull
+  @Getter
+  private final SessionRegistry<P> registry;
+
+  /**
+   * the mapped region of the file, {@code null} if the journal is closed.
+   */
+  @Nullable
+  private MappedByteBuffer buffer;
+
+  /**
+   * the channel of the file, {@code null} if the journal is closed.
+   */
+  @Nullable
+  private FileChannel channel;
+
+  /**
+   * the unique ids of the senders whose records changed while the file is rewritten on {@link #compactor},
+   * {@code null} if the file is not being rewritten, guarded by {@code this}.
+   */
+  @Nullable
+  private Set<UUID> compacting;
+
+  /**
+   * ctor.
+   *
+   * @param file the file.
+   * @param registry the registry.
+   * @param records the records that are read from the file.
+   */
+  private MappedSessionJournal(@NotNull final Path file, @NotNull final SessionRegistry<P> registry,
+                               @NotNull final Map<UUID, SessionRecord> records) {
+    this.file = file;
+    this.registry = registry;
+    this.records = records;
+  }
+
+  /**
+   * opens the journal of the given file.
+   *
+   * @param file the file to open, created if it does not exist.
+   * @param maxAge the age that the records older than are dropped.
+   * @param unit the unit of the max age.
+   * @param <P> type of the sender.
+   *
+   * @return an opened journal.
+   *
+   * @throws IOException if the file could not be read or written, or it is not a journal file.
+   */
+  @NotNull
+  public static <P> MappedSessionJournal<P> open(@NotNull final Path file, final long maxAge,
+                                                 @NotNull final TimeUnit unit) throws IOException {
+    return MappedSessionJournal.open(file, new SessionRegistry<>(), maxAge, unit);
+  }
+
+  /**
+   * opens the journal of the given file with the given registry.
+   *
+   * @param file the file to open, created if it does not exist.
+   * @param registry the registry of the templates and the conversations.
+   * @param maxAge the age that the records older than are dropped.
+   * @param unit the unit of the max age.
+   * @param <P> type of the sender.
+   *
+   * @return an opened journal.
+   *
+   * @throws IOException if the file could not be read or written, or it is not a journal file.
+   */
+  @NotNull
+  public static <P> MappedSessionJournal<P> open(@NotNull final Path file, @NotNull final SessionRegistry<P> registry,
+                                                 final long maxAge, @NotNull final TimeUnit unit)
+    throws IOException {
+    final Map<UUID, SessionRecord> records = MappedSessionJournal.read(file);
+    final long oldest = System.currentTimeMillis() - unit.toMillis(maxAge);
+    records.values().removeIf(record -> record.getWrittenAt() < oldest);
+    final MappedSessionJournal<P> journal = new MappedSessionJournal<>(file, registry, records);
+    journal.compact();
+    return journal;
+  }
+
+  /**
+   * reads the last records of the senders from the given file.
+   *
+   * @param file the file to read.
+   *
+   * @return the last records of the senders.
+   *
+   * @throws IOException if the file could not be read or it is not a journal file.
+   */
+  @NotNull
+  private static Map<UUID, SessionRecord> read(@NotNull final Path file) throws IOException {
+    final Map<UUID, SessionRecord> records = new HashMap<>();
+    if (!Files.exists(file)) {
+      return records;
+    }
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < MappedSessionJournal.HEADER) {
+        return records;
+      }
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+      if (buffer.getInt() != MappedSessionJournal.MAGIC || buffer.getInt() != MappedSessionJournal.VERSION) {
+        throw new IOException(String.format("%s is not a session journal!", file));
+      }
+      final CRC32 crc = new CRC32();
+      while (buffer.remaining() >= MappedSessionJournal.RECORD_HEADER) {
+        final int length = buffer.getInt();
+        final int checksum = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+          break;
+        }
+        final byte[] payload = new byte[length];
+        buffer.get(payload);
+        crc.reset();
+        crc.update(payload, 0, length);
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        final byte kind = input.readByte();
+        final UUID uniqueId = new UUID(input.readLong(), input.readLong());
+        if (kind == SessionRecord.PUT) {
+          records.put(uniqueId, SessionRecord.read(uniqueId, input));
+        } else {
+          records.remove(uniqueId);
+        }
+      }
+    }
+    return records;
+  }
+
+  /**
+   * frames the given payloads with their lengths and checksums.
+   *
+   * @param payloads the payloads to frame.
+   * @param header {@code true} to start with the file header.
+   *
+   * @return the framed payloads, ready to be written.
+   */
+  @NotNull
+  private static ByteBuffer frame(@NotNull final List<byte[]> payloads, final boolean header) {
+    int size = header ? MappedSessionJournal.HEADER : 0;
+    for (final byte[] payload : payloads) {
+      size += MappedSessionJournal.RECORD_HEADER + payload.length;
+    }
+    final ByteBuffer bytes = ByteBuffer.allocate(size);
+    if (header) {
+      bytes.putInt(MappedSessionJournal.MAGIC);
+      bytes.putInt(MappedSessionJournal.VERSION);
+    }
+    final CRC32 crc = new CRC32();
+    for (final byte[] payload : payloads) {
+      crc.reset();
+      crc.update(payload, 0, payload.length);
+      bytes.putInt(payload.length);
+      bytes.putInt((int) crc.getValue());
+      bytes.put(payload);
+    }
+    bytes.flip();
+    return bytes;
+  }
+
+  /**
+   * releases the given mapped region at once instead of when it is garbage collected.
+   * <p>
+   * Windows does not replace a file that still has a mapped region, the region is left to the garbage collector if
+   * the runtime does not let it be released.
+   *
+   * @param buffer the buffer to release, it must not be used after this call.
+   */
+  private static void unmap(@NotNull final MappedByteBuffer buffer) {
+    try {
+      final Class<?> unsafe = Class.forName("sun.misc.Unsafe");
+      final Field field = unsafe.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      unsafe.getMethod("invokeCleaner", ByteBuffer.class).invoke(field.get(null), buffer);
+    } catch (final NoSuchMethodException e) {
+      // Java 8 has no invokeCleaner, the buffer has its own cleaner.
+      try {
+        final Method method = buffer.getClass().getMethod("cleaner");
+        method.setAccessible(true);
+        final Object cleaner = method.invoke(buffer);
+        if (cleaner != null) {
+          cleaner.getClass().getMethod("clean").invoke(cleaner);
+        }
+      } catch (final ReflectiveOperationException | RuntimeException ex) {
+        MappedSessionJournal.LOGGER.log(Level.FINE, "could not unmap a session journal", ex);
+      }
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      MappedSessionJournal.LOGGER.log(Level.FINE, "could not unmap a session journal", e);
+    }
+  }
+
+  /**
+   * writes the given bytes to the given file and forces them to the disk.
+   *
+   * @param file the file to write.
+   * @param bytes the bytes to write.
+   * @param append {@code true} to append to the file, {@code false} to replace its content.
+   *
+   * @return the size of the file after the write.
+   *
+   * @throws IOException if the file could not be written.
+   */
+  private static long write(@NotNull final Path file, @NotNull final ByteBuffer bytes, final boolean append)
+    throws IOException {
+    try (final FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (bytes.hasRemaining()) {
+        out.write(bytes);
+      }
+      out.force(true);
+      return out.size();
+    }
+  }
+
+  /**
+   * waits for a running rewrite, then writes the current state of the active inputs and closes the file.
+   *
+   * @throws IOException if the file could not be written.
+   */
+  @Override
+  public void close() throws IOException {
+    this.compactor.shutdown();
+    try {
+      if (!this.compactor.awaitTermination(30L, TimeUnit.SECONDS)) {
+        MappedSessionJournal.LOGGER.warning("the session journal is closed before its rewrite completes");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (this) {
+      if (this.buffer == null) {
+        return;
+      }
+      this.dirty.addAll(this.live.keySet());
+      try {
+        this.flush();
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      } finally {
+        final MappedByteBuffer buffer = this.buffer;
+        final FileChannel channel = this.channel;
+        this.buffer = null;
+        this.channel = null;
+        if (buffer != null) {
+          buffer.force();
+          MappedSessionJournal.unmap(buffer);
+        }
+        if (channel != null) {
+          channel.close();
+        }
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UncheckedIOException if the file could not be written or a state could not be encoded.
+   */
+  @Override
+  public synchronized void flush() {
+    if (this.dirty.isEmpty() || this.buffer == null) {
+      return;
+    }
+    final long now = System.currentTimeMillis();
+    final Iterator<UUID> iterator = this.dirty.iterator();
+    try {
+      while (iterator.hasNext()) {
+        final UUID uniqueId = iterator.next();
+        iterator.remove();
+        final ChatInput<?, P> input = this.live.get(uniqueId);
+        final SessionRecord record = input == null ? null : SessionRegistry.snapshot(input, now);
+        if (record != null) {
+          this.records.put(uniqueId, record);
+          this.append(record.encode());
+        } else if (this.records.remove(uniqueId) != null) {
+          this.append(SessionRecord.removal(uniqueId));
+        } else {
+          continue;
+        }
+        if (this.compacting != null) {
+          this.compacting.add(uniqueId);
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void onActive(@NotNull final ChatInput<?, P> input) {
+    if (SessionRegistry.isStored(input)) {
+      final UUID uniqueId = input.getSender().getUniqueId();
+      this.live.put(uniqueId, input);
+      this.dirty.add(uniqueId);
+    }
+  }
+
+  @Override
+  public void onChange(@NotNull final ChatInput<?, P> input) {
+    final UUID uniqueId = input.getSender().getUniqueId();
+    if (this.live.get(uniqueId) == input) {
+      this.dirty.add(uniqueId);
+    }
+  }
+
+  @Override
+  public void onEnd(@NotNull final ChatInput<?, P> input) {
+    final UUID uniqueId = input.getSender().getUniqueId();
+    if (this.live.remove(uniqueId, input)) {
+      this.dirty.add(uniqueId);
+    }
+  }
+
+  /**
+   * registers the given conversation in {@link #registry}.
+   *
+   * @param conversation the conversation to register.
+   *
+   * @return {@code this}.
+   *
+   * @throws IllegalArgumentException if the conversation has no id or codec.
+   */
+  @NotNull
+  public MappedSessionJournal<P> register(@NotNull final Conversation<?, P> conversation) {
+    this.registry.register(conversation);
+    return this;
+  }
+
+  /**
+   * registers the given template in {@link #registry}.
+   *
+   * @param template the template to register.
+   *
+   * @return {@code this}.
+   *
+   * @throws IllegalArgumentException if the template has no id.
+   */
+  @NotNull
+  public MappedSessionJournal<P> register(@NotNull final PromptTemplate<?, P> template) {
+    this.registry.register(template);
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * the stored input is dropped if it refers to a template, a conversation or a step that is not registered.
+   */
+  @Override
+  public synchronized boolean resume(@NotNull final ChatPlatform<P> platform, @NotNull final ChatSender<P> sender) {
+    final UUID uniqueId = sender.getUniqueId();
+    final SessionRecord record = this.records.get(uniqueId);
+    if (record == null || this.live.containsKey(uniqueId)) {
+      return false;
+    }
+    try {
+      if (this.registry.start(platform, sender, record)) {
+        return true;
+      }
+    } catch (final IOException | IllegalArgumentException e) {
+      // the record does not match the registered conversation anymore.
+    }
+    this.dirty.add(uniqueId);
+    return false;
+  }
+
+  /**
+   * obtains the count of the stored inputs.
+   *
+   * @return the count of the stored inputs, including the ones that wait for their senders to resume.
+   */
+  public synchronized int size() {
+    return this.records.size();
+  }
+
+  /**
+   * appends the given payload to the file.
+   * <p>
+   * the mapped region grows if the payload does not fit, and the file is rewritten on {@link #compactor}.
+   *
+   * @param payload the payload to append.
+   *
+   * @throws IOException if the file could not be written.
+   */
+  private void append(@NotNull final byte[] payload) throws IOException {
+    MappedByteBuffer buffer = this.buffer;
+    if (buffer == null) {
+      return;
+    }
+    if (buffer.remaining() < payload.length + MappedSessionJournal.RECORD_HEADER) {
+      buffer = this.grow(payload.length + MappedSessionJournal.RECORD_HEADER);
+      this.compactLater();
+    }
+    final CRC32 crc = new CRC32();
+    crc.update(payload, 0, payload.length);
+    final int position = buffer.position();
+    buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+    buffer.position(position + MappedSessionJournal.RECORD_HEADER);
+    buffer.put(payload);
+    buffer.putInt(position, payload.length);
+  }
+
+  /**
+   * rewrites the file with only {@link #records} and maps the rewritten file.
+   *
+   * @throws IOException if the file could not be written.
+   */
+  private void compact() throws IOException {
+    final List<byte[]> payloads = new ArrayList<>(this.records.size());
+    for (final SessionRecord record : this.records.values()) {
+      payloads.add(record.encode());
+    }
+    final Path parent = this.file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    final Path temp = this.temp();
+    this.replace(temp, MappedSessionJournal.write(temp, MappedSessionJournal.frame(payloads, true), false));
+  }
+
+  /**
+   * rewrites the file with the given snapshot of {@link #records} on {@link #compactor}.
+   * <p>
+   * the records that change during the rewrite are appended to the rewritten file before it replaces the file.
+   *
+   * @param snapshot the records to write.
+   */
+  private void compact(@NotNull final List<SessionRecord> snapshot) {
+    try {
+      final List<byte[]> payloads = new ArrayList<>(snapshot.size());
+      for (final SessionRecord record : snapshot) {
+        payloads.add(record.encode());
+      }
+      final Path temp = this.temp();
+      MappedSessionJournal.write(temp, MappedSessionJournal.frame(payloads, true), false);
+      synchronized (this) {
+        final Set<UUID> changed = this.compacting;
+        this.compacting = null;
+        if (this.buffer == null || changed == null) {
+          Files.deleteIfExists(temp);
+          return;
+        }
+        final List<byte[]> later = new ArrayList<>(changed.size());
+        for (final UUID uniqueId : changed) {
+          final SessionRecord record = this.records.get(uniqueId);
+          later.add(record == null ? SessionRecord.removal(uniqueId) : record.encode());
+        }
+        this.replace(temp, MappedSessionJournal.write(temp, MappedSessionJournal.frame(later, false), true));
+      }
+    } catch (final IOException e) {
+      synchronized (this) {
+        this.compacting = null;
+      }
+      MappedSessionJournal.LOGGER.log(Level.SEVERE, String.format("could not rewrite %s", this.file), e);
+    }
+  }
+
+  /**
+   * starts to rewrite the file on {@link #compactor} unless it is already being rewritten.
+   */
+  private void compactLater() {
+    if (this.compacting != null) {
+      return;
+    }
+    this.compacting = new HashSet<>();
+    final List<SessionRecord> snapshot = new ArrayList<>(this.records.values());
+    try {
+      this.compactor.execute(() -> this.compact(snapshot));
+    } catch (final RejectedExecutionException e) {
+      // the journal is closing, it writes the records without a rewrite.
+      this.compacting = null;
+    }
+  }
+
+  /**
+   * maps a larger region of the file that has room for the given bytes after the current position.
+   *
+   * @param needed the bytes to make room for.
+   *
+   * @return the larger region.
+   *
+   * @throws IOException if the file could not be mapped.
+   */
+  @NotNull
+  private MappedByteBuffer grow(final int needed) throws IOException {
+    final MappedByteBuffer old = this.buffer;
+    final FileChannel channel = this.channel;
+    if (old == null || channel == null) {
+      throw new IOException("the journal is closed!");
+    }
+    final int position = old.position();
+    final MappedByteBuffer grown = channel.map(FileChannel.MapMode.READ_WRITE, 0L,
+      Math.max(MappedSessionJournal.MIN_CAPACITY, (position + (long) needed) * 2L));
+    grown.position(position);
+    this.buffer = grown;
+    MappedSessionJournal.unmap(old);
+    return grown;
+  }
+
+  /**
+   * maps the given region of the file.
+   *
+   * @param capacity the size of the region.
+   * @param position the position to append at.
+   *
+   * @throws IOException if the file could not be mapped.
+   */
+  private void map(final long capacity, final long position) throws IOException {
+    final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, capacity);
+    buffer.position((int) position);
+    this.channel = channel;
+    this.buffer = buffer;
+  }
+
+  /**
+   * replaces the file with the given rewritten file and maps it.
+   * <p>
+   * the current region is released before the file is replaced, and it is mapped again if the file could not be
+   * replaced.
+   *
+   * @param temp the rewritten file.
+   * @param size the size of the rewritten file.
+   *
+   * @throws IOException if the file could not be replaced or mapped.
+   */
+  private void replace(@NotNull final Path temp, final long size) throws IOException {
+    final MappedByteBuffer old = this.buffer;
+    final FileChannel channel = this.channel;
+    this.buffer = null;
+    this.channel = null;
+    final int position = old == null ? 0 : old.position();
+    final long capacity = old == null ? 0L : old.capacity();
+    if (old != null) {
+      MappedSessionJournal.unmap(old);
+    }
+    if (channel != null) {
+      channel.close();
+    }
+    try {
+      Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      if (old != null) {
+        this.map(capacity, position);
+      }
+      throw e;
+    }
+    this.map(Math.max(MappedSessionJournal.MIN_CAPACITY, size * 2L), size);
+  }
+
+  /**
+   * obtains the file that the rewrites are written to.
+   *
+   * @return the temporary file.
+   */
+  @NotNull
+  private Path temp() {
+    return this.file.resolveSibling(this.file.getFileName() + ".tmp");
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import java.util.UUID;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an interface to determine the directories that hand the active inputs of the quitting senders off to the servers
+ * that the senders join next.
+ * <p>
+ * the dispatcher hands off only the inputs of the senders that {@link io.github.portlek.input.ChatDispatcher#transfer}
+ * marks, the other quitting senders disconnect as usual. {@link #handOff(ChatInput, String)} runs on the quit thread
+ * right before the input ends, so the implementations should take the state of the input there and send it in
+ * {@link #flush()}, which the {@link io.github.portlek.input.ChatDispatcher} calls once per tick.
+ *
+ * @param <P> the input sender type.
+ *
+ * @see ClusterSessionDirectory
+ */
+public interface SessionDirectory<P> {
+
+  /**
+   * attaches the directory to the given platform, so the inputs that arrive for the online senders start at once.
+   *
+   * @param platform the platform to attach.
+   * @param senders the function that obtains the sender of the given unique id, {@code null} if it is offline.
+   */
+  void attach(@NotNull ChatPlatform<P> platform, @NotNull Function<UUID, ChatSender<P>> senders);
+
+  /**
+   * sends the handed off inputs and starts the arrived inputs.
+   */
+  void flush();
+
+  /**
+   * hands the given active input of a quitting sender off to the given server.
+   *
+   * @param input the input to hand off.
+   * @param server the name of the server that the sender moves to.
+   *
+   * @return {@code true} if the input is handed off and should end with
+   *   {@link io.github.portlek.input.EndReason#TRANSFERRED}.
+   */
+  boolean handOff(@NotNull ChatInput<?, P> input, @NotNull String server);
+
+  /**
+   * resumes the arrived input of the given sender.
+   *
+   * @param platform the platform to resume.
+   * @param sender the sender to resume.
+   *
+   * @return {@code true} if an input of the sender arrived and it is started.
+   */
+  boolean resume(@NotNull ChatPlatform<P> platform, @NotNull ChatSender<P> sender);
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import java.io.Closeable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an interface to determine the journals that store the active inputs of a
+ * {@link io.github.portlek.input.ChatDispatcher}, so the inputs survive a restart or a reload.
+ * <p>
+ * the {@code on} methods run on the chat thread while the dispatcher holds its lock, so the implementations should
+ * only mark the input and write the marked inputs in {@link #flush()}, which the dispatcher calls once per tick.
+ *
+ * @param <P> the input sender type.
+ *
+ * @see MappedSessionJournal
+ */
+public interface SessionJournal<P> extends Closeable {
+
+  /**
+   * writes the inputs that changed since the last flush.
+   */
+  void flush();
+
+  /**
+   * marks the given input that became the active input of its sender.
+   *
+   * @param input the input to mark.
+   */
+  void onActive(@NotNull ChatInput<?, P> input);
+
+  /**
+   * marks the given active input whose attempts or deadline changed.
+   *
+   * @param input the input to mark.
+   */
+  void onChange(@NotNull ChatInput<?, P> input);
+
+  /**
+   * marks the given input that is not the active input of its sender anymore.
+   *
+   * @param input the input to mark.
+   */
+  void onEnd(@NotNull ChatInput<?, P> input);
+
+  /**
+   * resumes the stored input of the given sender.
+   *
+   * @param platform the platform to resume.
+   * @param sender the sender to resume.
+   *
+   * @return {@code true} if the sender had a stored input and it is started again.
+   */
+  boolean resume(@NotNull ChatPlatform<P> platform, @NotNull ChatSender<P> sender);
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents the stored state of an active input.
+ * <p>
+ * the inputs of a conversation store the conversation's id, the visited steps and the encoded state of the session,
+ * the other inputs store the id of their template.
+ */
+@Getter
+@RequiredArgsConstructor
+final class SessionRecord {
+
+  /**
+   * the kind of the records that store an input.
+   */
+  static final byte PUT = 1;
+
+  /**
+   * the kind of the records that remove the stored input of a sender.
+   */
+  static final byte REMOVE = 2;
+
+  /**
+   * the unique id of the sender.
+   */
+  @NotNull
+  private final UUID uniqueId;
+
+  /**
+   * the {@link System#currentTimeMillis()} that the record is written at.
+   */
+  private final long writtenAt;
+
+  /**
+   * the ticks left to expire, {@code -1} for the expire of the template.
+   */
+  private final long remaining;
+
+  /**
+   * the count of the invalid inputs.
+   */
+  private final int attempts;
+
+  /**
+   * the id of the template or the conversation.
+   */
+  @NotNull
+  private final String id;
+
+  /**
+   * the ids of the visited steps, {@code null} if the input is not a step of a conversation.
+   */
+  @Nullable
+  private final List<String> path;
+
+  /**
+   * the encoded state of the conversation, {@code null} if the input is not a step of a conversation.
+   */
+  @Nullable
+  private final byte[] state;
+
+  /**
+   * reads the record of the given sender from the given input, after the kind and the unique id of the record.
+   *
+   * @param uniqueId the unique id of the sender.
+   * @param input the input to read.
+   *
+   * @return the read record.
+   *
+   * @throws IOException if the input is not a valid record.
+   */
+  @NotNull
+  static SessionRecord read(@NotNull final UUID uniqueId, @NotNull final DataInput input) throws IOException {
+    final long writtenAt = input.readLong();
+    final long remaining = input.readLong();
+    final int attempts = input.readInt();
+    final String id = input.readUTF();
+    if (!input.readBoolean()) {
+      return new SessionRecord(uniqueId, writtenAt, remaining, attempts, id, null, null);
+    }
+    final int size = input.readUnsignedShort();
+    final List<String> path = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      path.add(input.readUTF());
+    }
+    final byte[] state = new byte[input.readInt()];
+    input.readFully(state);
+    return new SessionRecord(uniqueId, writtenAt, remaining, attempts, id, path, state);
+  }
+
+  /**
+   * encodes the record that removes the stored input of the given sender.
+   *
+   * @param uniqueId the unique id of the sender.
+   *
+   * @return the encoded payload.
+   */
+  @NotNull
+  static byte[] removal(@NotNull final UUID uniqueId) {
+    final byte[] payload = new byte[17];
+    payload[0] = SessionRecord.REMOVE;
+    SessionRecord.putLong(payload, 1, uniqueId.getMostSignificantBits());
+    SessionRecord.putLong(payload, 9, uniqueId.getLeastSignificantBits());
+    return payload;
+  }
+
+  /**
+   * writes the given value into the given array as big-endian.
+   *
+   * @param bytes the array to write.
+   * @param offset the offset to write.
+   * @param value the value to write.
+   */
+  private static void putLong(@NotNull final byte[] bytes, final int offset, final long value) {
+    for (int index = 0; index < Long.BYTES; index++) {
+      bytes[offset + index] = (byte) (value >>> (Long.SIZE - Byte.SIZE * (index + 1)));
+    }
+  }
+
+  /**
+   * encodes the record.
+   *
+   * @return the encoded payload.
+   *
+   * @throws IOException if the record could not be encoded.
+   */
+  @NotNull
+  byte[] encode() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    final DataOutputStream output = new DataOutputStream(bytes);
+    output.writeByte(SessionRecord.PUT);
+    output.writeLong(this.uniqueId.getMostSignificantBits());
+    output.writeLong(this.uniqueId.getLeastSignificantBits());
+    output.writeLong(this.writtenAt);
+    output.writeLong(this.remaining);
+    output.writeInt(this.attempts);
+    output.writeUTF(this.id);
+    output.writeBoolean(this.path != null && this.state != null);
+    if (this.path != null && this.state != null) {
+      output.writeShort(this.path.size());
+      for (final String step : this.path) {
+        output.writeUTF(step);
+      }
+      output.writeInt(this.state.length);
+      output.write(this.state);
+    }
+    return bytes.toByteArray();
+  }
+}
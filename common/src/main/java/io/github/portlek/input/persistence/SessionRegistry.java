@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.InputListener;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.conversation.Conversation;
+import io.github.portlek.input.conversation.ConversationSession;
+import io.github.portlek.input.conversation.StateCodec;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains the templates and the conversations that the stored inputs refer to by their ids.
+ * <p>
+ * a registry can be shared by a {@link MappedSessionJournal} and a {@link ClusterSessionDirectory}, so the templates
+ * are registered once.
+ *
+ * @param <P> the input sender type.
+ */
+public final class SessionRegistry<P> {
+
+  /**
+   * the conversations by their ids.
+   */
+  @NotNull
+  private final Map<String, Conversation<?, P>> conversations = new ConcurrentHashMap<>();
+
+  /**
+   * the templates by their ids.
+   */
+  @NotNull
+  private final Map<String, PromptTemplate<?, P>> templates = new ConcurrentHashMap<>();
+
+  /**
+   * checks if the given input is stored.
+   *
+   * @param input the input to check.
+   *
+   * @return {@code true} if the input's template or conversation has an id.
+   */
+  static boolean isStored(@NotNull final ChatInput<?, ?> input) {
+    final InputListener<?, ?> listener = input.getListener();
+    if (listener instanceof ConversationSession<?, ?>) {
+      final Conversation<?, ?> conversation = ((ConversationSession<?, ?>) listener).getConversation();
+      return conversation.getId() != null && conversation.getCodec() != null;
+    }
+    return listener == null && input.getTemplate().getId() != null;
+  }
+
+  /**
+   * creates a record of the given input.
+   *
+   * @param input the input to create.
+   * @param now the current time in milliseconds.
+   * @param <P> type of the sender.
+   *
+   * @return a newly created record, {@code null} if the input is not stored.
+   *
+   * @throws IOException if the state of the input's conversation could not be encoded.
+   */
+  @Nullable
+  static <P> SessionRecord snapshot(@NotNull final ChatInput<?, P> input, final long now) throws IOException {
+    final InputListener<?, P> listener = input.getListener();
+    if (listener instanceof ConversationSession<?, ?>) {
+      return SessionRegistry.snapshot((ConversationSession<?, P>) listener, input, now);
+    }
+    final String id = input.getTemplate().getId();
+    if (listener != null || id == null) {
+      return null;
+    }
+    return new SessionRecord(input.getSender().getUniqueId(), now, input.getRemaining(), input.getAttempts(), id,
+      null, null);
+  }
+
+  /**
+   * resumes the given conversation with the given record.
+   *
+   * @param conversation the conversation to resume.
+   * @param platform the platform to resume.
+   * @param sender the sender to resume.
+   * @param record the record to resume.
+   * @param path the visited steps of the record.
+   * @param state the encoded state of the record.
+   * @param <S> type of the state.
+   * @param <P> type of the sender.
+   *
+   * @return {@code true} if the conversation has a codec.
+   *
+   * @throws IOException if the state could not be decoded.
+   */
+  private static <S, P> boolean resume(@NotNull final Conversation<S, P> conversation,
+                                       @NotNull final ChatPlatform<P> platform, @NotNull final ChatSender<P> sender,
+                                       @NotNull final SessionRecord record, @NotNull final List<String> path,
+                                       @NotNull final byte[] state) throws IOException {
+    final StateCodec<S> codec = conversation.getCodec();
+    if (codec == null) {
+      return false;
+    }
+    conversation.resume(platform, sender, codec.decode(state), path, record.getRemaining(), record.getAttempts());
+    return true;
+  }
+
+  /**
+   * creates a record of the given input of the given session.
+   *
+   * @param session the session of the input.
+   * @param input the input to create.
+   * @param now the current time in milliseconds.
+   * @param <S> type of the state.
+   * @param <P> type of the sender.
+   *
+   * @return a newly created record, {@code null} if the session is not stored.
+   *
+   * @throws IOException if the state of the session could not be encoded.
+   */
+  @Nullable
+  private static <S, P> SessionRecord snapshot(@NotNull final ConversationSession<S, P> session,
+                                               @NotNull final ChatInput<?, P> input, final long now)
+    throws IOException {
+    final Conversation<S, P> conversation = session.getConversation();
+    final String id = conversation.getId();
+    final StateCodec<S> codec = conversation.getCodec();
+    if (id == null || codec == null || session.isEnded()) {
+      return null;
+    }
+    return new SessionRecord(input.getSender().getUniqueId(), now, input.getRemaining(), input.getAttempts(), id,
+      session.getPath(), codec.encode(session.getState()));
+  }
+
+  /**
+   * registers the given conversation, so its stored sessions can resume.
+   *
+   * @param conversation the conversation to register.
+   *
+   * @return {@code this}.
+   *
+   * @throws IllegalArgumentException if the conversation has no id or codec.
+   */
+  @NotNull
+  public SessionRegistry<P> register(@NotNull final Conversation<?, P> conversation) {
+    final String id = conversation.getId();
+    if (id == null || conversation.getCodec() == null) {
+      throw new IllegalArgumentException("conversation must have an id and a codec!");
+    }
+    this.conversations.put(id, conversation);
+    return this;
+  }
+
+  /**
+   * registers the given template, so its stored inputs can resume.
+   *
+   * @param template the template to register.
+   *
+   * @return {@code this}.
+   *
+   * @throws IllegalArgumentException if the template has no id.
+   */
+  @NotNull
+  public SessionRegistry<P> register(@NotNull final PromptTemplate<?, P> template) {
+    final String id = template.getId();
+    if (id == null) {
+      throw new IllegalArgumentException("template must have an id!");
+    }
+    this.templates.put(id, template);
+    return this;
+  }
+
+  /**
+   * starts the input of the given record.
+   *
+   * @param platform the platform to start.
+   * @param sender the sender to start.
+   * @param record the record to start.
+   *
+   * @return {@code true} if the record refers to a registered template or conversation.
+   *
+   * @throws IOException if the state of the record could not be decoded.
+   */
+  boolean start(@NotNull final ChatPlatform<P> platform, @NotNull final ChatSender<P> sender,
+                @NotNull final SessionRecord record) throws IOException {
+    final List<String> path = record.getPath();
+    final byte[] state = record.getState();
+    if (path == null || state == null) {
+      final PromptTemplate<?, P> template = this.templates.get(record.getId());
+      if (template == null) {
+        return false;
+      }
+      template.create(platform, sender).resume(record.getRemaining(), record.getAttempts());
+      return true;
+    }
+    final Conversation<?, P> conversation = this.conversations.get(record.getId());
+    return conversation != null &&
+      SessionRegistry.resume(conversation, platform, sender, record, path, state);
+  }
+}
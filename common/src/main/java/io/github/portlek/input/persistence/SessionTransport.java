@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an interface to determine the transports that carry the messages of the {@link ClusterSessionDirectory}s of a
+ * network, such as a plugin messaging channel or a pub/sub broker.
+ * <p>
+ * a message that is published has to be delivered to the subscribers of the other servers, delivering it back to its
+ * own server is allowed.
+ *
+ * @see LoopbackTransport
+ */
+public interface SessionTransport {
+
+  /**
+   * publishes the given message to the servers of the network.
+   *
+   * @param message the message to publish.
+   */
+  void publish(@NotNull byte[] message);
+
+  /**
+   * subscribes the given receiver to the messages of the network.
+   * <p>
+   * the receiver can be called from any thread.
+   *
+   * @param receiver the receiver to subscribe.
+   */
+  void subscribe(@NotNull Consumer<byte[]> receiver);
+}
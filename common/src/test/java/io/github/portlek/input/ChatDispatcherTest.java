@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks that {@link ChatDispatcher#tick()} runs every tick once, also when the ticks overlap.
+ */
+final class ChatDispatcherTest {
+
+  @Test
+  void concurrentTicksAreNotLost() throws InterruptedException {
+    final ChatDispatcher<Object> dispatcher = new ChatDispatcher<>(new TimingWheel());
+    final List<Thread> threads = new ArrayList<>();
+    for (int index = 0; index < 4; index++) {
+      final Thread thread = new Thread(() -> {
+        for (int tick = 0; tick < 10_000; tick++) {
+          dispatcher.tick();
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40_000L, dispatcher.getTimer().getTick());
+  }
+
+  @Test
+  void overlappingTicksRunAfterTheCurrentTick() {
+    final ChatDispatcher<Object> dispatcher = new ChatDispatcher<>(new TimingWheel());
+    final List<Long> ticks = new ArrayList<>();
+    dispatcher.getTimer().schedule(() -> {
+      ticks.add(dispatcher.getTimer().getTick());
+      dispatcher.tick();
+      dispatcher.tick();
+      ticks.add(dispatcher.getTimer().getTick());
+    }, 1L);
+    dispatcher.tick();
+    assertEquals(3L, dispatcher.getTimer().getTick());
+    assertEquals(ticks.get(0), ticks.get(1));
+  }
+}
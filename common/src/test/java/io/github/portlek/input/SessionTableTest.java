@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks the probing, the removal and the growth of {@link SessionTable}.
+ */
+final class SessionTableTest {
+
+  /**
+   * creates unique ids that have the same hash, so they probe the same slots.
+   *
+   * @param count the count to create.
+   *
+   * @return the colliding unique ids.
+   */
+  private static List<UUID> colliding(final int count) {
+    final List<UUID> keys = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      keys.add(new UUID(index, index));
+    }
+    return keys;
+  }
+
+  @Test
+  void growKeepsEntries() {
+    final SessionTable<Integer> table = new SessionTable<>();
+    final List<UUID> keys = new ArrayList<>();
+    for (int index = 0; index < 10_000; index++) {
+      final UUID key = UUID.randomUUID();
+      keys.add(key);
+      table.put(key, index);
+    }
+    assertEquals(10_000, table.size());
+    for (int index = 0; index < keys.size(); index++) {
+      assertEquals(index, table.get(keys.get(index)));
+    }
+  }
+
+  @Test
+  void putReplacesValue() {
+    final SessionTable<String> table = new SessionTable<>();
+    final UUID key = UUID.randomUUID();
+    assertNull(table.put(key, "first"));
+    assertEquals("first", table.put(key, "second"));
+    assertEquals("second", table.get(key));
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  void removeKeepsProbeChain() {
+    final SessionTable<UUID> table = new SessionTable<>();
+    final List<UUID> keys = SessionTableTest.colliding(5);
+    keys.forEach(key -> table.put(key, key));
+    assertTrue(table.remove(keys.get(1), keys.get(1)));
+    assertNull(table.get(keys.get(1)));
+    assertFalse(table.containsKey(keys.get(1)));
+    for (final UUID key : keys.subList(2, 5)) {
+      assertSame(key, table.get(key));
+    }
+    assertEquals(4, table.size());
+  }
+
+  @Test
+  void removeNeedsSameValue() {
+    final SessionTable<String> table = new SessionTable<>();
+    final UUID key = UUID.randomUUID();
+    table.put(key, "value");
+    assertFalse(table.remove(key, new String("value")));
+    assertFalse(table.remove(UUID.randomUUID(), "value"));
+    assertEquals("value", table.get(key));
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  void removedSlotIsReused() {
+    final SessionTable<UUID> table = new SessionTable<>();
+    final List<UUID> keys = SessionTableTest.colliding(3);
+    keys.forEach(key -> table.put(key, key));
+    assertTrue(table.remove(keys.get(0), keys.get(0)));
+    final UUID again = UUID.randomUUID();
+    assertNull(table.put(keys.get(0), again));
+    assertSame(again, table.get(keys.get(0)));
+    assertSame(keys.get(1), table.get(keys.get(1)));
+    assertEquals(3, table.size());
+  }
+
+  @Test
+  void rebuildDropsRemovedSlots() {
+    final SessionTable<Integer> table = new SessionTable<>();
+    final UUID kept = UUID.randomUUID();
+    table.put(kept, -1);
+    for (int index = 0; index < 10_000; index++) {
+      final UUID key = UUID.randomUUID();
+      final Integer value = index;
+      table.put(key, value);
+      assertTrue(table.remove(key, value));
+    }
+    assertEquals(1, table.size());
+    assertEquals(-1, table.get(kept));
+    final List<Integer> values = new ArrayList<>();
+    table.forEach(values::add);
+    assertEquals(1, values.size());
+  }
+}
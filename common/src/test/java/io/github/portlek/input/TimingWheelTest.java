@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks the expiry ticks of {@link TimingWheel}, also for the timeouts that cascade from the upper levels.
+ */
+final class TimingWheelTest {
+
+  /**
+   * the delays around the span of each level.
+   */
+  private static final long[] DELAYS = {1L, 2L, 63L, 64L, 65L, 127L, 128L, 4095L, 4096L, 4097L, 262_143L, 262_144L,
+    262_145L, 300_000L};
+
+  @Test
+  void cancelledTimeoutDoesNotRun() {
+    final TimingWheel wheel = new TimingWheel();
+    final List<String> runs = new ArrayList<>();
+    final ChatTimeout timeout = wheel.schedule(() -> runs.add("run"), 100L);
+    timeout.cancel();
+    for (int tick = 0; tick < 200; tick++) {
+      wheel.tick();
+    }
+    assertTrue(runs.isEmpty());
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void expiresAtDeadline() {
+    final TimingWheel wheel = new TimingWheel();
+    final long[] ranAt = new long[TimingWheelTest.DELAYS.length];
+    for (int index = 0; index < TimingWheelTest.DELAYS.length; index++) {
+      final int slot = index;
+      wheel.schedule(() -> ranAt[slot] = wheel.getTick(), TimingWheelTest.DELAYS[index]);
+    }
+    final long last = TimingWheelTest.DELAYS[TimingWheelTest.DELAYS.length - 1];
+    for (long tick = 0L; tick < last; tick++) {
+      wheel.tick();
+    }
+    for (int index = 0; index < TimingWheelTest.DELAYS.length; index++) {
+      assertEquals(TimingWheelTest.DELAYS[index], ranAt[index], "delay " + TimingWheelTest.DELAYS[index]);
+    }
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void expiresAtDeadlineFromAnyTick() {
+    final TimingWheel wheel = new TimingWheel();
+    for (int tick = 0; tick < 4000; tick++) {
+      wheel.tick();
+    }
+    final long[] ranAt = new long[1];
+    final long deadline = wheel.getTick() + 5000L;
+    wheel.schedule(() -> ranAt[0] = wheel.getTick(), 5000L);
+    while (wheel.getTick() < deadline) {
+      wheel.tick();
+    }
+    assertEquals(deadline, ranAt[0]);
+  }
+
+  @Test
+  void failingTaskDoesNotStopOthers() {
+    final TimingWheel wheel = new TimingWheel();
+    final List<String> runs = new ArrayList<>();
+    wheel.schedule(() -> {
+      throw new IllegalStateException("expected");
+    }, 1L);
+    wheel.schedule(() -> runs.add("run"), 1L);
+    wheel.tick();
+    assertEquals(1, runs.size());
+  }
+
+  @Test
+  void limitsExpiriesPerTick() {
+    final TimingWheel wheel = new TimingWheel(2);
+    final List<Long> runs = new ArrayList<>();
+    for (int index = 0; index < 5; index++) {
+      wheel.schedule(() -> runs.add(wheel.getTick()), 1L);
+    }
+    wheel.tick();
+    assertEquals(2, runs.size());
+    wheel.tick();
+    assertEquals(4, runs.size());
+    wheel.tick();
+    assertEquals(5, runs.size());
+  }
+
+  @Test
+  void rescheduleMovesDeadline() {
+    final TimingWheel wheel = new TimingWheel();
+    final long[] ranAt = new long[1];
+    final ChatTimeout timeout = wheel.schedule(() -> ranAt[0] = wheel.getTick(), 100L);
+    for (int tick = 0; tick < 50; tick++) {
+      wheel.tick();
+    }
+    timeout.reschedule(100L);
+    for (int tick = 0; tick < 200; tick++) {
+      wheel.tick();
+    }
+    assertEquals(150L, ranAt[0]);
+  }
+}
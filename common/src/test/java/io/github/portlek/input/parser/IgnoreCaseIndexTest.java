@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks the lookups of {@link IgnoreCaseIndex}.
+ */
+final class IgnoreCaseIndexTest {
+
+  @Test
+  void emptyIndexHasNoKey() {
+    final IgnoreCaseIndex<String> index = new IgnoreCaseIndex<>(Collections.emptyMap());
+    assertNull(index.get("key"));
+    assertNull(index.get(""));
+  }
+
+  @Test
+  void equalsIgnoreCase() {
+    assertTrue(IgnoreCaseIndex.equalsIgnoreCase("Stra\u00dfe", "STRA\u00dfE"));
+    assertTrue(IgnoreCaseIndex.equalsIgnoreCase(new StringBuilder("CaNcEl"), "cancel"));
+    assertFalse(IgnoreCaseIndex.equalsIgnoreCase("cancel", "cancels"));
+    assertFalse(IgnoreCaseIndex.equalsIgnoreCase("cancel", "cancek"));
+  }
+
+  @Test
+  void findsEveryKeyIgnoringCase() {
+    final Map<String, Integer> entries = new HashMap<>();
+    for (int index = 0; index < 1000; index++) {
+      entries.put("key" + index, index);
+    }
+    final IgnoreCaseIndex<Integer> index = new IgnoreCaseIndex<>(entries);
+    entries.forEach((key, value) -> {
+      assertEquals(value, index.get(key));
+      assertEquals(value, index.get(key.toUpperCase()));
+      assertEquals(value, index.get(new StringBuilder(key)));
+    });
+    assertNull(index.get("key1000"));
+    assertFalse(index.contains("key-1"));
+  }
+
+  @Test
+  void singleKey() {
+    final IgnoreCaseIndex<String> index = new IgnoreCaseIndex<>(Collections.singletonMap("Yes", "value"));
+    assertEquals("value", index.get("yEs"));
+    assertTrue(index.contains("YES"));
+    assertFalse(index.contains("no"));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks the parsers of {@link Parsers}.
+ */
+final class ParsersTest {
+
+  @Test
+  void bool() {
+    final InputParser<Boolean> parser = Parsers.bool();
+    assertEquals(Boolean.TRUE, parser.parse("YES"));
+    assertEquals(Boolean.TRUE, parser.parse("on"));
+    assertEquals(Boolean.FALSE, parser.parse("False"));
+    assertNull(parser.parse("maybe"));
+    assertNull(parser.parse(""));
+  }
+
+  @Test
+  void decimal() {
+    final InputParser<Double> parser = Parsers.decimal(-1.0, 10.0);
+    assertEquals(2.5, parser.parse("2.5"));
+    assertEquals(-1.0, parser.parse("-1"));
+    assertEquals(0.5, parser.parse(".5"));
+    assertNull(parser.parse("10.5"));
+    assertNull(parser.parse("1e3"));
+    assertNull(parser.parse("NaN"));
+    assertNull(parser.parse("1.2.3"));
+    assertNull(parser.parse("."));
+    assertNull(parser.parse("-"));
+  }
+
+  @Test
+  void duration() {
+    final InputParser<Duration> parser = Parsers.duration(Duration.ZERO, Duration.ofDays(2L));
+    assertEquals(Duration.ofMinutes(90L), parser.parse("1h 30m"));
+    assertEquals(Duration.ofMinutes(90L), parser.parse("1H30M"));
+    assertEquals(Duration.ofMillis(1_250L), parser.parse("1s250ms"));
+    assertEquals(Duration.ofDays(2L), parser.parse("2d"));
+    assertNull(parser.parse("3d"));
+    assertNull(parser.parse("10"));
+    assertNull(parser.parse("m"));
+    assertNull(parser.parse("5w"));
+    assertNull(parser.parse(" "));
+    assertNull(parser.parse("99999999999d"));
+  }
+
+  @Test
+  void enumValue() {
+    final InputParser<TimeUnit> parser = Parsers.enumValue(TimeUnit.class);
+    assertEquals(TimeUnit.SECONDS, parser.parse("seconds"));
+    assertEquals(TimeUnit.DAYS, parser.parse("DaYs"));
+    assertNull(parser.parse("weeks"));
+  }
+
+  @Test
+  void intRange() {
+    final InputParser<Integer> parser = Parsers.intRange(-5, 100);
+    assertEquals(42, parser.parse("42"));
+    assertEquals(42, parser.parse("+42"));
+    assertEquals(-5, parser.parse("-5"));
+    assertNull(parser.parse("-6"));
+    assertNull(parser.parse("101"));
+    assertNull(parser.parse("4 2"));
+    assertNull(parser.parse("+"));
+    assertNull(parser.parse(""));
+    assertNull(parser.parse("99999999999999999999"));
+  }
+
+  @Test
+  void longRange() {
+    final InputParser<Long> parser = Parsers.longRange(0L, Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, parser.parse("9223372036854775807"));
+    assertNull(parser.parse("9223372036854775808"));
+    assertNull(parser.parse("-1"));
+  }
+
+  @Test
+  void playerName() {
+    final InputParser<String> parser = Parsers.playerName();
+    assertEquals("Steve_01", parser.parse("Steve_01"));
+    assertNull(parser.parse("ab"));
+    assertNull(parser.parse("abcdefghijklmnopq"));
+    assertNull(parser.parse("bad-name"));
+  }
+
+  @Test
+  void uniqueId() {
+    final InputParser<UUID> parser = Parsers.uniqueId();
+    final UUID uniqueId = UUID.randomUUID();
+    assertEquals(uniqueId, parser.parse(uniqueId.toString()));
+    assertEquals(uniqueId, parser.parse(uniqueId.toString().toUpperCase()));
+    assertEquals(uniqueId, parser.parse(uniqueId.toString().replace("-", "")));
+    assertNull(parser.parse(uniqueId.toString().replace('-', '_')));
+    assertNull(parser.parse(uniqueId.toString().substring(1)));
+    assertNull(parser.parse("g" + uniqueId.toString().substring(1)));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks the binary format of {@link SessionRecord}.
+ */
+final class SessionRecordTest {
+
+  /**
+   * reads the given encoded record the way the journal does, kind first, then the unique id.
+   *
+   * @param bytes the bytes to read.
+   *
+   * @return the read record.
+   *
+   * @throws IOException if the bytes are not a record.
+   */
+  private static SessionRecord decode(final byte[] bytes) throws IOException {
+    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+    assertEquals(SessionRecord.PUT, input.readByte());
+    final UUID uniqueId = new UUID(input.readLong(), input.readLong());
+    final SessionRecord record = SessionRecord.read(uniqueId, input);
+    assertEquals(0, input.available());
+    return record;
+  }
+
+  @Test
+  void conversationRoundTrip() throws IOException {
+    final byte[] state = {1, 2, 3, -1};
+    final SessionRecord record = new SessionRecord(UUID.randomUUID(), 1_000L, 600L, 2, "shop",
+      Arrays.asList("item", "amount"), state);
+    final SessionRecord read = SessionRecordTest.decode(record.encode());
+    assertEquals(record.getUniqueId(), read.getUniqueId());
+    assertEquals(Arrays.asList("item", "amount"), read.getPath());
+    assertArrayEquals(state, read.getState());
+  }
+
+  @Test
+  void promptRoundTrip() throws IOException {
+    final UUID uniqueId = UUID.randomUUID();
+    final SessionRecord record = new SessionRecord(uniqueId, 1_000L, 600L, 2, "amount", null, null);
+    final SessionRecord read = SessionRecordTest.decode(record.encode());
+    assertEquals(uniqueId, read.getUniqueId());
+    assertEquals(1_000L, read.getWrittenAt());
+    assertEquals(600L, read.getRemaining());
+    assertEquals(2, read.getAttempts());
+    assertEquals("amount", read.getId());
+    assertNull(read.getPath());
+    assertNull(read.getState());
+  }
+
+  @Test
+  void removalHasKindAndUniqueId() throws IOException {
+    final UUID uniqueId = UUID.randomUUID();
+    final byte[] bytes = SessionRecord.removal(uniqueId);
+    assertEquals(17, bytes.length);
+    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+    assertEquals(SessionRecord.REMOVE, input.readByte());
+    assertEquals(uniqueId, new UUID(input.readLong(), input.readLong()));
+  }
+}
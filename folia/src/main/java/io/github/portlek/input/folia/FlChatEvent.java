@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.input.folia;
+
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.adventure.PlainText;
+import io.github.portlek.input.event.ChatEvent;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an implementation for {@link ChatEvent}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+final class FlChatEvent implements ChatEvent<Player> {
+
+  /**
+   * the event.
+   */
+  @NotNull
+  private final AsyncChatEvent event;
+
+  /**
+   * the sender.
+   */
+  @NotNull
+  @Getter
+  private final ChatSender<Player> sender;
+
+  /**
+   * the plain text of the message, flattened once per event.
+   */
+  @Nullable
+  private CharSequence text;
+
+  @Override
+  public void cancel() {
+    this.event.setCancelled(true);
+  }
+
+  @NotNull
+  @Override
+  public String getMessage() {
+    return this.getText().toString();
+  }
+
+  @NotNull
+  @Override
+  public CharSequence getText() {
+    CharSequence text = this.text;
+    if (text == null) {
+      text = PlainText.flatten(this.event.message(), this.sender.getWrapped().locale());
+      this.text = text;
+    }
+    return text;
+  }
+}
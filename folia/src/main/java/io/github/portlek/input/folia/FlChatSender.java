@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.folia;
+
+import io.github.portlek.input.ChatMessage;
+import io.github.portlek.input.ChatSender;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an implementation for {@link ChatSender}.
+ * <p>
+ * the players can receive messages from any thread on Folia, so the messages are sent on the calling thread.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+final class FlChatSender implements ChatSender<Player> {
+
+  /**
+   * the wrapped.
+   */
+  @NotNull
+  @Getter
+  private final Player wrapped;
+
+  @NotNull
+  @Override
+  public UUID getUniqueId() {
+    return this.wrapped.getUniqueId();
+  }
+
+  @Override
+  public void sendMessage(@NotNull final String message) {
+    this.wrapped.sendMessage(message);
+  }
+
+  /**
+   * sends the given lines with one chat packet, the lines are separated by new lines in one component.
+   *
+   * @param lines the lines to send.
+   */
+  @Override
+  public void sendMessages(@NotNull final List<ChatMessage> lines) {
+    this.wrapped.sendMessage(LegacyComponentSerializer.legacySection().deserialize(lines.stream()
+      .map(ChatMessage::getText)
+      .collect(Collectors.joining("\n"))));
+  }
+}
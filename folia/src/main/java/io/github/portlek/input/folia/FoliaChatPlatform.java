@@ -0,0 +1,385 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.folia;
+
+import com.google.common.base.Preconditions;
+import io.github.portlek.input.ChatDispatcher;
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.ChatTask;
+import io.github.portlek.input.ExecutionPolicy;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.SessionTable;
+import io.github.portlek.input.persistence.SessionDirectory;
+import io.github.portlek.input.persistence.SessionJournal;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an implementation of {@link ChatPlatform} for the region threaded servers of Folia.
+ * <p>
+ * there is only one platform per plugin, it registers its listeners once, routes all the events through
+ * {@link #dispatcher} and ticks the dispatcher with one repeating task of the async scheduler, so the expire checks
+ * never wait for the global region. the callbacks of the inputs run on the region thread that owns the player by the
+ * player's entity scheduler, see {@link ExecutionPolicy#SENDER}.
+ * <p>
+ * the state of the inputs is thread-safe and the entity scheduler follows the player, so the inputs stay consistent
+ * when the player crosses regions while an input is active.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FoliaChatPlatform implements ChatPlatform<Player>, Listener {
+
+  /**
+   * the milliseconds of a tick.
+   */
+  private static final long TICK_MILLIS = 50L;
+
+  /**
+   * the platforms.
+   */
+  private static final Map<Plugin, FoliaChatPlatform> PLATFORMS = new ConcurrentHashMap<>();
+
+  /**
+   * the dispatcher.
+   */
+  @NotNull
+  @Getter
+  private final ChatDispatcher<Player> dispatcher = new ChatDispatcher<>();
+
+  /**
+   * the senders of the online players.
+   */
+  @NotNull
+  private final SessionTable<FlChatSender> senders = new SessionTable<>();
+
+  /**
+   * the plugin.
+   */
+  @NotNull
+  private final Plugin plugin;
+
+  /**
+   * the task that ticks the dispatcher.
+   */
+  @Nullable
+  private volatile ScheduledTask ticker;
+
+  /**
+   * creates a new builder instance.
+   *
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created builder instance.
+   *
+   * @throws IllegalArgumentException if the server has not any plugin.
+   */
+  @NotNull
+  public static <T> ChatInput.Builder<T, Player> builder(@NotNull final Player sender) {
+    final Plugin[] plugins = Bukkit.getPluginManager().getPlugins();
+    Preconditions.checkArgument(plugins.length != 0, "not found any plugin");
+    return FoliaChatPlatform.builder(plugins[0], sender);
+  }
+
+  /**
+   * creates a new builder instance.
+   *
+   * @param plugin the plugin to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created builder instance.
+   */
+  @NotNull
+  public static <T> ChatInput.Builder<T, Player> builder(@NotNull final Plugin plugin,
+                                                         @NotNull final Player sender) {
+    return FoliaChatPlatform.builder(FoliaChatPlatform.of(plugin), sender);
+  }
+
+  /**
+   * creates a new builder instance.
+   *
+   * @param platform the platform to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created builder instance.
+   */
+  @NotNull
+  public static <T> ChatInput.Builder<T, Player> builder(@NotNull final ChatPlatform<Player> platform,
+                                                         @NotNull final Player sender) {
+    final ChatSender<Player> chatSender = platform instanceof FoliaChatPlatform
+      ? ((FoliaChatPlatform) platform).sender(sender)
+      : new FlChatSender(sender);
+    return FoliaChatPlatform.builder(platform, chatSender);
+  }
+
+  /**
+   * creates a new builder instance.
+   *
+   * @param platform the platform to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created builder instance.
+   */
+  @NotNull
+  public static <T> ChatInput.Builder<T, Player> builder(@NotNull final ChatPlatform<Player> platform,
+                                                         @NotNull final ChatSender<Player> sender) {
+    return ChatInput.builder(platform, sender);
+  }
+
+  /**
+   * creates a new input of the given template.
+   *
+   * @param plugin the plugin to create.
+   * @param template the template to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created input.
+   */
+  @NotNull
+  public static <T> ChatInput<T, Player> input(@NotNull final Plugin plugin,
+                                               @NotNull final PromptTemplate<T, Player> template,
+                                               @NotNull final Player sender) {
+    final FoliaChatPlatform platform = FoliaChatPlatform.of(plugin);
+    return template.create(platform, platform.sender(sender));
+  }
+
+  /**
+   * obtains the platform of the given plugin.
+   * <p>
+   * registers the platform's listeners and starts the task that ticks the platform's dispatcher when the plugin's
+   * platform is created, the inputs that do not set an execution policy run their callbacks by
+   * {@link ExecutionPolicy#SENDER}.
+   *
+   * @param plugin the plugin to get.
+   *
+   * @return the platform of the plugin.
+   */
+  @NotNull
+  public static FoliaChatPlatform of(@NotNull final Plugin plugin) {
+    return FoliaChatPlatform.PLATFORMS.computeIfAbsent(plugin, key -> {
+      final FoliaChatPlatform platform = new FoliaChatPlatform(key);
+      platform.dispatcher.setExecutionPolicy(ExecutionPolicy.SENDER);
+      Bukkit.getPluginManager().registerEvents(platform, key);
+      platform.ticker = Bukkit.getAsyncScheduler().runAtFixedRate(key, task -> platform.dispatcher.tick(),
+        FoliaChatPlatform.TICK_MILLIS, FoliaChatPlatform.TICK_MILLIS, TimeUnit.MILLISECONDS);
+      return platform;
+    });
+  }
+
+  /**
+   * hands the active inputs of the quitting players off to their next servers by the given directory.
+   * <p>
+   * the inputs that arrive from the other servers start when their players join, or at once if the players are
+   * online.
+   *
+   * @param directory the directory to hand off.
+   */
+  public void directory(@NotNull final SessionDirectory<Player> directory) {
+    directory.attach(this, uniqueId -> {
+      final Player player = Bukkit.getPlayer(uniqueId);
+      return player == null ? null : this.sender(player);
+    });
+    this.dispatcher.setDirectory(directory);
+  }
+
+  /**
+   * stores the active inputs of the platform in the given journal.
+   * <p>
+   * resumes the stored inputs of the online players at once, and the stored inputs of the other players when they
+   * join. the journal is closed when the plugin disables.
+   *
+   * @param journal the journal to store.
+   */
+  public void journal(@NotNull final SessionJournal<Player> journal) {
+    this.dispatcher.setJournal(journal);
+    Bukkit.getOnlinePlayers().forEach(player -> journal.resume(this, this.sender(player)));
+  }
+
+  /**
+   * creates a task that runs on the async scheduler, the platform has not any main thread to run it on.
+   *
+   * @param runnable the runnable to run.
+   * @param time the ticks to run after.
+   *
+   * @return an instance for the task.
+   */
+  @NotNull
+  @Override
+  public ChatTask createRunTaskLater(@NotNull final Runnable runnable, final long time) {
+    return new FlChatTask(Bukkit.getAsyncScheduler().runDelayed(this.plugin, task -> runnable.run(),
+      Math.max(1L, time) * FoliaChatPlatform.TICK_MILLIS, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * runs the given runnable on the region thread that owns the player of the given sender.
+   * <p>
+   * runs the runnable at once if the current thread owns the player, or if the player has been removed, so the end
+   * callbacks of the quitting players are not lost.
+   *
+   * @param sender the sender to run.
+   * @param runnable the runnable to run.
+   */
+  @Override
+  public void execute(@NotNull final ChatSender<Player> sender, @NotNull final Runnable runnable) {
+    final Player player = sender.getWrapped();
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
+      runnable.run();
+      return;
+    }
+    if (!player.getScheduler().execute(this.plugin, runnable, runnable, 1L)) {
+      runnable.run();
+    }
+  }
+
+  /**
+   * runs when the player sends a chat message.
+   * <p>
+   * returns before allocating anything if the player has no active input.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler(priority = EventPriority.LOWEST)
+  public void whenChat(@NotNull final AsyncChatEvent event) {
+    final Player player = event.getPlayer();
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onChat(new FlChatEvent(event, this.sender(player)));
+    }
+  }
+
+  /**
+   * runs when a plugin disables.
+   * <p>
+   * removes the platform, its listeners and its task if the plugin of the platform disables.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler
+  public void whenDisable(@NotNull final PluginDisableEvent event) {
+    if (!event.getPlugin().equals(this.plugin)) {
+      return;
+    }
+    FoliaChatPlatform.PLATFORMS.remove(this.plugin, this);
+    HandlerList.unregisterAll(this);
+    final ScheduledTask task = this.ticker;
+    if (task != null) {
+      this.ticker = null;
+      task.cancel();
+    }
+    this.dispatcher.setDirectory(null);
+    final SessionJournal<Player> journal = this.dispatcher.getJournal();
+    if (journal != null) {
+      this.dispatcher.setJournal(null);
+      try {
+        journal.close();
+      } catch (final IOException e) {
+        this.plugin.getLogger().log(Level.WARNING, "could not close the session journal", e);
+      }
+    }
+    this.dispatcher.clear();
+    this.senders.clear();
+  }
+
+  /**
+   * runs when the player joins the game.
+   * <p>
+   * resumes the input of the player that arrived from an other server, or the stored input of the player.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler
+  public void whenJoin(@NotNull final PlayerJoinEvent event) {
+    final FlChatSender sender = this.sender(event.getPlayer());
+    final SessionDirectory<Player> directory = this.dispatcher.getDirectory();
+    if (directory != null && directory.resume(this, sender)) {
+      return;
+    }
+    final SessionJournal<Player> journal = this.dispatcher.getJournal();
+    if (journal != null) {
+      journal.resume(this, sender);
+    }
+  }
+
+  /**
+   * runs when the player quits the game.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler
+  public void whenQuit(@NotNull final PlayerQuitEvent event) {
+    final Player player = event.getPlayer();
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onQuit(new FlQuitEvent(this.sender(player)));
+    } else {
+      this.dispatcher.transfer(player.getUniqueId(), null);
+    }
+    final FlChatSender sender = this.senders.get(player.getUniqueId());
+    if (sender != null) {
+      this.senders.remove(player.getUniqueId(), sender);
+    }
+  }
+
+  /**
+   * obtains the cached sender of the given player.
+   *
+   * @param player the player to get.
+   *
+   * @return the sender of the player.
+   */
+  @NotNull
+  FlChatSender sender(@NotNull final Player player) {
+    final FlChatSender cached = this.senders.get(player.getUniqueId());
+    if (cached != null && cached.getWrapped() == player) {
+      return cached;
+    }
+    final FlChatSender sender = new FlChatSender(player);
+    this.senders.put(player.getUniqueId(), sender);
+    return sender;
+  }
+}
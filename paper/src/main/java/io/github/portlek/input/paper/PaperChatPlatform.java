@@ -26,12 +26,22 @@
 package io.github.portlek.input.paper;
 
 import com.google.common.base.Preconditions;
+import io.github.portlek.input.ChatDispatcher;
 import io.github.portlek.input.ChatInput;
 import io.github.portlek.input.ChatPlatform;
 import io.github.portlek.input.ChatSender;
 import io.github.portlek.input.ChatTask;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.SessionTable;
+import io.github.portlek.input.persistence.SessionDirectory;
+import io.github.portlek.input.persistence.SessionJournal;
 import io.papermc.paper.event.player.AsyncChatEvent;
-import java.util.concurrent.atomic.AtomicReference;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -39,21 +49,41 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * an implementation of {@link ChatPlatform}.
+ * <p>
+ * there is only one platform per plugin, it registers its listeners once, routes all the events through
+ * {@link #dispatcher} and ticks the dispatcher with one repeating task.
+ * <p>
+ * the active inputs can survive a restart or a reload by {@link #journal(SessionJournal)}, and a server switch by
+ * {@link #directory(SessionDirectory)}.
  */
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class PaperChatPlatform implements ChatPlatform<Player>, Listener {
 
   /**
-   * the input.
+   * the platforms.
+   */
+  private static final Map<Plugin, PaperChatPlatform> PLATFORMS = new ConcurrentHashMap<>();
+
+  /**
+   * the dispatcher.
+   */
+  @NotNull
+  @Getter
+  private final ChatDispatcher<Player> dispatcher = new ChatDispatcher<>();
+
+  /**
+   * the senders of the online players.
    */
   @NotNull
-  private final AtomicReference<ChatInput<?, Player>> input = new AtomicReference<>();
+  private final SessionTable<PprChatSender> senders = new SessionTable<>();
 
   /**
    * the plugin.
@@ -90,7 +120,7 @@ public final class PaperChatPlatform implements ChatPlatform<Player>, Listener {
   @NotNull
   public static <T> ChatInput.Builder<T, Player> builder(@NotNull final Plugin plugin,
                                                          @NotNull final Player sender) {
-    return PaperChatPlatform.builder(new PaperChatPlatform(plugin), sender);
+    return PaperChatPlatform.builder(PaperChatPlatform.of(plugin), sender);
   }
 
   /**
@@ -105,7 +135,10 @@ public final class PaperChatPlatform implements ChatPlatform<Player>, Listener {
   @NotNull
   public static <T> ChatInput.Builder<T, Player> builder(@NotNull final ChatPlatform<Player> platform,
                                                          @NotNull final Player sender) {
-    return PaperChatPlatform.builder(platform, new PprChatSender(sender));
+    final ChatSender<Player> chatSender = platform instanceof PaperChatPlatform
+      ? ((PaperChatPlatform) platform).sender(sender)
+      : new PprChatSender(sender);
+    return PaperChatPlatform.builder(platform, chatSender);
   }
 
   /**
@@ -123,31 +156,140 @@ public final class PaperChatPlatform implements ChatPlatform<Player>, Listener {
     return ChatInput.builder(platform, sender);
   }
 
+  /**
+   * creates a new input of the given template.
+   *
+   * @param plugin the plugin to create.
+   * @param template the template to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created input.
+   */
   @NotNull
-  @Override
-  public ChatTask createRunTaskLater(@NotNull final Runnable runnable, final long time) {
-    return new PprChatTask(Bukkit.getScheduler().runTaskLater(this.plugin, runnable, time));
+  public static <T> ChatInput<T, Player> input(@NotNull final Plugin plugin,
+                                               @NotNull final PromptTemplate<T, Player> template,
+                                               @NotNull final Player sender) {
+    final PaperChatPlatform platform = PaperChatPlatform.of(plugin);
+    return template.create(platform, platform.sender(sender));
   }
 
-  @Override
-  public void init(@NotNull final ChatInput<?, Player> input) {
-    this.input.set(input);
-    Bukkit.getPluginManager().registerEvents(this, this.plugin);
+  /**
+   * obtains the platform of the given plugin.
+   * <p>
+   * registers the platform's listeners and starts the task that ticks the platform's dispatcher when the plugin's
+   * platform is created.
+   *
+   * @param plugin the plugin to get.
+   *
+   * @return the platform of the plugin.
+   */
+  @NotNull
+  public static PaperChatPlatform of(@NotNull final Plugin plugin) {
+    return PaperChatPlatform.PLATFORMS.computeIfAbsent(plugin, key -> {
+      final PaperChatPlatform platform = new PaperChatPlatform(key);
+      Bukkit.getPluginManager().registerEvents(platform, key);
+      Bukkit.getScheduler().runTaskTimer(key, platform.dispatcher::tick, 1L, 1L);
+      return platform;
+    });
   }
 
+  /**
+   * hands the active inputs of the quitting players off to their next servers by the given directory.
+   * <p>
+   * the inputs that arrive from the other servers start when their players join, or at once if the players are
+   * online.
+   *
+   * @param directory the directory to hand off.
+   */
+  public void directory(@NotNull final SessionDirectory<Player> directory) {
+    directory.attach(this, uniqueId -> {
+      final Player player = Bukkit.getPlayer(uniqueId);
+      return player == null ? null : this.sender(player);
+    });
+    this.dispatcher.setDirectory(directory);
+  }
+
+  /**
+   * stores the active inputs of the platform in the given journal.
+   * <p>
+   * resumes the stored inputs of the online players at once, and the stored inputs of the other players when they
+   * join. the journal is closed when the plugin disables.
+   *
+   * @param journal the journal to store.
+   */
+  public void journal(@NotNull final SessionJournal<Player> journal) {
+    this.dispatcher.setJournal(journal);
+    Bukkit.getOnlinePlayers().forEach(player -> journal.resume(this, this.sender(player)));
+  }
+
+  @NotNull
   @Override
-  public void unregisterListeners() {
-    HandlerList.unregisterAll(this);
+  public ChatTask createRunTaskLater(@NotNull final Runnable runnable, final long time) {
+    return new PprChatTask(Bukkit.getScheduler().runTaskLater(this.plugin, runnable, time));
   }
 
   /**
    * runs when the player sends a chat message.
+   * <p>
+   * returns before allocating anything if the player has no active input.
    *
    * @param event the event to handle.
    */
   @EventHandler(priority = EventPriority.LOWEST)
   public void whenChat(@NotNull final AsyncChatEvent event) {
-    this.input.get().onChat(new PprChatEvent(event, new PprChatSender(event.getPlayer())));
+    final Player player = event.getPlayer();
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onChat(new PprChatEvent(event, this.sender(player)));
+    }
+  }
+
+  /**
+   * runs when a plugin disables.
+   * <p>
+   * removes the platform and its listeners if the plugin of the platform disables.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler
+  public void whenDisable(@NotNull final PluginDisableEvent event) {
+    if (!event.getPlugin().equals(this.plugin)) {
+      return;
+    }
+    PaperChatPlatform.PLATFORMS.remove(this.plugin, this);
+    HandlerList.unregisterAll(this);
+    this.dispatcher.setDirectory(null);
+    final SessionJournal<Player> journal = this.dispatcher.getJournal();
+    if (journal != null) {
+      this.dispatcher.setJournal(null);
+      try {
+        journal.close();
+      } catch (final IOException e) {
+        this.plugin.getLogger().log(Level.WARNING, "could not close the session journal", e);
+      }
+    }
+    this.dispatcher.clear();
+    this.senders.clear();
+  }
+
+  /**
+   * runs when the player joins the game.
+   * <p>
+   * resumes the input of the player that arrived from an other server, or the stored input of the player.
+   *
+   * @param event the event to handle.
+   */
+  @EventHandler
+  public void whenJoin(@NotNull final PlayerJoinEvent event) {
+    final PprChatSender sender = this.sender(event.getPlayer());
+    final SessionDirectory<Player> directory = this.dispatcher.getDirectory();
+    if (directory != null && directory.resume(this, sender)) {
+      return;
+    }
+    final SessionJournal<Player> journal = this.dispatcher.getJournal();
+    if (journal != null) {
+      journal.resume(this, sender);
+    }
   }
 
   /**
@@ -157,6 +299,33 @@ public final class PaperChatPlatform implements ChatPlatform<Player>, Listener {
    */
   @EventHandler
   public void whenQuit(@NotNull final PlayerQuitEvent event) {
-    this.input.get().onQuit(new PprQuitEvent(new PprChatSender(event.getPlayer())));
+    final Player player = event.getPlayer();
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onQuit(new PprQuitEvent(this.sender(player)));
+    } else {
+      this.dispatcher.transfer(player.getUniqueId(), null);
+    }
+    final PprChatSender sender = this.senders.get(player.getUniqueId());
+    if (sender != null) {
+      this.senders.remove(player.getUniqueId(), sender);
+    }
+  }
+
+  /**
+   * obtains the cached sender of the given player.
+   *
+   * @param player the player to get.
+   *
+   * @return the sender of the player.
+   */
+  @NotNull
+  PprChatSender sender(@NotNull final Player player) {
+    final PprChatSender cached = this.senders.get(player.getUniqueId());
+    if (cached != null && cached.getWrapped() == player) {
+      return cached;
+    }
+    final PprChatSender sender = new PprChatSender(player);
+    this.senders.put(player.getUniqueId(), sender);
+    return sender;
   }
 }
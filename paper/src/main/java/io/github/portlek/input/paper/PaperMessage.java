@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.paper;
+
+import io.github.portlek.input.ChatMessage;
+import io.github.portlek.input.adventure.PlainText;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents a component message of a prompt definition.
+ * <p>
+ * the message can be set to {@link io.github.portlek.input.ChatInput.Builder#sendValueMessage(ChatMessage)},
+ * {@link io.github.portlek.input.ChatInput.Builder#invalidInputMessage(ChatMessage)} and the other messages of a
+ * template. the paper senders send the component, the senders of the other platforms send {@link #getText()}.
+ * <p>
+ * the component is rendered once per locale by the {@link GlobalTranslator} and the rendered form is reused for every
+ * player of the locale, so the messages should be created once per prompt definition, not per send. the rendered forms
+ * belong to the message and go away with it.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PaperMessage implements ChatMessage {
+
+  /**
+   * the component.
+   */
+  @NotNull
+  @Getter
+  private final Component component;
+
+  /**
+   * the rendered forms of the component by the locales.
+   */
+  @NotNull
+  private final Map<Locale, Component> rendered = new ConcurrentHashMap<>();
+
+  /**
+   * the plain text of the component, created when it is needed first.
+   */
+  @Nullable
+  private volatile String text;
+
+  /**
+   * creates an expire message function that sends a component message per ticks left.
+   * <p>
+   * the messages are created once per distinct ticks left, which are the expire warnings of the template and
+   * {@code 0}.
+   *
+   * @param message the function that creates the component of the given ticks left.
+   *
+   * @return an expire message function to set to
+   *   {@link io.github.portlek.input.ChatInput.Builder#expireMessage(BiFunction)}.
+   */
+  @NotNull
+  public static BiFunction<Player, Long, ChatMessage> expire(@NotNull final LongFunction<Component> message) {
+    final Map<Long, PaperMessage> messages = new ConcurrentHashMap<>();
+    return (player, left) -> messages.computeIfAbsent(left, key -> PaperMessage.of(message.apply(key)));
+  }
+
+  /**
+   * creates a new message of the given component.
+   *
+   * @param component the component to create.
+   *
+   * @return a newly created message.
+   */
+  @NotNull
+  public static PaperMessage of(@NotNull final Component component) {
+    return new PaperMessage(component);
+  }
+
+  /**
+   * obtains the plain text of the component, the translatable components are translated for {@link Locale#US}.
+   *
+   * @return the plain text of the component.
+   */
+  @NotNull
+  @Override
+  public String getText() {
+    String text = this.text;
+    if (text == null) {
+      text = PlainText.flatten(this.component, Locale.US).toString();
+      this.text = text;
+    }
+    return text;
+  }
+
+  /**
+   * obtains the rendered form of the component for the given locale.
+   *
+   * @param locale the locale to render.
+   *
+   * @return the rendered component.
+   */
+  @NotNull
+  public Component render(@NotNull final Locale locale) {
+    final Component cached = this.rendered.get(locale);
+    if (cached != null) {
+      return cached;
+    }
+    return this.rendered.computeIfAbsent(locale, key -> GlobalTranslator.render(this.component, key));
+  }
+
+  @Override
+  public String toString() {
+    return this.getText();
+  }
+}
@@ -26,14 +26,15 @@
 package io.github.portlek.input.paper;
 
 import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.adventure.PlainText;
 import io.github.portlek.input.event.ChatEvent;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import net.kyori.adventure.text.TextComponent;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * an implementation for {@link ChatEvent}.
@@ -54,6 +55,12 @@ final class PprChatEvent implements ChatEvent<Player> {
   @Getter
   private final ChatSender<Player> sender;
 
+  /**
+   * the plain text of the message, flattened once per event.
+   */
+  @Nullable
+  private CharSequence text;
+
   @Override
   public void cancel() {
     this.event.setCancelled(true);
@@ -62,6 +69,17 @@ final class PprChatEvent implements ChatEvent<Player> {
   @NotNull
   @Override
   public String getMessage() {
-    return ((TextComponent) this.event.message()).content();
+    return this.getText().toString();
+  }
+
+  @NotNull
+  @Override
+  public CharSequence getText() {
+    CharSequence text = this.text;
+    if (text == null) {
+      text = PlainText.flatten(this.event.message(), this.sender.getWrapped().locale());
+      this.text = text;
+    }
+    return text;
   }
 }
@@ -25,7 +25,9 @@
 
 package io.github.portlek.input.paper;
 
+import io.github.portlek.input.ChatMessage;
 import io.github.portlek.input.ChatSender;
+import java.util.List;
 import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -52,8 +54,33 @@ final class PprChatSender implements ChatSender<Player> {
     return this.wrapped.getUniqueId();
   }
 
+  /**
+   * sends the given message as a component, the {@link PaperMessage}s send their rendered components.
+   *
+   * @param message the message to send.
+   */
+  @Override
+  public void sendMessage(@NotNull final ChatMessage message) {
+    this.wrapped.sendMessage(PprComponents.render(message, this.wrapped));
+  }
+
+  /**
+   * sends the given message as a component.
+   *
+   * @param message the message to send.
+   */
   @Override
   public void sendMessage(@NotNull final String message) {
-    this.wrapped.sendMessage(message);
+    this.wrapped.sendMessage(PprComponents.render(message));
+  }
+
+  /**
+   * sends the given lines with one chat packet, the lines are separated by new lines in one component.
+   *
+   * @param lines the lines to send.
+   */
+  @Override
+  public void sendMessages(@NotNull final List<ChatMessage> lines) {
+    this.wrapped.sendMessage(PprComponents.render(lines, this.wrapped));
   }
 }
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.paper;
+
+import io.github.portlek.input.ChatMessage;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that contains utility methods to turn the messages of the inputs into components.
+ * <p>
+ * the {@link PaperMessage}s turn into their rendered forms, the other messages are legacy strings that are
+ * deserialized once and cached, the oldest strings are evicted after {@link #MAX_CACHED} strings so messages that
+ * differ per player do not fill it. the lookups do not lock, so the async chat threads do not wait for each other.
+ */
+final class PprComponents {
+
+  /**
+   * the count of the legacy messages that are cached at most.
+   */
+  private static final int MAX_CACHED = 1024;
+
+  /**
+   * the deserialized legacy messages.
+   */
+  private static final Map<String, Component> LEGACY = new ConcurrentHashMap<>();
+
+  /**
+   * the legacy messages in insertion order.
+   */
+  private static final Queue<String> ORDER = new ConcurrentLinkedQueue<>();
+
+  /**
+   * ctor.
+   */
+  private PprComponents() {
+  }
+
+  /**
+   * turns the given message into a component for the given player.
+   *
+   * @param message the message to turn.
+   * @param player the player to turn.
+   *
+   * @return the component of the message.
+   */
+  @NotNull
+  static Component render(@NotNull final ChatMessage message, @NotNull final Player player) {
+    if (message instanceof PaperMessage) {
+      return ((PaperMessage) message).render(player.locale());
+    }
+    return PprComponents.render(message.getText());
+  }
+
+  /**
+   * turns the given lines into one component for the given player, the lines are separated by new lines.
+   *
+   * @param lines the lines to turn.
+   * @param player the player to turn.
+   *
+   * @return the component of the lines.
+   */
+  @NotNull
+  static Component render(@NotNull final List<ChatMessage> lines, @NotNull final Player player) {
+    if (lines.size() == 1) {
+      return PprComponents.render(lines.get(0), player);
+    }
+    final TextComponent.Builder builder = Component.text();
+    for (int index = 0; index < lines.size(); index++) {
+      if (index > 0) {
+        builder.append(Component.newline());
+      }
+      builder.append(PprComponents.render(lines.get(index), player));
+    }
+    return builder.build();
+  }
+
+  /**
+   * turns the given legacy string into a component.
+   *
+   * @param message the message to turn.
+   *
+   * @return the component of the message.
+   */
+  @NotNull
+  static Component render(@NotNull final String message) {
+    final Component cached = PprComponents.LEGACY.get(message);
+    if (cached != null) {
+      return cached;
+    }
+    final Component component = LegacyComponentSerializer.legacySection().deserialize(message);
+    final Component previous = PprComponents.LEGACY.putIfAbsent(message, component);
+    if (previous != null) {
+      return previous;
+    }
+    PprComponents.ORDER.add(message);
+    while (PprComponents.LEGACY.size() > PprComponents.MAX_CACHED) {
+      final String oldest = PprComponents.ORDER.poll();
+      if (oldest == null) {
+        break;
+      }
+      PprComponents.LEGACY.remove(oldest);
+    }
+    return component;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.stress;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.testkit.SimulatedPlatform;
+import io.github.portlek.input.testkit.SimulatedPlayer;
+import java.util.UUID;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * a jcstress test that races a valid answer against the quit of the sender.
+ * <p>
+ * the compare-and-set state machine lets exactly one of them end the input, so exactly one of the finish and the
+ * disconnect callbacks runs.
+ */
+@JCStressTest
+@Description("a valid answer races the quit of the sender")
+@Outcome(id = "1, 0", expect = Expect.ACCEPTABLE, desc = "the answer finished the input")
+@Outcome(id = "0, 1", expect = Expect.ACCEPTABLE, desc = "the quit ended the input")
+@Outcome(expect = Expect.FORBIDDEN, desc = "the input ended twice or never")
+@State
+public class ChatQuitStress {
+
+  /**
+   * the platform.
+   */
+  private final SimulatedPlatform platform = new SimulatedPlatform();
+
+  /**
+   * the player.
+   */
+  private final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player");
+
+  /**
+   * the count of the disconnect callbacks.
+   */
+  private int disconnected;
+
+  /**
+   * the count of the finish callbacks.
+   */
+  private int finished;
+
+  /**
+   * ctor.
+   */
+  public ChatQuitStress() {
+    ChatInput.<Integer, SimulatedPlayer>builder(this.platform, this.player)
+      .isValidInput((sender, message) -> true)
+      .setValue((sender, message) -> 1)
+      .onFinish((sender, value) -> this.finished++)
+      .onDisconnect(sender -> this.disconnected++)
+      .build()
+      .start();
+  }
+
+  /**
+   * sends a valid answer.
+   */
+  @Actor
+  public void chat() {
+    this.platform.chat(this.player, "1");
+  }
+
+  /**
+   * collects the counts of the callbacks.
+   *
+   * @param result the result to collect.
+   */
+  @Arbiter
+  public void collect(final II_Result result) {
+    result.r1 = this.finished;
+    result.r2 = this.disconnected;
+  }
+
+  /**
+   * quits the sender.
+   */
+  @Actor
+  public void quit() {
+    this.platform.quit(this.player);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.stress;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.testkit.SimulatedPlatform;
+import io.github.portlek.input.testkit.SimulatedPlayer;
+import java.util.UUID;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * a jcstress test that ends an input from two threads at once.
+ * <p>
+ * only the thread that moves the input to the ended state runs the clean up, so the run after consumers run once.
+ */
+@JCStressTest
+@Description("two threads end the same input")
+@Outcome(id = "1", expect = Expect.ACCEPTABLE, desc = "the input ended once")
+@Outcome(expect = Expect.FORBIDDEN, desc = "the input ended twice or never")
+@State
+public class EndEndStress {
+
+  /**
+   * the input.
+   */
+  private final ChatInput<String, SimulatedPlayer> input;
+
+  /**
+   * the player.
+   */
+  private final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player");
+
+  /**
+   * the count of the run after consumers that ran.
+   */
+  private int ended;
+
+  /**
+   * ctor.
+   */
+  public EndEndStress() {
+    this.input = ChatInput.<String, SimulatedPlayer>builder(new SimulatedPlatform(), this.player)
+      .addRunAfter(sender -> this.ended++, EndReason.values())
+      .build();
+    this.input.start();
+  }
+
+  /**
+   * collects the count of the run after consumers.
+   *
+   * @param result the result to collect.
+   */
+  @Arbiter
+  public void collect(final I_Result result) {
+    result.r1 = this.ended;
+  }
+
+  /**
+   * cancels the input.
+   */
+  @Actor
+  public void first() {
+    this.input.end(this.player, EndReason.PLAYER_CANCELS);
+  }
+
+  /**
+   * cancels the input.
+   */
+  @Actor
+  public void second() {
+    this.input.end(this.player, EndReason.PLAYER_CANCELS);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.stress;
+
+import io.github.portlek.input.SessionTable;
+import java.util.UUID;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+/**
+ * a jcstress test that races the replace of a value against the removal of the old value.
+ * <p>
+ * this is how the dispatcher replaces the active input of a sender while the old input unregisters itself, the
+ * removal only removes its own value, so the new value survives in any order.
+ */
+@JCStressTest
+@Description("a put replaces the value that a remove removes")
+@Outcome(id = "true, false", expect = Expect.ACCEPTABLE, desc = "the put ran first, the remove missed")
+@Outcome(id = "true, true", expect = Expect.ACCEPTABLE, desc = "the remove ran first, the put added the new value")
+@Outcome(expect = Expect.FORBIDDEN, desc = "the new value was lost")
+@State
+public class SessionTableReplaceStress {
+
+  /**
+   * the key.
+   */
+  private final UUID key = UUID.randomUUID();
+
+  /**
+   * the new value.
+   */
+  private final Object replacement = new Object();
+
+  /**
+   * the table.
+   */
+  private final SessionTable<Object> table = new SessionTable<>();
+
+  /**
+   * the old value.
+   */
+  private final Object value = new Object();
+
+  /**
+   * whether the remove removed the old value.
+   */
+  private boolean removed;
+
+  /**
+   * ctor.
+   */
+  public SessionTableReplaceStress() {
+    this.table.put(this.key, this.value);
+  }
+
+  /**
+   * collects whether the new value is in the table and whether the remove removed the old value.
+   *
+   * @param result the result to collect.
+   */
+  @Arbiter
+  public void collect(final ZZ_Result result) {
+    result.r1 = this.table.get(this.key) == this.replacement;
+    result.r2 = this.removed;
+  }
+
+  /**
+   * replaces the old value.
+   */
+  @Actor
+  public void put() {
+    this.table.put(this.key, this.replacement);
+  }
+
+  /**
+   * removes the old value.
+   */
+  @Actor
+  public void remove() {
+    this.removed = this.table.remove(this.key, this.value);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.stress;
+
+import io.github.portlek.input.SessionTable;
+import java.util.UUID;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * a jcstress test that reads a session table while a put rebuilds it.
+ * <p>
+ * the table holds seven keys, the eighth put fills half of the sixteen slots and rebuilds the table, a lock-free
+ * reader must still find the existing key in the old or the new table.
+ */
+@JCStressTest
+@Description("a reader looks up an existing key while a put rebuilds the table")
+@Outcome(id = "1", expect = Expect.ACCEPTABLE, desc = "the reader found the key")
+@Outcome(expect = Expect.FORBIDDEN, desc = "the reader lost the key")
+@State
+public class SessionTableResizeStress {
+
+  /**
+   * the count of the keys that the table holds before the put.
+   */
+  private static final int FILLED = 7;
+
+  /**
+   * the key that the reader looks up.
+   */
+  private final UUID existing = UUID.randomUUID();
+
+  /**
+   * the table.
+   */
+  private final SessionTable<Object> table = new SessionTable<>();
+
+  /**
+   * ctor.
+   */
+  public SessionTableResizeStress() {
+    this.table.put(this.existing, this.existing);
+    for (int index = 1; index < SessionTableResizeStress.FILLED; index++) {
+      final UUID key = UUID.randomUUID();
+      this.table.put(key, key);
+    }
+  }
+
+  /**
+   * puts a new key that rebuilds the table.
+   */
+  @Actor
+  public void put() {
+    final UUID key = UUID.randomUUID();
+    this.table.put(key, key);
+  }
+
+  /**
+   * looks up the existing key.
+   *
+   * @param result the result to collect.
+   */
+  @Actor
+  public void read(final I_Result result) {
+    result.r1 = this.table.get(this.existing) == this.existing ? 1 : 0;
+  }
+}
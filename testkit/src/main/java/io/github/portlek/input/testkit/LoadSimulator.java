@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import io.github.portlek.input.ChatDispatcher;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.metrics.CounterInputMetrics;
+import io.github.portlek.input.metrics.LogHistogram;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that replays a {@link Trace} against the inputs of a template on a {@link SimulatedPlatform}.
+ * <p>
+ * the simulation runs on the platform's virtual clock, {@link #speed(double)} paces it against the wall clock.
+ */
+@RequiredArgsConstructor
+public final class LoadSimulator {
+
+  /**
+   * the template of the inputs.
+   */
+  @NotNull
+  private final PromptTemplate<?, SimulatedPlayer> template;
+
+  /**
+   * the reprompt.
+   */
+  private boolean reprompt;
+
+  /**
+   * the speed, {@code 0} for as fast as possible.
+   */
+  private double speed;
+
+  /**
+   * obtains the used heap after a garbage collection request.
+   *
+   * @return the used heap.
+   */
+  private static long usedHeap() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  /**
+   * sets the reprompt.
+   * <p>
+   * if it is {@code true}, the players whose inputs ended are prompted again at the next tick, so the count of the
+   * concurrent inputs stays at the count of the players.
+   *
+   * @param reprompt the reprompt to set.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public LoadSimulator reprompt(final boolean reprompt) {
+    this.reprompt = reprompt;
+    return this;
+  }
+
+  /**
+   * runs the given trace on a new platform.
+   *
+   * @param trace the trace to run.
+   *
+   * @return the report of the run.
+   */
+  @NotNull
+  public SimulationReport run(@NotNull final Trace trace) {
+    final SimulatedPlatform platform = new SimulatedPlatform();
+    final ChatDispatcher<SimulatedPlayer> dispatcher = platform.getDispatcher();
+    final CounterInputMetrics metrics = new CounterInputMetrics();
+    dispatcher.setMetrics(metrics);
+    final SimulatedPlayer[] players = new SimulatedPlayer[trace.getPlayers()];
+    for (int index = 0; index < players.length; index++) {
+      players[index] = new SimulatedPlayer(new UUID(0L, index), "player-" + index);
+    }
+    final LogHistogram latency = new LogHistogram();
+    final List<TrafficEvent> events = trace.getEvents();
+    final long lastTick = trace.getLastTick();
+    final long heapBefore = LoadSimulator.usedHeap();
+    final long start = System.nanoTime();
+    long messages = 0L;
+    int peak = 0;
+    int next = 0;
+    for (long tick = 0L; tick <= lastTick; tick++) {
+      for (; next < events.size() && events.get(next).getTick() == tick; next++) {
+        final TrafficEvent event = events.get(next);
+        final SimulatedPlayer player = players[event.getPlayer()];
+        switch (event.getType()) {
+          case PROMPT:
+            this.template.create(platform, player).start();
+            break;
+          case CHAT:
+            messages++;
+            final long begin = System.nanoTime();
+            if (platform.chat(player, String.valueOf(event.getMessage()))) {
+              latency.record(System.nanoTime() - begin);
+            }
+            break;
+          default:
+            platform.quit(player);
+        }
+      }
+      platform.tick();
+      if (this.reprompt) {
+        for (final SimulatedPlayer player : players) {
+          if (!dispatcher.isPrompted(player.getUniqueId())) {
+            this.template.create(platform, player).start();
+          }
+        }
+      }
+      peak = Math.max(peak, dispatcher.size());
+      if (this.speed > 0.0d) {
+        final long target = start + (long) ((tick + 1L) * VirtualClock.TICK_NANOS / this.speed);
+        for (long now = System.nanoTime(); now < target; now = System.nanoTime()) {
+          LockSupport.parkNanos(target - now);
+        }
+      }
+    }
+    final long wall = System.nanoTime() - start;
+    final long heapGrowth = LoadSimulator.usedHeap() - heapBefore;
+    dispatcher.clear();
+    return new SimulationReport(lastTick + 1L, wall, messages, peak, heapGrowth, metrics.snapshot(),
+      latency.snapshot());
+  }
+
+  /**
+   * sets the speed of the simulation.
+   *
+   * @param speed the times that the simulation runs faster than a server, {@code 0} for as fast as possible.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public LoadSimulator speed(final double speed) {
+    this.speed = speed;
+    return this;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import io.github.portlek.input.ChatDispatcher;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatTask;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a simulated {@link ChatPlatform} that runs on a {@link VirtualClock}.
+ * <p>
+ * the platform routes the events the way the server platforms do, and the scheduled tasks run on the dispatcher's
+ * timer, so a simulation is deterministic and runs as fast as it is ticked.
+ */
+public final class SimulatedPlatform implements ChatPlatform<SimulatedPlayer> {
+
+  /**
+   * the clock.
+   */
+  @NotNull
+  @Getter
+  private final VirtualClock clock = new VirtualClock();
+
+  /**
+   * the dispatcher.
+   */
+  @NotNull
+  @Getter
+  private final ChatDispatcher<SimulatedPlayer> dispatcher = new ChatDispatcher<>();
+
+  /**
+   * sends the given message as the given player.
+   *
+   * @param player the player to send.
+   * @param message the message to send.
+   *
+   * @return {@code true} if an input consumed the message.
+   */
+  public boolean chat(@NotNull final SimulatedPlayer player, @NotNull final String message) {
+    if (!this.dispatcher.isPrompted(player.getUniqueId())) {
+      return false;
+    }
+    final SimulatedPlayer.SimulatedChatEvent event = player.chat(message);
+    this.dispatcher.onChat(event);
+    return event.isCancelled();
+  }
+
+  @NotNull
+  @Override
+  public ChatTask createRunTaskLater(@NotNull final Runnable runnable, final long time) {
+    return this.dispatcher.getTimer().schedule(runnable, time);
+  }
+
+  /**
+   * quits the given player.
+   *
+   * @param player the player to quit.
+   */
+  public void quit(@NotNull final SimulatedPlayer player) {
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onQuit(player.quit());
+    } else {
+      this.dispatcher.transfer(player.getUniqueId(), null);
+    }
+  }
+
+  /**
+   * moves the clock one tick forward and ticks the dispatcher.
+   */
+  public void tick() {
+    this.clock.advance();
+    this.dispatcher.tick();
+  }
+
+  /**
+   * ticks the platform the given times.
+   *
+   * @param ticks the ticks to run.
+   */
+  public void tick(final long ticks) {
+    for (long tick = 0L; tick < ticks; tick++) {
+      this.tick();
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.event.ChatEvent;
+import io.github.portlek.input.event.QuitEvent;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a simulated player that is its own {@link ChatSender}.
+ */
+@RequiredArgsConstructor
+public final class SimulatedPlayer implements ChatSender<SimulatedPlayer> {
+
+  /**
+   * the unique id.
+   */
+  @NotNull
+  @Getter
+  private final UUID uniqueId;
+
+  /**
+   * the name.
+   */
+  @NotNull
+  @Getter
+  private final String name;
+
+  /**
+   * the last received message.
+   */
+  @NotNull
+  private final AtomicReference<String> lastMessage = new AtomicReference<>();
+
+  /**
+   * the count of the received messages.
+   */
+  @NotNull
+  private final LongAdder received = new LongAdder();
+
+  /**
+   * creates a chat event of the player.
+   *
+   * @param message the message to create.
+   *
+   * @return a newly created chat event.
+   */
+  @NotNull
+  public SimulatedChatEvent chat(@NotNull final String message) {
+    return new SimulatedChatEvent(this, message);
+  }
+
+  /**
+   * obtains the last received message.
+   *
+   * @return the last received message.
+   */
+  @Nullable
+  public String getLastMessage() {
+    return this.lastMessage.get();
+  }
+
+  /**
+   * obtains the count of the received messages.
+   *
+   * @return the count of the received messages.
+   */
+  public long getReceived() {
+    return this.received.sum();
+  }
+
+  @NotNull
+  @Override
+  public SimulatedPlayer getWrapped() {
+    return this;
+  }
+
+  /**
+   * creates a quit event of the player.
+   *
+   * @return a newly created quit event.
+   */
+  @NotNull
+  public QuitEvent<SimulatedPlayer> quit() {
+    return () -> this;
+  }
+
+  @Override
+  public void sendMessage(@NotNull final String message) {
+    this.lastMessage.set(message);
+    this.received.increment();
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+
+  /**
+   * a class that represents the chat events of the simulated players.
+   */
+  @RequiredArgsConstructor
+  public static final class SimulatedChatEvent implements ChatEvent<SimulatedPlayer> {
+
+    /**
+     * the sender.
+     */
+    @NotNull
+    @Getter
+    private final SimulatedPlayer sender;
+
+    /**
+     * the message.
+     */
+    @NotNull
+    @Getter
+    private final String message;
+
+    /**
+     * the cancelled.
+     */
+    @Getter
+    private boolean cancelled;
+
+    @Override
+    public void cancel() {
+      this.cancelled = true;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.metrics.HistogramSnapshot;
+import io.github.portlek.input.metrics.MetricsSnapshot;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an immutable report of a {@link LoadSimulator} run.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class SimulationReport {
+
+  /**
+   * the simulated ticks.
+   */
+  private final long ticks;
+
+  /**
+   * the wall clock nanoseconds that the run took.
+   */
+  private final long wallNanos;
+
+  /**
+   * the count of the sent messages.
+   */
+  private final long messages;
+
+  /**
+   * the max count of the concurrent inputs at the end of a tick.
+   */
+  private final int peakSessions;
+
+  /**
+   * the bytes that the used heap grew by, after a garbage collection request.
+   */
+  private final long heapGrowth;
+
+  /**
+   * the metrics of the inputs.
+   */
+  @NotNull
+  private final MetricsSnapshot metrics;
+
+  /**
+   * the nanoseconds that the platform took to handle the messages that an input consumed.
+   */
+  @NotNull
+  private final HistogramSnapshot latency;
+
+  /**
+   * obtains the sent messages per wall clock second.
+   *
+   * @return the messages per second.
+   */
+  public double getMessagesPerSecond() {
+    return this.perSecond(this.messages);
+  }
+
+  /**
+   * obtains the ended inputs per wall clock second.
+   *
+   * @return the sessions per second.
+   */
+  public double getSessionsPerSecond() {
+    return this.perSecond(this.metrics.getEnded());
+  }
+
+  /**
+   * obtains the simulated seconds.
+   *
+   * @return the simulated seconds.
+   */
+  public double getSimulatedSeconds() {
+    return this.ticks / 20.0d;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder()
+      .append(String.format("simulated %.1fs in %.1fs%n", this.getSimulatedSeconds(), this.wallNanos / 1.0e9d))
+      .append(String.format("sessions: %d started, %d ended, %d peak, %.1f/s%n", this.metrics.getStarted(),
+        this.metrics.getEnded(), this.peakSessions, this.getSessionsPerSecond()))
+      .append(String.format("messages: %d, %.1f/s%n", this.messages, this.getMessagesPerSecond()))
+      .append(String.format("latency: p50 %dus, p99 %dus, max %dus%n",
+        TimeUnit.NANOSECONDS.toMicros(this.latency.getPercentile(50.0d)),
+        TimeUnit.NANOSECONDS.toMicros(this.latency.getPercentile(99.0d)),
+        TimeUnit.NANOSECONDS.toMicros(this.latency.getMax())));
+    for (final EndReason reason : EndReason.values()) {
+      builder.append(String.format("ended with %s: %d%n", reason, this.metrics.getEnded(reason)));
+    }
+    return builder
+      .append(String.format("heap growth: %d KiB", this.heapGrowth / 1024L))
+      .toString();
+  }
+
+  /**
+   * calculates the given count per wall clock second.
+   *
+   * @param count the count to calculate.
+   *
+   * @return the count per second.
+   */
+  private double perSecond(final long count) {
+    return this.wallNanos == 0L ? 0.0d : count * 1.0e9d / this.wallNanos;
+  }
+}
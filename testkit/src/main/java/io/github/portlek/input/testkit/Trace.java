@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an immutable list of {@link TrafficEvent}s ordered by their ticks.
+ * <p>
+ * the traces are recorded as one tab separated event per line: the tick, the type, the index of the player and the
+ * message of the chat events.
+ */
+public final class Trace {
+
+  /**
+   * the events.
+   */
+  @NotNull
+  @Getter
+  private final List<TrafficEvent> events;
+
+  /**
+   * the count of the players.
+   */
+  @Getter
+  private final int players;
+
+  /**
+   * ctor.
+   *
+   * @param events the events.
+   */
+  public Trace(@NotNull final List<TrafficEvent> events) {
+    final List<TrafficEvent> sorted = new ArrayList<>(events);
+    sorted.sort(Comparator.comparingLong(TrafficEvent::getTick));
+    this.events = Collections.unmodifiableList(sorted);
+    this.players = sorted.stream()
+      .mapToInt(TrafficEvent::getPlayer)
+      .max()
+      .orElse(-1) + 1;
+  }
+
+  /**
+   * reads a recorded trace.
+   *
+   * @param reader the reader to read.
+   *
+   * @return the trace.
+   *
+   * @throws IOException if the reader could not be read.
+   * @throws IllegalArgumentException if a line is not a valid event.
+   */
+  @NotNull
+  public static Trace read(@NotNull final Reader reader) throws IOException {
+    final List<TrafficEvent> events = new ArrayList<>();
+    final BufferedReader buffered = new BufferedReader(reader);
+    String line;
+    while ((line = buffered.readLine()) != null) {
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      final String[] parts = line.split("\t", 4);
+      if (parts.length < 3) {
+        throw new IllegalArgumentException(String.format("invalid trace line %s!", line));
+      }
+      events.add(new TrafficEvent(Long.parseLong(parts[0]), TrafficEvent.Type.valueOf(parts[1]),
+        Integer.parseInt(parts[2]), parts.length == 4 ? parts[3] : null));
+    }
+    return new Trace(events);
+  }
+
+  /**
+   * creates a synthetic trace.
+   * <p>
+   * all the players are prompted at the first tick, then the messages and the quits are spread evenly over the
+   * ticks and sent by random players.
+   *
+   * @param players the count of the players.
+   * @param ticks the length of the trace.
+   * @param messagesPerSecond the messages per second.
+   * @param quitsPerSecond the quits per second.
+   * @param seed the seed of the random players and messages.
+   * @param messages the function that creates the messages.
+   *
+   * @return a newly created trace.
+   */
+  @NotNull
+  public static Trace synthetic(final int players, final long ticks, final double messagesPerSecond,
+                                final double quitsPerSecond, final long seed,
+                                @NotNull final Function<Random, String> messages) {
+    final Random random = new Random(seed);
+    final List<TrafficEvent> events = new ArrayList<>();
+    for (int player = 0; player < players; player++) {
+      events.add(new TrafficEvent(0L, TrafficEvent.Type.PROMPT, player, null));
+    }
+    final double messagesPerTick = messagesPerSecond / 20.0d;
+    final double quitsPerTick = quitsPerSecond / 20.0d;
+    double pendingMessages = 0.0d;
+    double pendingQuits = 0.0d;
+    for (long tick = 1L; tick <= ticks; tick++) {
+      pendingMessages += messagesPerTick;
+      pendingQuits += quitsPerTick;
+      for (; pendingMessages >= 1.0d; pendingMessages--) {
+        events.add(new TrafficEvent(tick, TrafficEvent.Type.CHAT, random.nextInt(players), messages.apply(random)));
+      }
+      for (; pendingQuits >= 1.0d; pendingQuits--) {
+        events.add(new TrafficEvent(tick, TrafficEvent.Type.QUIT, random.nextInt(players), null));
+      }
+    }
+    return new Trace(events);
+  }
+
+  /**
+   * obtains the tick of the last event.
+   *
+   * @return the tick of the last event, {@code -1} if the trace is empty.
+   */
+  public long getLastTick() {
+    return this.events.isEmpty() ? -1L : this.events.get(this.events.size() - 1).getTick();
+  }
+
+  /**
+   * writes the trace in the recorded format.
+   *
+   * @param writer the writer to write.
+   *
+   * @throws IOException if the writer could not be written.
+   */
+  public void write(@NotNull final Writer writer) throws IOException {
+    for (final TrafficEvent event : this.events) {
+      writer.write(event.toString());
+      writer.write('\n');
+    }
+    writer.flush();
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an immutable event of a {@link Trace}.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class TrafficEvent {
+
+  /**
+   * the tick that the event runs at.
+   */
+  private final long tick;
+
+  /**
+   * the type.
+   */
+  @NotNull
+  private final TrafficEvent.Type type;
+
+  /**
+   * the index of the player.
+   */
+  private final int player;
+
+  /**
+   * the message of the chat events.
+   */
+  @Nullable
+  private final String message;
+
+  @Override
+  public String toString() {
+    return this.message == null
+      ? String.format("%d\t%s\t%d", this.tick, this.type, this.player)
+      : String.format("%d\t%s\t%d\t%s", this.tick, this.type, this.player, this.message);
+  }
+
+  /**
+   * an enum class that contains the types of the traffic events.
+   */
+  public enum Type {
+    /**
+     * starts a new input for the player.
+     */
+    PROMPT,
+    /**
+     * the player sends a message.
+     */
+    CHAT,
+    /**
+     * the player quits.
+     */
+    QUIT
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+/**
+ * a deterministic clock that moves only when a simulation ticks it.
+ */
+public final class VirtualClock {
+
+  /**
+   * the nanoseconds of a server tick.
+   */
+  public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+  /**
+   * the ticks since the clock is created.
+   */
+  @Getter
+  private volatile long tick;
+
+  /**
+   * moves the clock one tick forward.
+   *
+   * @return the new tick.
+   */
+  public long advance() {
+    return ++this.tick;
+  }
+
+  /**
+   * obtains the virtual nanoseconds since the clock is created.
+   *
+   * @return the virtual nanoseconds.
+   */
+  public long nanoTime() {
+    return this.tick * VirtualClock.TICK_NANOS;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.PromptTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks that a shared template opens its chained input for each sender.
+ */
+final class ChainAfterTest {
+
+  @Test
+  void chainOpensForEachSender() {
+    final SimulatedPlatform platform = new SimulatedPlatform();
+    final List<String> finished = new ArrayList<>();
+    final PromptTemplate<String, SimulatedPlayer> second = PromptTemplate.<String, SimulatedPlayer>builder()
+      .setValue((player, message) -> message)
+      .onFinish((player, value) -> finished.add(player.getName() + ':' + value))
+      .template();
+    final PromptTemplate<String, SimulatedPlayer> first = PromptTemplate.<String, SimulatedPlayer>builder()
+      .chainAfter(second, EndReason.FINISH)
+      .template();
+    final SimulatedPlayer alice = new SimulatedPlayer(UUID.randomUUID(), "alice");
+    final SimulatedPlayer bob = new SimulatedPlayer(UUID.randomUUID(), "bob");
+    first.create(platform, alice).start();
+    first.create(platform, bob).start();
+    for (final String message : new String[]{"first", "second"}) {
+      platform.chat(alice, message);
+      platform.chat(bob, message);
+      platform.tick();
+    }
+    assertEquals(2, finished.size());
+    assertEquals("alice:second", finished.get(0));
+    assertEquals("bob:second", finished.get(1));
+  }
+}
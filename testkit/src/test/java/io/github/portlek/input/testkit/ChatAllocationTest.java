@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.portlek.input.ChatInput;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks the allocation budget of the chat path of the players that have no active input.
+ */
+final class ChatAllocationTest {
+
+  /**
+   * the bytes that the measured calls may allocate in total, the measurement itself allocates a few bytes.
+   */
+  private static final long BUDGET = 1024L;
+
+  /**
+   * the count of the measured calls.
+   */
+  private static final int CALLS = 1_000_000;
+
+  /**
+   * obtains the bytes that the current thread allocated so far.
+   *
+   * @return the allocated bytes.
+   */
+  private static long allocated() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+      .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  @Test
+  void chatWithoutInputDoesNotAllocate() {
+    final SimulatedPlatform platform = new SimulatedPlatform();
+    for (int index = 0; index < 100; index++) {
+      ChatInput.<String, SimulatedPlayer>builder(platform,
+        new SimulatedPlayer(UUID.randomUUID(), "prompted-" + index)).build().start();
+    }
+    final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player");
+    final String message = "hello";
+    boolean consumed = false;
+    for (int index = 0; index < ChatAllocationTest.CALLS; index++) {
+      consumed |= platform.chat(player, message);
+    }
+    final long before = ChatAllocationTest.allocated();
+    for (int index = 0; index < ChatAllocationTest.CALLS; index++) {
+      consumed |= platform.chat(player, message);
+    }
+    final long allocated = ChatAllocationTest.allocated() - before;
+    assertFalse(consumed);
+    assertTrue(allocated < ChatAllocationTest.BUDGET,
+      () -> allocated + " bytes allocated by " + ChatAllocationTest.CALLS + " chat messages");
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.portlek.input.ChatDispatcher;
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.ChatTask;
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.InputState;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.parser.Parsers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks how an input ends on the simulated platform.
+ */
+final class ChatInputTest {
+
+  /**
+   * the platform.
+   */
+  private final SimulatedPlatform platform = new SimulatedPlatform();
+
+  /**
+   * the player.
+   */
+  private final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player");
+
+  /**
+   * the events that the callbacks recorded.
+   */
+  private final List<String> events = new ArrayList<>();
+
+  /**
+   * creates a template that records its callbacks into {@link #events}.
+   *
+   * @param expire the expire of the template.
+   * @param maxAttempts the max attempts of the template.
+   *
+   * @return a newly created template.
+   */
+  private PromptTemplate<Integer, SimulatedPlayer> template(final long expire, final int maxAttempts) {
+    return PromptTemplate.<Integer, SimulatedPlayer>builder()
+      .parser(Parsers.intRange(1, 64))
+      .toCancel("cancel")
+      .expire(expire)
+      .maxAttempts(maxAttempts)
+      .onFinish((sender, value) -> this.events.add("finish:" + value))
+      .onInvalidInput((sender, message) -> {
+        this.events.add("invalid:" + message);
+        return false;
+      })
+      .onMaxAttempts(sender -> this.events.add("max-attempts"))
+      .onCancel(sender -> this.events.add("cancel"))
+      .onExpire(sender -> this.events.add("expire"))
+      .onDisconnect(sender -> this.events.add("disconnect"))
+      .template();
+  }
+
+  @Test
+  void cancelKeywordCancels() {
+    this.template(-1L, -1).create(this.platform, this.player).start();
+    assertTrue(this.platform.chat(this.player, "CANCEL"));
+    this.platform.tick();
+    assertEquals(1, this.events.size());
+    assertEquals("cancel", this.events.get(0));
+    assertFalse(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+  }
+
+  @Test
+  void expiresAfterTicks() {
+    this.template(20L, -1).create(this.platform, this.player).start();
+    this.platform.tick(19L);
+    assertTrue(this.events.isEmpty());
+    this.platform.tick();
+    this.platform.tick();
+    assertEquals(1, this.events.size());
+    assertEquals("expire", this.events.get(0));
+    assertFalse(this.platform.chat(this.player, "8"));
+  }
+
+  @Test
+  void finishesWithParsedValue() {
+    this.template(-1L, -1).create(this.platform, this.player).start();
+    assertTrue(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+    assertTrue(this.platform.chat(this.player, "32"));
+    this.platform.tick();
+    assertEquals(1, this.events.size());
+    assertEquals("finish:32", this.events.get(0));
+    assertFalse(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+  }
+
+  @Test
+  void invalidInputsEndAtMaxAttempts() {
+    this.template(-1L, 2).create(this.platform, this.player).start();
+    this.platform.chat(this.player, "65");
+    this.platform.tick();
+    assertTrue(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+    this.platform.chat(this.player, "zero");
+    this.platform.tick();
+    assertEquals(2, this.events.size(), () -> String.valueOf(this.events));
+    assertEquals("invalid:65", this.events.get(0));
+    assertEquals("max-attempts", this.events.get(1));
+    assertFalse(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+  }
+
+  @Test
+  void quitDisconnects() {
+    this.template(20L, -1).create(this.platform, this.player).start();
+    this.platform.quit(this.player);
+    this.platform.tick(40L);
+    assertEquals(1, this.events.size());
+    assertEquals("disconnect", this.events.get(0));
+  }
+
+  @Test
+  void unsupportedSenderEndsAtStart() {
+    final ChatPlatform<SimulatedPlayer> refusing = new ChatPlatform<SimulatedPlayer>() {
+      @Override
+      public boolean canConsume(@NotNull final ChatSender<SimulatedPlayer> sender) {
+        return false;
+      }
+
+      @NotNull
+      @Override
+      public ChatTask createRunTaskLater(@NotNull final Runnable runnable, final long time) {
+        return ChatInputTest.this.platform.createRunTaskLater(runnable, time);
+      }
+
+      @NotNull
+      @Override
+      public ChatDispatcher<SimulatedPlayer> getDispatcher() {
+        return ChatInputTest.this.platform.getDispatcher();
+      }
+    };
+    final ChatInput<Integer, SimulatedPlayer> input = PromptTemplate.<Integer, SimulatedPlayer>builder()
+      .parser(Parsers.intRange(1, 64))
+      .addRunAfter(sender -> this.events.add("unsupported"), EndReason.UNSUPPORTED)
+      .template()
+      .create(refusing, this.player);
+    input.start();
+    this.platform.tick();
+    assertEquals(InputState.ENDED, input.getState());
+    assertFalse(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+    assertFalse(this.platform.chat(this.player, "5"));
+    assertEquals(0L, this.player.getReceived());
+    assertEquals(1, this.events.size());
+    assertEquals("unsupported", this.events.get(0));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.persistence.ClusterSessionDirectory;
+import io.github.portlek.input.persistence.LoopbackTransport;
+import io.github.portlek.input.persistence.SessionRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks that {@link ClusterSessionDirectory} hands off only the transferred inputs, to their target servers only.
+ */
+final class ClusterSessionDirectoryTest {
+
+  /**
+   * the transport of the network.
+   */
+  private final LoopbackTransport transport = new LoopbackTransport();
+
+  /**
+   * the events that the callbacks recorded.
+   */
+  private final List<String> events = new ArrayList<>();
+
+  /**
+   * the template.
+   */
+  private final PromptTemplate<String, SimulatedPlayer> template = PromptTemplate.<String, SimulatedPlayer>builder()
+    .id("name")
+    .onDisconnect(sender -> this.events.add("disconnect"))
+    .template();
+
+  /**
+   * the player.
+   */
+  private final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player");
+
+  /**
+   * creates a directory of the given server that is attached to the given platform.
+   *
+   * @param server the name of the server.
+   * @param platform the platform to attach.
+   *
+   * @return a newly created directory.
+   */
+  private ClusterSessionDirectory<SimulatedPlayer> directory(final String server, final SimulatedPlatform platform) {
+    final SessionRegistry<SimulatedPlayer> registry = new SessionRegistry<>();
+    registry.register(this.template);
+    final ClusterSessionDirectory<SimulatedPlayer> directory =
+      new ClusterSessionDirectory<>(server, this.transport, registry, 30L, TimeUnit.SECONDS);
+    directory.attach(platform, uniqueId -> null);
+    platform.getDispatcher().setDirectory(directory);
+    return directory;
+  }
+
+  @Test
+  void quitWithoutTransferDisconnects() {
+    final SimulatedPlatform lobby = new SimulatedPlatform();
+    final SimulatedPlatform game = new SimulatedPlatform();
+    this.directory("lobby", lobby);
+    final ClusterSessionDirectory<SimulatedPlayer> target = this.directory("game", game);
+    this.template.create(lobby, this.player).start();
+    lobby.quit(this.player);
+    lobby.tick();
+    game.tick();
+    assertEquals(1, this.events.size());
+    assertEquals("disconnect", this.events.get(0));
+    assertEquals(0, target.size());
+  }
+
+  @Test
+  void quitWithoutInputRemovesTheTransferMark() {
+    final SimulatedPlatform lobby = new SimulatedPlatform();
+    final SimulatedPlatform game = new SimulatedPlatform();
+    this.directory("lobby", lobby);
+    final ClusterSessionDirectory<SimulatedPlayer> target = this.directory("game", game);
+    lobby.getDispatcher().transfer(this.player.getUniqueId(), "game");
+    lobby.quit(this.player);
+    this.template.create(lobby, this.player).start();
+    lobby.quit(this.player);
+    lobby.tick();
+    game.tick();
+    assertEquals(1, this.events.size());
+    assertEquals("disconnect", this.events.get(0));
+    assertEquals(0, target.size());
+  }
+
+  @Test
+  void transferResumesOnTargetOnly() {
+    final SimulatedPlatform lobby = new SimulatedPlatform();
+    final SimulatedPlatform game = new SimulatedPlatform();
+    final SimulatedPlatform other = new SimulatedPlatform();
+    this.directory("lobby", lobby);
+    final ClusterSessionDirectory<SimulatedPlayer> target = this.directory("game", game);
+    final ClusterSessionDirectory<SimulatedPlayer> bystander = this.directory("other", other);
+    this.template.create(lobby, this.player).start();
+    lobby.getDispatcher().transfer(this.player.getUniqueId(), "game");
+    lobby.quit(this.player);
+    lobby.tick();
+    game.tick();
+    other.tick();
+    assertTrue(this.events.isEmpty());
+    assertEquals(1, target.size());
+    assertEquals(0, bystander.size());
+    assertFalse(bystander.resume(other, this.player));
+    assertTrue(target.resume(game, this.player));
+    assertTrue(game.getDispatcher().isPrompted(this.player.getUniqueId()));
+    assertFalse(target.resume(game, this.player));
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.portlek.input.EndReason;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.conversation.Conversation;
+import io.github.portlek.input.conversation.ConversationSession;
+import io.github.portlek.input.parser.Parsers;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * checks how a {@link ConversationSession} moves between its steps.
+ */
+final class ConversationSessionTest {
+
+  /**
+   * the platform.
+   */
+  private final SimulatedPlatform platform = new SimulatedPlatform();
+
+  /**
+   * the player.
+   */
+  private final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player");
+
+  /**
+   * the reason that the conversation ended with.
+   */
+  private EndReason ended;
+
+  /**
+   * creates an order conversation, it asks the item, then the amount, then a note for the diamonds only.
+   *
+   * @return a newly created conversation.
+   */
+  private Conversation<Map<String, Object>, SimulatedPlayer> conversation() {
+    return Conversation.<Map<String, Object>, SimulatedPlayer>builder(HashMap::new)
+      .step("item", PromptTemplate.<String, SimulatedPlayer>builder()
+        .setValue((sender, message) -> message)
+        .template(), (state, value) -> state.put("item", value))
+      .step("amount", PromptTemplate.<Integer, SimulatedPlayer>builder()
+          .parser(Parsers.intRange(1, 64))
+          .template(), (state, value) -> state.put("amount", value),
+        (state, value) -> "diamond".equals(state.get("item")) ? "note" : Conversation.END)
+      .step("note", PromptTemplate.<String, SimulatedPlayer>builder()
+        .toCancel("back")
+        .setValue((sender, message) -> message)
+        .template(), (state, value) -> state.put("note", value))
+      .on("note", EndReason.PLAYER_CANCELS, Conversation.BACK)
+      .onEnd((sender, state, reason) -> this.ended = reason)
+      .build();
+  }
+
+  /**
+   * sends the given message and runs the tick that the callbacks run on.
+   *
+   * @param message the message to send.
+   */
+  private void say(final String message) {
+    this.platform.chat(this.player, message);
+    this.platform.tick();
+  }
+
+  @Test
+  void backReturnsToPreviousStep() {
+    final ConversationSession<Map<String, Object>, SimulatedPlayer> session =
+      this.conversation().start(this.platform, this.player);
+    this.say("diamond");
+    this.say("3");
+    assertEquals("note", session.getStepId());
+    this.say("back");
+    assertEquals("amount", session.getStepId());
+    assertEquals(Arrays.asList("item", "amount"), session.getPath());
+    this.say("5");
+    this.say("gift");
+    assertTrue(session.isEnded());
+    assertEquals(EndReason.FINISH, this.ended);
+    assertEquals(5, session.getState().get("amount"));
+    assertEquals("gift", session.getState().get("note"));
+  }
+
+  @Test
+  void branchPicksNextStep() {
+    final ConversationSession<Map<String, Object>, SimulatedPlayer> session =
+      this.conversation().start(this.platform, this.player);
+    assertEquals("item", session.getStepId());
+    this.say("stone");
+    assertEquals("amount", session.getStepId());
+    this.say("64");
+    assertTrue(session.isEnded());
+    assertEquals(EndReason.FINISH, this.ended);
+    assertEquals("stone", session.getState().get("item"));
+    assertEquals(64, session.getState().get("amount"));
+    assertFalse(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+  }
+
+  @Test
+  void endStopsTheInput() {
+    final ConversationSession<Map<String, Object>, SimulatedPlayer> session =
+      this.conversation().start(this.platform, this.player);
+    session.end(EndReason.CUSTOM);
+    this.platform.tick();
+    assertTrue(session.isEnded());
+    assertEquals(EndReason.CUSTOM, this.ended);
+    assertFalse(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+    assertFalse(session.back());
+  }
+
+  @Test
+  void pauseKeepsStep() {
+    final ConversationSession<Map<String, Object>, SimulatedPlayer> session =
+      this.conversation().start(this.platform, this.player);
+    this.say("diamond");
+    session.pause();
+    this.platform.tick();
+    assertTrue(session.isPaused());
+    assertFalse(this.platform.getDispatcher().isPrompted(this.player.getUniqueId()));
+    assertNull(this.ended);
+    session.resume();
+    assertFalse(session.isPaused());
+    assertEquals("amount", session.getStepId());
+    this.say("2");
+    assertEquals("note", session.getStepId());
+  }
+
+  @Test
+  void resumeStartsAtLastStepOfPath() {
+    final Map<String, Object> state = new HashMap<>();
+    state.put("item", "diamond");
+    final ConversationSession<Map<String, Object>, SimulatedPlayer> session = this.conversation()
+      .resume(this.platform, this.player, state, Arrays.asList("item", "amount", "note"));
+    assertEquals("note", session.getStepId());
+    this.say("back");
+    assertEquals("amount", session.getStepId());
+    assertEquals(Arrays.asList("item", "amount"), session.getPath());
+  }
+}
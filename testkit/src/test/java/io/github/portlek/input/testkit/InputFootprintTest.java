@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.InputState;
+import io.github.portlek.input.PromptTemplate;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * checks the memory footprint of the inputs that share a template, measured by JOL.
+ */
+final class InputFootprintTest {
+
+  /**
+   * the bytes that an awaiting input with an expire may own on a 64-bit JVM with compressed references, the input
+   * itself, its expire task and the task's runnable.
+   */
+  private static final long BUDGET = 160L;
+
+  @Test
+  void inputOwnsLittleMemory() {
+    final SimulatedPlatform platform = new SimulatedPlatform();
+    final PromptTemplate<String, SimulatedPlayer> template = PromptTemplate.<String, SimulatedPlayer>builder()
+      .expire(600L)
+      .template();
+    final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player");
+    // parsed before the input starts, since the dispatcher of the platform refers to the active input.
+    final GraphLayout shared = GraphLayout.parseInstance(template, platform, player, InputState.values());
+    final ChatInput<String, SimulatedPlayer> input = template.create(platform, player);
+    input.start();
+    final GraphLayout owned = GraphLayout.parseInstance(input).subtract(shared);
+    assertTrue(owned.totalSize() <= InputFootprintTest.BUDGET,
+      () -> "an input owns " + owned.totalSize() + " bytes\n" + owned.toFootprint());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.testkit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.persistence.MappedSessionJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * checks that {@link MappedSessionJournal} keeps the inputs when its file fills up and is rewritten.
+ */
+final class MappedSessionJournalTest {
+
+  /**
+   * the count of the players, their records do not fit into the first mapped region.
+   */
+  private static final int PLAYERS = 3_000;
+
+  /**
+   * the template.
+   */
+  private final PromptTemplate<String, SimulatedPlayer> template = PromptTemplate.<String, SimulatedPlayer>builder()
+    .id("amount")
+    .expire(6_000L)
+    .template();
+
+  @Test
+  void keepsInputsAcrossRewrites(@TempDir final Path directory) throws IOException {
+    final Path file = directory.resolve("sessions.journal");
+    final SimulatedPlatform platform = new SimulatedPlatform();
+    final MappedSessionJournal<SimulatedPlayer> journal = MappedSessionJournal.open(file, 1L, TimeUnit.HOURS);
+    journal.register(this.template);
+    platform.getDispatcher().setJournal(journal);
+    final List<SimulatedPlayer> players = new ArrayList<>();
+    for (int index = 0; index < MappedSessionJournalTest.PLAYERS; index++) {
+      final SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), "player-" + index);
+      players.add(player);
+      this.template.create(platform, player).start();
+      platform.tick();
+    }
+    for (final SimulatedPlayer player : players.subList(0, 100)) {
+      platform.quit(player);
+    }
+    platform.tick();
+    journal.close();
+    assertFalse(Files.exists(directory.resolve("sessions.journal.tmp")));
+    final MappedSessionJournal<SimulatedPlayer> reopened = MappedSessionJournal.open(file, 1L, TimeUnit.HOURS);
+    reopened.register(this.template);
+    try {
+      assertEquals(MappedSessionJournalTest.PLAYERS - 100, reopened.size());
+      final SimulatedPlatform restarted = new SimulatedPlatform();
+      assertFalse(reopened.resume(restarted, players.get(0)));
+      assertTrue(reopened.resume(restarted, players.get(MappedSessionJournalTest.PLAYERS - 1)));
+      assertTrue(restarted.getDispatcher().isPrompted(players.get(MappedSessionJournalTest.PLAYERS - 1).getUniqueId()));
+    } finally {
+      reopened.close();
+    }
+  }
+}
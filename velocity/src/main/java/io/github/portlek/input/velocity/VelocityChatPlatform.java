@@ -0,0 +1,353 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.velocity;
+
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
+import com.velocitypowered.api.event.player.PlayerChatEvent;
+import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import io.github.portlek.input.ChatDispatcher;
+import io.github.portlek.input.ChatInput;
+import io.github.portlek.input.ChatPlatform;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.ChatTask;
+import io.github.portlek.input.PromptTemplate;
+import io.github.portlek.input.SessionTable;
+import io.github.portlek.input.persistence.SessionJournal;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+/**
+ * an implementation of {@link ChatPlatform} for the Velocity proxy.
+ * <p>
+ * there is only one platform per plugin, it registers its listeners once, routes all the events through
+ * {@link #dispatcher} and ticks the dispatcher with one repeating task every 50 milliseconds, the length of a game
+ * tick, so the expire times of the templates mean the same on the proxy.
+ * <p>
+ * the answers of the prompts are denied in the proxy's chat event, so they never reach the backend servers, and the
+ * inputs keep running while the players switch between the backend servers.
+ * <p>
+ * the clients of Minecraft 1.19.1 and newer sign their chat messages, and the proxy cannot deny a signed message in
+ * its chat event: depending on the proxy version the denial is ignored and the answer reaches the backend server, or
+ * the player is disconnected. so the platform does not consume the messages of those players, their inputs end with
+ * {@link io.github.portlek.input.EndReason#UNSUPPORTED} when they start, prompt them on the backend servers with the
+ * Paper or the Bukkit platform instead.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VelocityChatPlatform implements ChatPlatform<Player> {
+
+  /**
+   * the protocol number of Minecraft 1.19.1, the first version whose signed chat messages the proxy cannot deny.
+   */
+  private static final int SIGNED_CHAT_PROTOCOL = 760;
+
+  /**
+   * the milliseconds of a tick.
+   */
+  private static final long TICK_MILLIS = 50L;
+
+  /**
+   * the platforms.
+   */
+  private static final Map<Object, VelocityChatPlatform> PLATFORMS = new ConcurrentHashMap<>();
+
+  /**
+   * the dispatcher.
+   */
+  @NotNull
+  @Getter
+  private final ChatDispatcher<Player> dispatcher = new ChatDispatcher<>();
+
+  /**
+   * the senders of the online players.
+   */
+  @NotNull
+  private final SessionTable<VlctChatSender> senders = new SessionTable<>();
+
+  /**
+   * the plugin.
+   */
+  @NotNull
+  private final Object plugin;
+
+  /**
+   * the server.
+   */
+  @NotNull
+  private final ProxyServer server;
+
+  /**
+   * the task that ticks the dispatcher.
+   */
+  @Nullable
+  private volatile ScheduledTask ticker;
+
+  /**
+   * creates a new builder instance.
+   *
+   * @param server the server to create.
+   * @param plugin the plugin to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created builder instance.
+   */
+  @NotNull
+  public static <T> ChatInput.Builder<T, Player> builder(@NotNull final ProxyServer server,
+                                                         @NotNull final Object plugin,
+                                                         @NotNull final Player sender) {
+    return VelocityChatPlatform.builder(VelocityChatPlatform.of(server, plugin), sender);
+  }
+
+  /**
+   * creates a new builder instance.
+   *
+   * @param platform the platform to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created builder instance.
+   */
+  @NotNull
+  public static <T> ChatInput.Builder<T, Player> builder(@NotNull final ChatPlatform<Player> platform,
+                                                         @NotNull final Player sender) {
+    final ChatSender<Player> chatSender = platform instanceof VelocityChatPlatform
+      ? ((VelocityChatPlatform) platform).sender(sender)
+      : new VlctChatSender(sender);
+    return VelocityChatPlatform.builder(platform, chatSender);
+  }
+
+  /**
+   * creates a new builder instance.
+   *
+   * @param platform the platform to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created builder instance.
+   */
+  @NotNull
+  public static <T> ChatInput.Builder<T, Player> builder(@NotNull final ChatPlatform<Player> platform,
+                                                         @NotNull final ChatSender<Player> sender) {
+    return ChatInput.builder(platform, sender);
+  }
+
+  /**
+   * creates a new input of the given template.
+   *
+   * @param server the server to create.
+   * @param plugin the plugin to create.
+   * @param template the template to create.
+   * @param sender the sender to create.
+   * @param <T> type of the value.
+   *
+   * @return a newly created input.
+   */
+  @NotNull
+  public static <T> ChatInput<T, Player> input(@NotNull final ProxyServer server, @NotNull final Object plugin,
+                                               @NotNull final PromptTemplate<T, Player> template,
+                                               @NotNull final Player sender) {
+    final VelocityChatPlatform platform = VelocityChatPlatform.of(server, plugin);
+    return template.create(platform, platform.sender(sender));
+  }
+
+  /**
+   * obtains the platform of the given plugin.
+   * <p>
+   * registers the platform's listeners and starts the task that ticks the platform's dispatcher when the plugin's
+   * platform is created.
+   *
+   * @param server the server to get.
+   * @param plugin the plugin instance to get, the instance that is annotated with {@code @Plugin}.
+   *
+   * @return the platform of the plugin.
+   */
+  @NotNull
+  public static VelocityChatPlatform of(@NotNull final ProxyServer server, @NotNull final Object plugin) {
+    return VelocityChatPlatform.PLATFORMS.computeIfAbsent(plugin, key -> {
+      final VelocityChatPlatform platform = new VelocityChatPlatform(key, server);
+      server.getEventManager().register(key, platform);
+      platform.ticker = server.getScheduler().buildTask(key, platform.dispatcher::tick)
+        .delay(VelocityChatPlatform.TICK_MILLIS, TimeUnit.MILLISECONDS)
+        .repeat(VelocityChatPlatform.TICK_MILLIS, TimeUnit.MILLISECONDS)
+        .schedule();
+      return platform;
+    });
+  }
+
+  /**
+   * stores the active inputs of the platform in the given journal.
+   * <p>
+   * resumes the stored inputs of the online players at once, and the stored inputs of the other players when they
+   * log in. the journal is closed when the proxy shuts down.
+   *
+   * @param journal the journal to store.
+   */
+  public void journal(@NotNull final SessionJournal<Player> journal) {
+    this.dispatcher.setJournal(journal);
+    this.server.getAllPlayers().forEach(player -> journal.resume(this, this.sender(player)));
+  }
+
+  /**
+   * checks if the given sender does not sign its chat messages, so the proxy can deny its answers.
+   *
+   * @param sender the sender to check.
+   *
+   * @return {@code true} if the sender's client is older than Minecraft 1.19.1.
+   */
+  @Override
+  public boolean canConsume(@NotNull final ChatSender<Player> sender) {
+    return !VelocityChatPlatform.signsChat(sender.getWrapped().getProtocolVersion().getProtocol());
+  }
+
+  @NotNull
+  @Override
+  public ChatTask createRunTaskLater(@NotNull final Runnable runnable, final long time) {
+    return new VlctChatTask(this.server.getScheduler().buildTask(this.plugin, runnable)
+      .delay(time * VelocityChatPlatform.TICK_MILLIS, TimeUnit.MILLISECONDS)
+      .schedule());
+  }
+
+  /**
+   * runs when the player sends a chat message.
+   * <p>
+   * returns before allocating anything if the player has no active input. runs first, so the other plugins see the
+   * answers as denied and the proxy does not forward them.
+   *
+   * @param event the event to handle.
+   */
+  @Subscribe(order = PostOrder.FIRST)
+  public void whenChat(@NotNull final PlayerChatEvent event) {
+    final Player player = event.getPlayer();
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onChat(new VlctChatEvent(event, this.sender(player)));
+    }
+  }
+
+  /**
+   * runs when the player logs in the proxy.
+   * <p>
+   * resumes the stored input of the player.
+   *
+   * @param event the event to handle.
+   */
+  @Subscribe
+  public void whenLogin(@NotNull final PostLoginEvent event) {
+    final SessionJournal<Player> journal = this.dispatcher.getJournal();
+    if (journal != null) {
+      journal.resume(this, this.sender(event.getPlayer()));
+    }
+  }
+
+  /**
+   * runs when the player disconnects from the proxy.
+   *
+   * @param event the event to handle.
+   */
+  @Subscribe
+  public void whenQuit(@NotNull final DisconnectEvent event) {
+    final Player player = event.getPlayer();
+    if (this.dispatcher.isPrompted(player.getUniqueId())) {
+      this.dispatcher.onQuit(new VlctQuitEvent(this.sender(player)));
+    } else {
+      this.dispatcher.transfer(player.getUniqueId(), null);
+    }
+    final VlctChatSender sender = this.senders.get(player.getUniqueId());
+    if (sender != null) {
+      this.senders.remove(player.getUniqueId(), sender);
+    }
+  }
+
+  /**
+   * runs when the proxy shuts down.
+   * <p>
+   * removes the platform, its listeners and its task, then closes the journal.
+   *
+   * @param event the event to handle.
+   */
+  @Subscribe
+  public void whenShutdown(@NotNull final ProxyShutdownEvent event) {
+    VelocityChatPlatform.PLATFORMS.remove(this.plugin, this);
+    this.server.getEventManager().unregisterListener(this.plugin, this);
+    final ScheduledTask task = this.ticker;
+    if (task != null) {
+      this.ticker = null;
+      task.cancel();
+    }
+    final SessionJournal<Player> journal = this.dispatcher.getJournal();
+    if (journal != null) {
+      this.dispatcher.setJournal(null);
+      try {
+        journal.close();
+      } catch (final IOException e) {
+        LoggerFactory.getLogger(VelocityChatPlatform.class).warn("could not close the session journal", e);
+      }
+    }
+    this.dispatcher.clear();
+    this.senders.clear();
+  }
+
+  /**
+   * obtains the cached sender of the given player.
+   *
+   * @param player the player to get.
+   *
+   * @return the sender of the player.
+   */
+  @NotNull
+  VlctChatSender sender(@NotNull final Player player) {
+    final VlctChatSender cached = this.senders.get(player.getUniqueId());
+    if (cached != null && cached.getWrapped() == player) {
+      return cached;
+    }
+    final VlctChatSender sender = new VlctChatSender(player);
+    this.senders.put(player.getUniqueId(), sender);
+    return sender;
+  }
+
+  /**
+   * checks if the clients of the given protocol sign their chat messages.
+   *
+   * @param protocol the protocol number to check.
+   *
+   * @return {@code true} if the clients of the protocol sign their chat messages.
+   */
+  static boolean signsChat(final int protocol) {
+    return protocol >= VelocityChatPlatform.SIGNED_CHAT_PROTOCOL;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.velocity;
+
+import com.velocitypowered.api.event.player.PlayerChatEvent;
+import com.velocitypowered.api.proxy.Player;
+import io.github.portlek.input.ChatSender;
+import io.github.portlek.input.event.ChatEvent;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an implementation for {@link ChatEvent}.
+ * <p>
+ * cancelling the event denies the message, so the proxy does not forward it to the backend server. the signed
+ * messages of the clients of Minecraft 1.19.1 and newer cannot be denied, so those clients do not get inputs, see
+ * {@link VelocityChatPlatform#canConsume(ChatSender)}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+final class VlctChatEvent implements ChatEvent<Player> {
+
+  /**
+   * the event.
+   */
+  @NotNull
+  private final PlayerChatEvent event;
+
+  /**
+   * the sender.
+   */
+  @NotNull
+  @Getter
+  private final ChatSender<Player> sender;
+
+  @Override
+  public void cancel() {
+    this.event.setResult(PlayerChatEvent.ChatResult.denied());
+  }
+
+  @NotNull
+  @Override
+  public String getMessage() {
+    return this.event.getMessage();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.portlek.input.velocity;
+
+import com.velocitypowered.api.proxy.Player;
+import io.github.portlek.input.ChatMessage;
+import io.github.portlek.input.ChatSender;
+import java.util.List;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an implementation for {@link ChatSender}.
+ * <p>
+ * the proxy players receive components only, so the messages are deserialized as legacy strings.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+final class VlctChatSender implements ChatSender<Player> {
+
+  /**
+   * the wrapped.
+   */
+  @NotNull
+  @Getter
+  private final Player wrapped;
+
+  @NotNull
+  @Override
+  public UUID getUniqueId() {
+    return this.wrapped.getUniqueId();
+  }
+
+  @Override
+  public void sendMessage(@NotNull final String message) {
+    this.wrapped.sendMessage(LegacyComponentSerializer.legacySection().deserialize(message));
+  }
+
+  /**
+   * sends the given lines with one chat packet, the lines are separated by new lines in one component.
+   * <p>
+   * each line is deserialized on its own, so the legacy colors and formats of a line do not carry over to the next one.
+   *
+   * @param lines the lines to send.
+   */
+  @Override
+  public void sendMessages(@NotNull final List<ChatMessage> lines) {
+    final TextComponent.Builder builder = Component.text();
+    for (int index = 0; index < lines.size(); index++) {
+      if (index > 0) {
+        builder.append(Component.newline());
+      }
+      builder.append(LegacyComponentSerializer.legacySection().deserialize(lines.get(index).getText()));
+    }
+    this.wrapped.sendMessage(builder.build());
+  }
+}